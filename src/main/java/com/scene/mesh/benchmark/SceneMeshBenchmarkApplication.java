@@ -1,20 +1,30 @@
 package com.scene.mesh.benchmark;
 
+import com.scene.mesh.benchmark.n.model.AggregatedReport;
 import com.scene.mesh.benchmark.n.model.BenchmarkConfig;
+import com.scene.mesh.benchmark.n.model.ComparisonMode;
+import com.scene.mesh.benchmark.n.model.ProtocolComparisonReport;
+import com.scene.mesh.benchmark.n.model.SweepReport;
 import com.scene.mesh.benchmark.n.model.TestSuite;
 import com.scene.mesh.benchmark.n.model.TestSuiteReport;
 import com.scene.mesh.benchmark.n.spec.IConfigLoader;
+import com.scene.mesh.benchmark.n.spec.IProtocolComparisonRunner;
+import com.scene.mesh.benchmark.n.spec.ISweepRunner;
 import com.scene.mesh.benchmark.n.spec.ITestSuiteExecutor;
 import com.scene.mesh.benchmark.n.spec.ITestSuiteGenerator;
+import com.scene.mesh.benchmark.n.spec.ITestSuiteScheduler;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.core.io.ClassPathResource;
 
+import java.nio.file.Path;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 基准测试示例应用
@@ -23,6 +33,8 @@ import java.util.List;
 @SpringBootApplication
 public class SceneMeshBenchmarkApplication implements CommandLineRunner {
 
+    private static final int MAX_PRINTED_TERMINALS = 20;
+
     @Autowired
     private IConfigLoader configLoader;
 
@@ -32,6 +44,21 @@ public class SceneMeshBenchmarkApplication implements CommandLineRunner {
     @Autowired
     private ITestSuiteExecutor testSuiteExecutor;
 
+    @Autowired
+    private ITestSuiteScheduler testSuiteScheduler;
+
+    @Autowired
+    private IProtocolComparisonRunner protocolComparisonRunner;
+
+    @Autowired
+    private ISweepRunner sweepRunner;
+
+    /**
+     * 测试套件配置目录，配置后并发执行目录下的所有套件
+     */
+    @Value("${scene-mesh.benchmark.suite-dir:}")
+    private String suiteDir;
+
     public static void main(String[] args) {
         SpringApplication.run(SceneMeshBenchmarkApplication.class, args);
     }
@@ -41,10 +68,35 @@ public class SceneMeshBenchmarkApplication implements CommandLineRunner {
         log.info("Starting Scene Mesh Benchmark ...");
 
         try {
+            if (!suiteDir.isBlank()) {
+                //多套件模式：加载目录下所有配置，并发执行并输出汇总报告
+                List<BenchmarkConfig> configs = configLoader.loadTestSuiteConfigs(Path.of(suiteDir));
+                AggregatedReport aggregatedReport = testSuiteScheduler.schedule(configs);
+                printAggregatedReport(aggregatedReport);
+                log.info("Scene Mesh Benchmark Example completed.");
+                return;
+            }
+
             //1. 加载 test suite config
             BenchmarkConfig testSuiteConfig = configLoader.loadTestSuiteConfig(
                     new ClassPathResource("benchmark-config.json"));
 
+            //协议对比模式：同一事件流分别通过各协议执行，输出对比报告
+            if (testSuiteConfig.getProtocolComparison() != null) {
+                ProtocolComparisonReport comparisonReport = protocolComparisonRunner.compare(testSuiteConfig);
+                printProtocolComparisonReport(comparisonReport);
+                log.info("Scene Mesh Benchmark Example completed.");
+                return;
+            }
+
+            //参数扫描模式：按参数组合逐格执行，输出吞吐/延迟矩阵
+            if (testSuiteConfig.getSweep() != null) {
+                SweepReport sweepReport = sweepRunner.sweep(testSuiteConfig);
+                printSweepReport(sweepReport);
+                log.info("Scene Mesh Benchmark Example completed.");
+                return;
+            }
+
             //2. 生成test suite
             TestSuite testSuite = testSuiteGenerator.generateTestSuite(testSuiteConfig);
 
@@ -76,6 +128,9 @@ public class SceneMeshBenchmarkApplication implements CommandLineRunner {
         System.out.println("  • 测试套件: " + report.getTestSuiteName());
         System.out.println("  • 套件ID: " + report.getTestSuiteId());
         System.out.println("  • 产品ID: " + report.getProductId());
+        if (report.getSeed() != null) {
+            System.out.println("  • 随机种子: " + report.getSeed());
+        }
         System.out.println("  • 执行状态: " + getStatusDisplay(report.getStatus()));
         System.out.println("  • 是否通过: " + (report.isPassed() ? "✅ 是" : "❌ 否"));
         System.out.println();
@@ -129,6 +184,108 @@ public class SceneMeshBenchmarkApplication implements CommandLineRunner {
         }
         System.out.println();
 
+        // 确认延迟
+        Map<String, Object> metrics = report.getMetrics();
+        if (metrics != null && metrics.containsKey("latency.count")) {
+            System.out.println("⏱️ 确认延迟");
+            System.out.println("  • 样本数: " + metrics.get("latency.count"));
+            System.out.println("  • 平均: " + metrics.get("latency.meanMs") + "ms");
+            System.out.println("  • p50: " + metrics.get("latency.p50Ms") + "ms");
+            System.out.println("  • p90: " + metrics.get("latency.p90Ms") + "ms");
+            System.out.println("  • p99: " + metrics.get("latency.p99Ms") + "ms");
+            System.out.println("  • p99.9: " + metrics.get("latency.p999Ms") + "ms");
+            System.out.println("  • 最大: " + metrics.get("latency.maxMs") + "ms");
+            System.out.println();
+        }
+
+        // 反应延迟
+        if (report.getReactionResults() != null && !report.getReactionResults().isEmpty()) {
+            System.out.println("⚡ 反应延迟（事件 → 动作）");
+            for (TestSuiteReport.ReactionResult reaction : report.getReactionResults()) {
+                System.out.println("  • " + reaction.getEventType() +
+                        "：事件 " + reaction.getEvents() +
+                        "，有动作 " + reaction.getReactedEvents() +
+                        "，动作 " + reaction.getActions());
+                if (reaction.getReactedEvents() > 0) {
+                    System.out.println("    首个动作 p50/p90/p99/max: " + reaction.getFirstActionP50Ms() + "/" +
+                            reaction.getFirstActionP90Ms() + "/" + reaction.getFirstActionP99Ms() + "/" +
+                            reaction.getFirstActionMaxMs() + "ms");
+                    System.out.println("    最后动作 p50/p99/max: " + reaction.getLastActionP50Ms() + "/" +
+                            reaction.getLastActionP99Ms() + "/" + reaction.getLastActionMaxMs() + "ms");
+                }
+            }
+            System.out.println();
+        }
+
+        // 性能指标
+        if (metrics != null && !metrics.isEmpty()) {
+            System.out.println("📈 性能指标");
+            metrics.forEach((name, value) -> {
+                if (!name.startsWith("latency.")) {
+                    System.out.println("  • " + name + ": " + value);
+                }
+            });
+            System.out.println();
+        }
+
+        // 负载阶段
+        if (report.getPhaseResults() != null && !report.getPhaseResults().isEmpty()) {
+            System.out.println("🌊 负载阶段");
+            for (TestSuiteReport.PhaseResult phase : report.getPhaseResults()) {
+                System.out.println("  • " + phase.getName() + " [" + phase.getShape() + "/" + phase.getTarget() + "] " +
+                        formatDuration(phase.getActualDurationMs()) +
+                        "：发送 " + phase.getEventsSent() +
+                        "，成功 " + phase.getSuccessfulEvents() +
+                        "，失败 " + phase.getFailedEvents() +
+                        "，超时 " + phase.getTimeouts() +
+                        "，吞吐 " + phase.getThroughput() + "/s" +
+                        "，延迟 p50/p99/max " + phase.getLatencyP50Ms() + "/" + phase.getLatencyP99Ms() +
+                        "/" + phase.getLatencyMaxMs() + "ms");
+            }
+            System.out.println();
+        }
+
+        // 连接风暴
+        if (report.getConnectionResults() != null && !report.getConnectionResults().isEmpty()) {
+            System.out.println("🔌 连接风暴");
+            for (TestSuiteReport.ConnectionResult connection : report.getConnectionResults()) {
+                System.out.println("  • " + connection.getProtocol() +
+                        (connection.getCycle() == 0 ? " 首次连接" : " 第 " + connection.getCycle() + " 次重连") +
+                        "：成功 " + connection.getConnected() + "/" + connection.getAttempts() +
+                        "，失败 " + connection.getFailures() +
+                        "（认证 " + connection.getAuthFailures() + "）" +
+                        "，耗时 " + formatDuration(connection.getDurationMs()) +
+                        "，" + connection.getConnectsPerSecond() + " 连接/s");
+                if (connection.getConnected() > 0) {
+                    System.out.println("    连接延迟 p50/p90/p99/max: " + connection.getLatencyP50Ms() + "/" +
+                            connection.getLatencyP90Ms() + "/" + connection.getLatencyP99Ms() + "/" +
+                            connection.getLatencyMaxMs() + "ms，最大排队 " + connection.getMaxQueueDelayMs() + "ms");
+                }
+                if (connection.getFirstError() != null) {
+                    System.out.println("    首个错误: " + connection.getFirstError());
+                }
+            }
+            System.out.println();
+        }
+
+        // 终端明细
+        List<TestSuiteReport.TerminalResult> terminalResults = report.getTerminalResults();
+        if (terminalResults != null && terminalResults.size() > 1) {
+            long connected = terminalResults.stream().filter(TestSuiteReport.TerminalResult::isConnected).count();
+            System.out.println("📱 终端明细");
+            System.out.println("  • 终端数: " + terminalResults.size() + "，连接成功: " + connected);
+            terminalResults.stream().limit(MAX_PRINTED_TERMINALS).forEach(terminal -> System.out.println(
+                    "  • " + terminal.getTerminalId() + ": " +
+                    (terminal.isConnected()
+                            ? "发送 " + terminal.getSuccessfulEvents() + "/" + terminal.getEventsSent() +
+                              "，超时 " + terminal.getTimeouts() + "，动作 " + terminal.getActionsReceived()
+                            : "❌ " + terminal.getErrorMessage())));
+            if (terminalResults.size() > MAX_PRINTED_TERMINALS) {
+                System.out.println("  • ... 其余 " + (terminalResults.size() - MAX_PRINTED_TERMINALS) + " 个终端省略");
+            }
+            System.out.println();
+        }
+
         // 错误信息
         if (report.getErrorMessage() != null && !report.getErrorMessage().isEmpty()) {
             System.out.println("❌ 错误信息");
@@ -155,6 +312,147 @@ public class SceneMeshBenchmarkApplication implements CommandLineRunner {
         System.out.println("=".repeat(80));
     }
 
+    /**
+     * 打印多套件汇总报告
+     */
+    private void printAggregatedReport(AggregatedReport report) {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+        System.out.println("\n" + "=".repeat(80));
+        System.out.println("                    Scene Mesh 多套件汇总报告");
+        System.out.println("=".repeat(80));
+
+        System.out.println("ℹ️ 调度信息");
+        System.out.println("  • 开始时间: " + report.getStartTime().format(formatter));
+        System.out.println("  • 结束时间: " + report.getEndTime().format(formatter));
+        System.out.println("  • 执行时长: " + formatDuration(report.getExecutionTimeMs()));
+        System.out.println("  • 并发数: " + report.getParallelism() + "（峰值 " + report.getPeakConcurrentSuites() +
+                "），单产品上限: " + report.getMaxSuitesPerProduct());
+        System.out.println();
+
+        System.out.println("📊 套件统计");
+        System.out.println("  • 套件总数: " + report.getTotalSuites());
+        System.out.println("  • 通过: " + report.getPassedSuites() + " ✅");
+        System.out.println("  • 部分成功: " + report.getPartialSuites() + " ⚠️");
+        System.out.println("  • 失败: " + report.getFailedSuites() + " ❌");
+        System.out.println("  • 事件发送: " + report.getSuccessfulEvents() + "/" + report.getTotalEventsSent() +
+                "，失败 " + report.getFailedEvents());
+        System.out.println("  • 平均匹配分数: " + String.format("%.2f", report.getAverageMatchScore()));
+        System.out.println();
+
+        System.out.println("🏷️ 产品汇总");
+        for (AggregatedReport.ProductSummary product : report.getProductSummaries()) {
+            System.out.println("  • " + product.getProductId() +
+                    "：套件 " + product.getSuites() +
+                    "，通过 " + product.getPassedSuites() +
+                    "，失败 " + product.getFailedSuites() +
+                    "，事件 " + product.getTotalEventsSent() +
+                    "，平均分数 " + String.format("%.2f", product.getAverageMatchScore()) +
+                    "，累计时长 " + formatDuration(product.getTotalExecutionTimeMs()));
+        }
+        System.out.println();
+
+        System.out.println("📋 套件明细");
+        for (TestSuiteReport suite : report.getSuiteReports()) {
+            System.out.println("  • " + (suite.isPassed() ? "✅ " : "❌ ") + suite.getTestSuiteName() +
+                    " [" + suite.getProductId() + "] " + getStatusDisplay(suite.getStatus()) +
+                    "，分数 " + String.format("%.2f", suite.getMatchScore()) +
+                    "，时长 " + formatDuration(suite.getExecutionTimeMs()) +
+                    (suite.getErrorMessage() != null ? "，错误: " + suite.getErrorMessage() : ""));
+        }
+
+        System.out.println("=".repeat(80));
+    }
+
+    /**
+     * 打印协议对比报告
+     */
+    private void printProtocolComparisonReport(ProtocolComparisonReport report) {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+        System.out.println("\n" + "=".repeat(80));
+        System.out.println("                    Scene Mesh 协议对比报告");
+        System.out.println("=".repeat(80));
+
+        System.out.println("ℹ️ 基本信息");
+        System.out.println("  • 测试套件: " + report.getTestSuiteName());
+        System.out.println("  • 产品ID: " + report.getProductId());
+        System.out.println("  • 随机种子: " + report.getSeed() + "（各协议事件流相同）");
+        System.out.println("  • 执行方式: " + (report.getMode() == ComparisonMode.CONCURRENT ? "同时执行" : "依次执行"));
+        System.out.println("  • 开始时间: " + report.getStartTime().format(formatter));
+        System.out.println("  • 执行时长: " + formatDuration(report.getExecutionTimeMs()));
+        System.out.println();
+
+        System.out.println("⚖️ 协议对比");
+        System.out.println(String.format("  %-10s %10s %10s %8s %8s %16s %16s %8s",
+                "协议", "发送", "吞吐/s", "错误率", "超时", "确认p50/p99ms", "反应p50/p99ms", "分数"));
+        for (ProtocolComparisonReport.ProtocolResult result : report.getProtocolResults()) {
+            System.out.println(String.format("  %-10s %10s %10.0f %7.2f%% %8d %16s %16s %8.2f",
+                    result.getProtocol(),
+                    result.getSuccessfulEvents() + "/" + result.getTotalEventsSent(),
+                    result.getEventsPerSecond(),
+                    result.getErrorRate() * 100,
+                    result.getTimeouts(),
+                    result.getSendLatencyP50Ms() + "/" + result.getSendLatencyP99Ms(),
+                    result.getReactionP50Ms() + "/" + result.getReactionP99Ms(),
+                    result.getMatchScore()));
+        }
+        for (ProtocolComparisonReport.ProtocolResult result : report.getProtocolResults()) {
+            if (result.getErrorMessage() != null) {
+                System.out.println("  • " + result.getProtocol() + " " + getStatusDisplay(result.getStatus()) +
+                        "，错误: " + result.getErrorMessage());
+            }
+        }
+
+        System.out.println("=".repeat(80));
+    }
+
+    /**
+     * 打印参数扫描矩阵
+     */
+    private void printSweepReport(SweepReport report) {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+        System.out.println("\n" + "=".repeat(80));
+        System.out.println("                    Scene Mesh 参数扫描报告");
+        System.out.println("=".repeat(80));
+
+        System.out.println("ℹ️ 基本信息");
+        System.out.println("  • 测试套件: " + report.getTestSuiteName());
+        System.out.println("  • 产品ID: " + report.getProductId());
+        System.out.println("  • 随机种子: " + report.getSeed() + "（各格相同）");
+        System.out.println("  • 扫描参数: " + report.getParamNames() + "，共 " + report.getCells().size() +
+                " 格，每格预热 " + report.getWarmupIterations() + " 次");
+        System.out.println("  • 开始时间: " + report.getStartTime().format(formatter));
+        System.out.println("  • 执行时长: " + formatDuration(report.getExecutionTimeMs()));
+        System.out.println();
+
+        System.out.println("🧮 吞吐/延迟矩阵");
+        StringBuilder header = new StringBuilder("  ");
+        report.getParamNames().forEach(name -> header.append(String.format("%-14s ", name)));
+        header.append(String.format("%10s %16s %16s %8s %8s", "吞吐/s", "确认p50/p99ms", "反应p50/p99ms", "错误率", "超时"));
+        System.out.println(header);
+        for (SweepReport.Cell cell : report.getCells()) {
+            StringBuilder row = new StringBuilder("  ");
+            report.getParamNames().forEach(name -> row.append(String.format("%-14s ", cell.getParams().get(name))));
+            row.append(String.format("%10.0f %16s %16s %7.2f%% %8d",
+                    cell.getEventsPerSecond(),
+                    cell.getLatencyP50Ms() + "/" + cell.getLatencyP99Ms(),
+                    cell.getReactionP50Ms() + "/" + cell.getReactionP99Ms(),
+                    cell.getErrorRate() * 100,
+                    cell.getTimeouts()));
+            if (cell.getStatus() == TestSuiteReport.ExecutionStatus.FAILED) {
+                row.append("  ").append(getStatusDisplay(cell.getStatus()));
+                if (cell.getErrorMessage() != null) {
+                    row.append("：").append(cell.getErrorMessage());
+                }
+            }
+            System.out.println(row);
+        }
+
+        System.out.println("=".repeat(80));
+    }
+
     /**
      * 获取状态显示文本
      */
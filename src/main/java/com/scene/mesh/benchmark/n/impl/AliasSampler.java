@@ -0,0 +1,87 @@
+package com.scene.mesh.benchmark.n.impl;
+
+import java.util.SplittableRandom;
+
+/**
+ * 别名法离散采样器（Vose）
+ * O(n) 预处理后每次采样 O(1)：一次均匀取桶，一次与桶概率比较
+ */
+public final class AliasSampler {
+
+    private final double[] probability;
+    private final int[] alias;
+
+    private AliasSampler(double[] probability, int[] alias) {
+        this.probability = probability;
+        this.alias = alias;
+    }
+
+    /**
+     * 根据权重构建采样器，权重不要求归一化
+     */
+    public static AliasSampler of(double[] weights) {
+        int n = weights.length;
+        if (n == 0) {
+            throw new IllegalArgumentException("权重列表不能为空");
+        }
+        double sum = 0;
+        for (double weight : weights) {
+            if (weight < 0 || Double.isNaN(weight) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("权重必须为非负有限数: " + weight);
+            }
+            sum += weight;
+        }
+        if (sum <= 0) {
+            throw new IllegalArgumentException("权重之和必须大于0");
+        }
+
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallSize = 0;
+        int largeSize = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / sum;
+            if (scaled[i] < 1.0) {
+                small[smallSize++] = i;
+            } else {
+                large[largeSize++] = i;
+            }
+        }
+
+        double[] probability = new double[n];
+        int[] alias = new int[n];
+        while (smallSize > 0 && largeSize > 0) {
+            int less = small[--smallSize];
+            int more = large[--largeSize];
+            probability[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] = scaled[more] + scaled[less] - 1.0;
+            if (scaled[more] < 1.0) {
+                small[smallSize++] = more;
+            } else {
+                large[largeSize++] = more;
+            }
+        }
+        // 剩余桶（含浮点误差导致的残留）概率置 1
+        while (largeSize > 0) {
+            probability[large[--largeSize]] = 1.0;
+        }
+        while (smallSize > 0) {
+            probability[small[--smallSize]] = 1.0;
+        }
+        return new AliasSampler(probability, alias);
+    }
+
+    /**
+     * 采样一个下标
+     */
+    public int sample(SplittableRandom random) {
+        int bucket = random.nextInt(probability.length);
+        return random.nextDouble() < probability[bucket] ? bucket : alias[bucket];
+    }
+
+    public int size() {
+        return probability.length;
+    }
+}
@@ -1,19 +1,24 @@
 package com.scene.mesh.benchmark.n.impl;
 
 import com.googlecode.aviator.AviatorEvaluator;
+import com.googlecode.aviator.AviatorEvaluatorInstance;
 import com.googlecode.aviator.Expression;
 import com.googlecode.aviator.runtime.function.AbstractFunction;
 import com.googlecode.aviator.runtime.type.AviatorNumber;
 import com.googlecode.aviator.runtime.type.AviatorObject;
 import com.googlecode.aviator.runtime.type.AviatorString;
+import com.scene.mesh.benchmark.n.spec.ICompiledTemplate;
+import com.scene.mesh.benchmark.n.spec.IRandomSource;
 import com.scene.mesh.benchmark.n.spec.ITemplateEngine;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import jakarta.annotation.PostConstruct;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
-import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -21,66 +26,107 @@ import java.util.regex.Pattern;
 @Component
 public class AviatorTemplateEngine implements ITemplateEngine {
 
-    private final Random random = new Random();
-    private final Map<String, Expression> expressionCache = new HashMap<>();
+    private final IRandomSource randomSource;
+    private final AviatorEvaluatorInstance aviator = AviatorEvaluator.newInstance();
+    private final Map<String, Expression> expressionCache = new ConcurrentHashMap<>();
+    private final Map<String, ICompiledTemplate> compiledTemplateCache = new ConcurrentHashMap<>();
+    private final Map<String, String[]> optionsCache = new ConcurrentHashMap<>();
     
     // 匹配 #{...} 格式的表达式
     private final Pattern EXPRESSION_PATTERN = Pattern.compile("#\\{([^}]+)\\}");
 
-    @PostConstruct
-    public void init() {
-        // 全局注册函数
-        AviatorEvaluator.addFunction(new RandomStringFunction());
-        AviatorEvaluator.addFunction(new RandomFromFunction());
-        AviatorEvaluator.addFunction(new RandomRangeFunction());
-        
+    // 匹配由引号字符串或数字组成的数组字面量，如 ['a','b'] 或 [3, 1]
+    private static final Pattern ARRAY_LITERAL_PATTERN = Pattern.compile(
+            "\\[\\s*((?:'[^']*'|-?[0-9.]+)(?:\\s*,\\s*(?:'[^']*'|-?[0-9.]+))*)\\s*\\]");
+    private static final Pattern ARRAY_ELEMENT_SEPARATOR = Pattern.compile("'?\\s*,\\s*'?");
+
+    @Autowired
+    public AviatorTemplateEngine(IRandomSource randomSource) {
+        this.randomSource = randomSource;
+
+        // 在引擎私有实例上注册函数，避免多个引擎共享全局函数表
+        aviator.addFunction(new RandomStringFunction());
+        aviator.addFunction(new RandomFromFunction());
+        aviator.addFunction(new RandomRangeFunction());
+        aviator.addFunction(new WeightedFromFunction());
+        aviator.addFunction(new ZipfFunction());
+        aviator.addFunction(new ZipfFromFunction());
+        aviator.addFunction(new GaussianFunction());
+        aviator.addFunction(new PoissonFunction());
+        aviator.addFunction(new ExponentialFunction());
+
         log.info("Aviator 模板引擎初始化完成，已注册自定义函数");
     }
 
     @Override
     public String processTemplate(String template, Map<String, Object> context) {
+        return compiledTemplateCache.computeIfAbsent(template, this::compileTemplate).render(context);
+    }
+
+    @Override
+    public ICompiledTemplate compileTemplate(String template) {
         try {
-            Map<String, Object> env = new HashMap<>(context);
-            env.put("random", random);
-
-            // 预处理：将数组字面量转换为字符串参数
-            String processedTemplate = preprocessTemplate(template);
-            
-            // 使用正则表达式替换 #{...} 格式的表达式
-            Matcher matcher = EXPRESSION_PATTERN.matcher(processedTemplate);
-            StringBuffer result = new StringBuffer();
-            
+            // 拆分为字面量片段与 #{...} 表达式，表达式预处理后预先编译，字面量原样保留
+            List<String> literals = new ArrayList<>();
+            List<String> sources = new ArrayList<>();
+            List<Expression> expressions = new ArrayList<>();
+
+            Matcher matcher = EXPRESSION_PATTERN.matcher(template);
+            int last = 0;
             while (matcher.find()) {
+                literals.add(template.substring(last, matcher.start()));
                 String expression = matcher.group(1);
-                Object value = evaluateExpression(expression, env);
-                matcher.appendReplacement(result, Matcher.quoteReplacement(value.toString()));
+                sources.add(expression);
+                expressions.add(compileExpression(preprocessExpression(expression)));
+                last = matcher.end();
             }
-            matcher.appendTail(result);
-            
-            return result.toString();
+            literals.add(template.substring(last));
+
+            return new AviatorCompiledTemplate(template,
+                    literals.toArray(new String[0]),
+                    sources.toArray(new String[0]),
+                    expressions.toArray(new Expression[0]));
         } catch (Exception e) {
-            log.error("Aviator 模板处理失败: {}, 原始模板: {}", e.getMessage(), template);
-            return template;
+            log.error("Aviator 模板编译失败: {}, 原始模板: {}", e.getMessage(), template);
+            return new AviatorCompiledTemplate(template, new String[]{template}, new String[0], new Expression[0]);
         }
     }
-    
+
     /**
-     * 预处理模板，将数组字面量转换为字符串参数
+     * 预处理单个 #{...} 表达式，将数组字面量转换为字符串参数；表达式之外的文本不做处理
      */
-    private String preprocessTemplate(String template) {
-        // 将 ['option1','option2','option3'] 转换为 "option1,option2,option3"
-        return template.replaceAll("\\['([^']+)'\\s*,\\s*'([^']+)'\\s*,\\s*'([^']+)'\\]", "\"$1,$2,$3\"")
-                      .replaceAll("\\['([^']+)'\\s*,\\s*'([^']+)'\\]", "\"$1,$2\"")
-                      .replaceAll("\\['([^']+)'\\]", "\"$1\"");
+    private String preprocessExpression(String expression) {
+        // 将 ['option1','option2',...] 或 [3,1,...] 转换为 "option1,option2,..."，元素个数不限
+        return ARRAY_LITERAL_PATTERN.matcher(expression).replaceAll(match -> {
+            String elements = ARRAY_ELEMENT_SEPARATOR.matcher(match.group(1).trim()).replaceAll(",");
+            if (elements.startsWith("'")) {
+                elements = elements.substring(1, elements.length() - 1);
+            }
+            return Matcher.quoteReplacement("\"" + elements + "\"");
+        });
     }
     
+    /**
+     * 编译单个表达式，编译失败时返回 null，渲染时原样输出
+     */
+    private Expression compileExpression(String expression) {
+        try {
+            return expressionCache.computeIfAbsent(expression,
+                exprStr -> aviator.compile(exprStr, true));
+        } catch (Exception e) {
+            log.error("表达式编译失败: {}", expression, e);
+            return null;
+        }
+    }
+
     /**
      * 评估单个表达式
      */
-    private Object evaluateExpression(String expression, Map<String, Object> env) {
+    private Object evaluateExpression(String expression, Expression expr, Map<String, Object> env) {
+        if (expr == null) {
+            return "#{" + expression + "}"; // 返回原始表达式
+        }
         try {
-            Expression expr = expressionCache.computeIfAbsent(expression, 
-                exprStr -> AviatorEvaluator.compile(exprStr, true));
             return expr.execute(env);
         } catch (Exception e) {
             log.error("表达式评估失败: {}", expression, e);
@@ -93,6 +139,61 @@ public class AviatorTemplateEngine implements ITemplateEngine {
         return "Aviator";
     }
 
+    /**
+     * Aviator 已编译模板：literals 比 expressions 多一个，按 literal, expr, literal ... 交替拼接
+     */
+    private class AviatorCompiledTemplate implements ICompiledTemplate {
+        private final String source;
+        private final String[] literals;
+        private final String[] expressionSources;
+        private final Expression[] expressions;
+
+        AviatorCompiledTemplate(String source, String[] literals, String[] expressionSources, Expression[] expressions) {
+            this.source = source;
+            this.literals = literals;
+            this.expressionSources = expressionSources;
+            this.expressions = expressions;
+        }
+
+        @Override
+        public String render(Map<String, Object> context) {
+            if (expressions.length == 0) {
+                return literals[0];
+            }
+            Map<String, Object> env = context != null ? context : Collections.emptyMap();
+            StringBuilder result = new StringBuilder();
+            for (int i = 0; i < expressions.length; i++) {
+                result.append(literals[i]);
+                result.append(evaluateExpression(expressionSources[i], expressions[i], env));
+            }
+            result.append(literals[expressions.length]);
+            return result.toString();
+        }
+
+        @Override
+        public Object evaluate(Map<String, Object> context) {
+            if (!isSingleExpression()) {
+                return render(context);
+            }
+            Map<String, Object> env = context != null ? context : Collections.emptyMap();
+            return evaluateExpression(expressionSources[0], expressions[0], env);
+        }
+
+        @Override
+        public boolean isConstant() {
+            return expressions.length == 0;
+        }
+
+        private boolean isSingleExpression() {
+            return expressions.length == 1 && literals[0].isEmpty() && literals[1].isEmpty();
+        }
+
+        @Override
+        public String getSource() {
+            return source;
+        }
+    }
+
     /**
      * 随机字符串生成函数
      */
@@ -129,13 +230,10 @@ public class AviatorTemplateEngine implements ITemplateEngine {
                                   AviatorObject arg1) {
 
             String options = arg1.getValue(env).toString();
-            // 解析数组格式: ['option1','option2','option3']
-            String[] optionArray = options.replaceAll("[\\[\\]']", "").split(",");
-            for (int i = 0; i < optionArray.length; i++) {
-                optionArray[i] = optionArray[i].trim();
-            }
+            // 解析数组格式: ['option1','option2','option3']，解析结果按原始字符串缓存
+            String[] optionArray = optionsCache.computeIfAbsent(options, RandomGenerators::parseOptions);
 
-            String selectedOption = optionArray[random.nextInt(optionArray.length)];
+            String selectedOption = optionArray[randomSource.current().nextInt(optionArray.length)];
             return new AviatorString(selectedOption);
         }
     }
@@ -156,48 +254,154 @@ public class AviatorTemplateEngine implements ITemplateEngine {
 
             int min = ((Number) arg1.getValue(env)).intValue();
             int max = ((Number) arg2.getValue(env)).intValue();
-            int randomValue = random.nextInt(max - min + 1) + min;
+            int randomValue = RandomGenerators.randomRange(randomSource.current(), min, max);
 
             return AviatorNumber.valueOf(randomValue);
         }
     }
 
+    /**
+     * 按权重选择函数：weightedFrom(['a','b'], [3,1])
+     */
+    public class WeightedFromFunction extends AbstractFunction {
+        private static final long serialVersionUID = 1L;
+
+        private final Map<String, AliasSampler> samplerCache = new ConcurrentHashMap<>();
+
+        @Override
+        public String getName() {
+            return "weightedFrom";
+        }
+
+        @Override
+        public AviatorObject call(Map<String, Object> env,
+                                  AviatorObject arg1,
+                                  AviatorObject arg2) {
+
+            String[] optionArray = optionsCache.computeIfAbsent(arg1.getValue(env).toString(),
+                    RandomGenerators::parseOptions);
+            String weights = arg2.getValue(env).toString();
+            AliasSampler sampler = samplerCache.computeIfAbsent(weights,
+                    key -> Distributions.weighted(Distributions.parseWeights(key)));
+            if (sampler.size() != optionArray.length) {
+                throw new IllegalArgumentException("weightedFrom 的选项与权重数量不一致");
+            }
+            return new AviatorString(optionArray[sampler.sample(randomSource.current())]);
+        }
+    }
+
+    /**
+     * Zipf 排名函数：zipf(n, s)，返回 1..n，排名越靠前概率越大
+     */
+    public class ZipfFunction extends AbstractFunction {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public String getName() {
+            return "zipf";
+        }
+
+        @Override
+        public AviatorObject call(Map<String, Object> env,
+                                  AviatorObject arg1,
+                                  AviatorObject arg2) {
+
+            int n = ((Number) arg1.getValue(env)).intValue();
+            double exponent = ((Number) arg2.getValue(env)).doubleValue();
+            return AviatorNumber.valueOf(Distributions.zipf(n, exponent).sample(randomSource.current()) + 1);
+        }
+    }
+
+    /**
+     * Zipf 选择函数：zipfFrom(['hot','warm','cold'], s)，靠前的选项被选中的概率更大
+     */
+    public class ZipfFromFunction extends AbstractFunction {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public String getName() {
+            return "zipfFrom";
+        }
+
+        @Override
+        public AviatorObject call(Map<String, Object> env,
+                                  AviatorObject arg1,
+                                  AviatorObject arg2) {
+
+            String[] optionArray = optionsCache.computeIfAbsent(arg1.getValue(env).toString(),
+                    RandomGenerators::parseOptions);
+            double exponent = ((Number) arg2.getValue(env)).doubleValue();
+            AliasSampler sampler = Distributions.zipf(optionArray.length, exponent);
+            return new AviatorString(optionArray[sampler.sample(randomSource.current())]);
+        }
+    }
+
+    /**
+     * 正态分布函数：gaussian(mean, stddev)
+     */
+    public class GaussianFunction extends AbstractFunction {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public String getName() {
+            return "gaussian";
+        }
+
+        @Override
+        public AviatorObject call(Map<String, Object> env,
+                                  AviatorObject arg1,
+                                  AviatorObject arg2) {
+
+            double mean = ((Number) arg1.getValue(env)).doubleValue();
+            double stddev = ((Number) arg2.getValue(env)).doubleValue();
+            return AviatorNumber.valueOf(Distributions.gaussian(randomSource.current(), mean, stddev));
+        }
+    }
+
+    /**
+     * 泊松分布函数：poisson(lambda)
+     */
+    public class PoissonFunction extends AbstractFunction {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public String getName() {
+            return "poisson";
+        }
+
+        @Override
+        public AviatorObject call(Map<String, Object> env,
+                                  AviatorObject arg1) {
+
+            double lambda = ((Number) arg1.getValue(env)).doubleValue();
+            return AviatorNumber.valueOf(Distributions.poisson(randomSource.current(), lambda));
+        }
+    }
+
+    /**
+     * 指数分布函数：exponential(mean)
+     */
+    public class ExponentialFunction extends AbstractFunction {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public String getName() {
+            return "exponential";
+        }
+
+        @Override
+        public AviatorObject call(Map<String, Object> env,
+                                  AviatorObject arg1) {
+
+            double mean = ((Number) arg1.getValue(env)).doubleValue();
+            return AviatorNumber.valueOf(Distributions.exponential(randomSource.current(), mean));
+        }
+    }
+
     /**
      * 生成随机字符串
      */
     private String generateRandomString(int length, String charset) {
-        StringBuilder sb = new StringBuilder();
-
-        switch (charset.toLowerCase()) {
-            case "chinese":
-                // 生成常用中文字符 (更安全的范围)
-                String commonChineseChars = "的一是了我不人在他有这个上们来到时大地为子中你说生国年着就那和要她出也得里后自以会家可下而过天去能对小多然于心学么之都好看起发当没成只如事把还用第样道想作种开美总从无情面最女但现前些所同日手又行意动方期它头经长儿回位分爱老因很给名法间斯知世什两次使身者被高已亲其进此话常与活正感见明问力理尔点文几定本公特做外孩相西果走将月十实向声车全信重三机工物气每并别真打太新比才便夫再书部水像眼等体却加电主界门利海受听表德少克代员许先口由死安写性马光白或住难望教命花结乐色更拉东神记处让母父应直字场平报友关放至张认接告入笑内英军候民岁往何度山觉路带万男边风解叫任金快原吃妈变通师立象数四失满战远格士音轻目条呢病始达深完今提求清王化空业思切怎非找片罗钱吗语元喜曾离飞科言干流欢约各即指合反题必该论交终林请医晚制球决传画保读运及则房早院量苦火布品近坐产答星精视五连司巴奇管类未朋且婚台夜青北队久乎越观落尽形影红爸百令周吧识步希亚术留市半热送兴造谈容极随演收首根讲整式取照办强石古华拿计您装似足双妻尼转诉米称丽客南领节衣站黑刻统断福城故历惊脸选包紧争另建维绝树系伤示愿持千史谁准联妇纪基买志静阿诗独复痛消社算义竟确酒需单治卡幸兰念举仅钟怕共毛句息功官待究跟穿室易游程号居考突皮哪费倒价图具刚脑永歌响商礼细专黄块脚味灵改据般破引食仍存众注笔甚某沉血备习校默务土微娘须试怀料调广苏显赛查密议底列富梦错座参八除跑亮假印设线温虽掉京初养香停际致阳纸李纳验助激够严证帝饭忘趣支春集丈木研班普导顿睡展跳获艺六波察群皇段急庭创区奥器谢弟店否害草排背止组州朝封睛板角况曲馆育忙质河续哥呼若推境遇雨标姐充围案伦护冷警贝著雪索剧啊船险烟依斗值帮汉慢佛肯闻唱沙局伯族低玩资屋击速顾泪洲团圣旁堂兵七露园牛哭旅街劳型烈姑陈莫鱼异抱宝权鲁简态级票怪寻杀律胜份汽右洋范床舞秘午登楼贵吸责例追较职属渐左录丝牙党继托赶章智冲叶胡吉卖坚喝肉遗救修松临藏担戏善卫药悲敢靠伊村戴词森耳差短祖云规窗散迷油旧适乡架恩投弹铁博雷府压超负勒杂醒洗采毫嘴毕九冰既状乱景席珍童顶派素脱农疑练野按犯拍征坏骨余承置臓彩灯巨琴免环姆暗换技翻束增忍餐洛塞缺忆判欧层付阵玛批岛项狗休懂武革良恶恋委拥娜妙探呀营退摇弄桌熟诺宣银势奖宫忽套康供优课鸟喊降夏困刘罪亡鞋健模败伴守挥鲜财孤枪禁恐伙杰迹妹藜遍盖副坦牌江顺秋萨菜划授归浪听凡预奶雄升碃编典袋莱含盛济蒙棋端腿招释介烧误";
-                for (int i = 0; i < length; i++) {
-                    sb.append(commonChineseChars.charAt(random.nextInt(commonChineseChars.length())));
-                }
-                break;
-            case "english":
-                // 生成英文字符
-                String englishChars = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ";
-                for (int i = 0; i < length; i++) {
-                    sb.append(englishChars.charAt(random.nextInt(englishChars.length())));
-                }
-                break;
-            case "alphanumeric":
-                // 生成字母数字字符
-                String alphanumericChars = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
-                for (int i = 0; i < length; i++) {
-                    sb.append(alphanumericChars.charAt(random.nextInt(alphanumericChars.length())));
-                }
-                break;
-            default:
-                // 默认生成数字
-                for (int i = 0; i < length; i++) {
-                    sb.append(random.nextInt(10));
-                }
-                break;
-        }
-
-        return sb.toString();
+        return RandomGenerators.randomString(randomSource.current(), length, RandomGenerators.charsetTable(charset));
     }
 }
\ No newline at end of file
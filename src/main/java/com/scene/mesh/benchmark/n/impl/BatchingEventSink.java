@@ -0,0 +1,158 @@
+package com.scene.mesh.benchmark.n.impl;
+
+import com.scene.mesh.benchmark.n.spec.ITerminalConnection;
+import com.scene.mesh.sdk.model.TerminalEvent;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 批量事件发送端
+ * 位于 {@link PipelinedSender} 与终端连接之间：同一终端的事件攒满 batchSize 个时立即合并发送，
+ * 否则在批次第一个事件到达 lingerMs 后发送。每个事件的确认单独转交给发送器，
+ * 延迟直方图因此包含攒批等待时间，可以直接比较不同批次参数下吞吐与延迟的取舍
+ */
+@Slf4j
+public class BatchingEventSink implements PipelinedSender.EventSink {
+
+    private final ITerminalConnection connection;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final ScheduledExecutorService scheduler;
+    private final Stats stats;
+
+    // 以下字段由对象锁保护
+    private List<TerminalEvent> pendingEvents;
+    private List<CompletableFuture<Boolean>> pendingFutures;
+    private long generation;
+
+    /**
+     * @param scheduler 执行 linger 到期发送的调度器，可由多个终端共享
+     * @param stats 批次统计，可由多个终端共享
+     */
+    public BatchingEventSink(ITerminalConnection connection, int batchSize, long lingerMs,
+                             ScheduledExecutorService scheduler, Stats stats) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize 必须大于0");
+        }
+        this.connection = connection;
+        this.batchSize = batchSize;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMs);
+        this.scheduler = scheduler;
+        this.stats = stats;
+        resetBatch();
+    }
+
+    @Override
+    public synchronized CompletableFuture<Boolean> sendEvent(TerminalEvent event) {
+        CompletableFuture<Boolean> future = new CompletableFuture<>();
+        pendingEvents.add(event);
+        pendingFutures.add(future);
+        if (pendingEvents.size() >= batchSize) {
+            dispatch(true);
+        } else if (pendingEvents.size() == 1) {
+            long batchGeneration = generation;
+            scheduler.schedule(() -> lingerExpired(batchGeneration), lingerNanos, TimeUnit.NANOSECONDS);
+        }
+        return future;
+    }
+
+    /**
+     * 立即发送已攒的事件
+     */
+    public synchronized void flush() {
+        if (!pendingEvents.isEmpty()) {
+            dispatch(false);
+        }
+    }
+
+    private synchronized void lingerExpired(long batchGeneration) {
+        // 批次已因攒满发出时，过期任务属于旧批次，忽略
+        if (generation == batchGeneration && !pendingEvents.isEmpty()) {
+            dispatch(false);
+        }
+    }
+
+    /**
+     * 发送当前批次；在锁内调用连接，保证批次按顺序交给连接
+     */
+    private void dispatch(boolean full) {
+        List<TerminalEvent> events = pendingEvents;
+        List<CompletableFuture<Boolean>> futures = pendingFutures;
+        resetBatch();
+        stats.record(events.size(), full);
+
+        List<CompletableFuture<Boolean>> results;
+        try {
+            results = connection.sendEvents(events);
+        } catch (Exception e) {
+            log.debug("终端 {} 批量发送失败: {}", connection.getTerminalId(), e.getMessage());
+            futures.forEach(future -> future.completeExceptionally(e));
+            return;
+        }
+        for (int i = 0; i < futures.size(); i++) {
+            CompletableFuture<Boolean> future = futures.get(i);
+            results.get(i).whenComplete((result, error) -> {
+                if (error != null) {
+                    future.completeExceptionally(error);
+                } else {
+                    future.complete(result);
+                }
+            });
+        }
+    }
+
+    private void resetBatch() {
+        pendingEvents = new ArrayList<>(batchSize);
+        pendingFutures = new ArrayList<>(batchSize);
+        generation++;
+    }
+
+    /**
+     * 批次统计，多个终端并发写入
+     */
+    public static class Stats {
+        private final AtomicLong batches = new AtomicLong();
+        private final AtomicLong events = new AtomicLong();
+        private final AtomicLong fullBatches = new AtomicLong();
+        private final AtomicLong maxBatch = new AtomicLong();
+
+        void record(int size, boolean full) {
+            batches.incrementAndGet();
+            events.addAndGet(size);
+            if (full) {
+                fullBatches.incrementAndGet();
+            }
+            maxBatch.accumulateAndGet(size, Math::max);
+        }
+
+        public long getBatches() {
+            return batches.get();
+        }
+
+        public long getEvents() {
+            return events.get();
+        }
+
+        /**
+         * 因攒满而发送的批次数，其余批次由 linger 到期或主动刷新发送
+         */
+        public long getFullBatches() {
+            return fullBatches.get();
+        }
+
+        public long getMaxBatch() {
+            return maxBatch.get();
+        }
+
+        public double getAverageBatch() {
+            long count = batches.get();
+            return count > 0 ? Math.round(events.get() * 100.0 / count) / 100.0 : 0;
+        }
+    }
+}
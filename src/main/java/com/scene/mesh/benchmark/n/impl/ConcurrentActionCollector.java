@@ -0,0 +1,246 @@
+package com.scene.mesh.benchmark.n.impl;
+
+import com.scene.mesh.sdk.model.TerminalAction;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 高吞吐动作收集器
+ * 客户端 IO 回调线程只做一次无锁入队（有界多生产者单消费者环形队列），去重、存储与反应延迟记录
+ * 都由单个排空线程完成；到达时刻存放在可扩容的基本类型数组中。
+ * 队列满时丢弃并计数，不阻塞传输线程。调用 {@link #close()} 排空队列后结果才完整、不再变化
+ */
+@Slf4j
+public class ConcurrentActionCollector implements AutoCloseable {
+
+    /**
+     * 队列为空时排空线程的休眠时间
+     */
+    private static final long IDLE_PARK_NANOS = 50_000L;
+
+    /**
+     * 单批最多排空的动作数，批次结束时唤醒等待线程
+     */
+    private static final int MAX_BATCH = 4096;
+
+    private final String testSuiteId;
+
+    // 环形队列：生产者 CAS 推进 tail 占位后写入槽位，消费者读取后清空槽位再推进 head
+    private final AtomicReferenceArray<Arrival> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    // 以下字段只由排空线程写入
+    private final Set<String> collectedActionIds = new HashSet<>();
+    private final List<TerminalAction> receivedActions = new ArrayList<>();
+    private long[] arrivalNanos = new long[1024];
+
+    private final Set<String> seenMetaActionIds = ConcurrentHashMap.newKeySet();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile long duplicates;
+    private volatile long lastActionNanos = System.nanoTime();
+
+    private final Thread drainer;
+    private volatile boolean running = true;
+
+    /**
+     * @param testSuiteId 测试套件ID，用于日志与线程名
+     * @param queueCapacity 交接队列容量，向上取整为 2 的幂
+     */
+    public ConcurrentActionCollector(String testSuiteId, int queueCapacity) {
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("队列容量必须大于0");
+        }
+        this.testSuiteId = testSuiteId;
+        int capacity = queueCapacity <= 2 ? 2 : Integer.highestOneBit(queueCapacity - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+
+        this.drainer = new Thread(this::drainLoop, "action-collector-" + testSuiteId);
+        this.drainer.setDaemon(true);
+        this.drainer.start();
+    }
+
+    /**
+     * 在 IO 回调线程上提交动作，不加锁、不阻塞
+     * @param action 收到的动作
+     * @param track 动作所属终端的反应延迟追踪，可为 null
+     * @return 入队成功返回 true，队列已满被丢弃返回 false
+     */
+    public boolean offer(TerminalAction action, ReactionTracker.Track track) {
+        long callbackNanos = System.nanoTime();
+        long position;
+        do {
+            position = tail.get();
+            if (position - head.get() > mask) {
+                dropped.incrementAndGet();
+                return false;
+            }
+        } while (!tail.compareAndSet(position, position + 1));
+        slots.lazySet((int) position & mask, new Arrival(action, callbackNanos, track));
+        return true;
+    }
+
+    /**
+     * 等待动作收集完成：所有期望动作都已收到，且最近 quietNanos 内（从开始等待算起）没有新动作
+     * @return 提前完成返回 true，达到最长等待时间返回 false
+     */
+    public boolean awaitCompletion(Collection<String> expectedActionIds, long quietNanos, long maxWaitNanos)
+            throws InterruptedException {
+        long startNanos = System.nanoTime();
+        long deadline = startNanos + maxWaitNanos;
+        synchronized (this) {
+            while (true) {
+                long now = System.nanoTime();
+                long waitNanos = deadline - now;
+                if (seenMetaActionIds.containsAll(expectedActionIds)) {
+                    long quietRemaining = Math.max(lastActionNanos, startNanos) + quietNanos - now;
+                    if (quietRemaining <= 0) {
+                        return true;
+                    }
+                    waitNanos = Math.min(waitNanos, quietRemaining);
+                }
+                if (deadline - now <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, waitNanos);
+            }
+        }
+    }
+
+    /**
+     * 停止接收并排空队列中剩余的动作，可重复调用；等待期间被中断时恢复中断标记后返回，此时结果不可读取
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            drainer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("测试套件 {} 等待动作收集器排空时被中断", testSuiteId);
+        }
+    }
+
+    /**
+     * 收集到的去重后动作，按到达顺序排列；需在 {@link #close()} 之后调用
+     */
+    public List<TerminalAction> getReceivedActions() {
+        ensureClosed();
+        return new ArrayList<>(receivedActions);
+    }
+
+    /**
+     * 与 {@link #getReceivedActions()} 一一对应的回调时刻（System.nanoTime）；需在 {@link #close()} 之后调用
+     */
+    public long[] getArrivalNanos() {
+        ensureClosed();
+        return Arrays.copyOf(arrivalNanos, receivedActions.size());
+    }
+
+    /**
+     * 因交接队列已满而丢弃的动作数
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * 因 ID 重复而忽略的动作数
+     */
+    public long getDuplicates() {
+        return duplicates;
+    }
+
+    public String getTestSuiteId() {
+        return testSuiteId;
+    }
+
+    private void ensureClosed() {
+        if (drainer.isAlive()) {
+            throw new IllegalStateException("动作收集器尚未关闭");
+        }
+    }
+
+    private void drainLoop() {
+        while (true) {
+            // 先读取运行标记，保证停止后还能再排空一轮
+            boolean stopping = !running;
+            int drained = drainBatch();
+            if (drained > 0) {
+                synchronized (this) {
+                    notifyAll();
+                }
+            } else if (stopping) {
+                break;
+            } else {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+        log.debug("测试套件 {} 动作收集结束: 收集 {}，重复 {}，丢弃 {}",
+                testSuiteId, receivedActions.size(), duplicates, dropped.get());
+    }
+
+    private int drainBatch() {
+        int drained = 0;
+        long position = head.get();
+        while (drained < MAX_BATCH) {
+            int index = (int) position & mask;
+            Arrival arrival = slots.get(index);
+            if (arrival == null) {
+                // 队列为空，或生产者已占位但尚未写入
+                if (position == tail.get()) {
+                    break;
+                }
+                Thread.onSpinWait();
+                continue;
+            }
+            slots.lazySet(index, null);
+            head.lazySet(++position);
+            store(arrival);
+            drained++;
+        }
+        return drained;
+    }
+
+    private void store(Arrival arrival) {
+        TerminalAction action = arrival.action();
+        if (!collectedActionIds.add(action.getId())) {
+            duplicates++;
+            return;
+        }
+
+        int count = receivedActions.size();
+        if (count == arrivalNanos.length) {
+            arrivalNanos = Arrays.copyOf(arrivalNanos, count * 2);
+        }
+        arrivalNanos[count] = arrival.callbackNanos();
+        receivedActions.add(action);
+        if (action.getMetaActionId() != null) {
+            seenMetaActionIds.add(action.getMetaActionId());
+        }
+        lastActionNanos = arrival.callbackNanos();
+
+        if (arrival.track() != null) {
+            arrival.track().recordAction(action.getReceivedTimestamp(), arrival.callbackNanos());
+        }
+        if (log.isTraceEnabled()) {
+            log.trace("测试套件 {} 收集到动作: {} (时间戳: {})", testSuiteId, action, action.getReceivedTimestamp());
+        }
+    }
+
+    private record Arrival(TerminalAction action, long callbackNanos, ReactionTracker.Track track) {
+    }
+}
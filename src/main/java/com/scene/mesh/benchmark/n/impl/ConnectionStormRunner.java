@@ -0,0 +1,234 @@
+package com.scene.mesh.benchmark.n.impl;
+
+import com.scene.mesh.benchmark.n.model.BenchmarkConfig;
+import com.scene.mesh.benchmark.n.spec.ITerminalConnection;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 连接风暴驱动器
+ * 每种协议按计划时刻（突发或在 rampMs 内均匀分布）发起 N 个连接，同时进行中的连接数不超过上限；
+ * 连接延迟只统计建立连接本身，受上限影响的排队时间单独记录。
+ * 配置重连轮次时，每轮保持 holdMs 后断开全部连接，再以相同节奏重新连接，用于衡量恢复吞吐
+ */
+@Slf4j
+public class ConnectionStormRunner {
+
+    private static final int DEFAULT_RECONNECT_CYCLES = 0;
+    private static final long DEFAULT_HOLD_MS = 1000L;
+
+    /**
+     * 错误信息中出现这些关键字时视为认证失败
+     */
+    private static final String[] AUTH_ERROR_KEYWORDS = {
+            "auth", "unauthorized", "forbidden", "credential", "secret", "401", "403", "认证", "鉴权"
+    };
+
+    private final BenchmarkConfig.ConnectionStorm storm;
+    private final ConnectionFactory connectionFactory;
+
+    public ConnectionStormRunner(BenchmarkConfig.ConnectionStorm storm, ConnectionFactory connectionFactory) {
+        this.storm = storm;
+        this.connectionFactory = connectionFactory;
+    }
+
+    /**
+     * 依次对每种协议执行连接风暴
+     * @param protocols 协议列表
+     * @return 各协议各轮次的统计，按协议、轮次排列
+     */
+    public List<CycleStats> run(List<String> protocols) throws InterruptedException {
+        int cycles = 1 + (storm.getReconnectCycles() != null ? storm.getReconnectCycles() : DEFAULT_RECONNECT_CYCLES);
+        long holdMs = storm.getHoldMs() != null ? storm.getHoldMs() : DEFAULT_HOLD_MS;
+
+        List<CycleStats> results = new ArrayList<>();
+        for (String protocol : protocols) {
+            AtomicReferenceArray<ITerminalConnection> connections = new AtomicReferenceArray<>(storm.getConnections());
+            try {
+                for (int cycle = 0; cycle < cycles; cycle++) {
+                    CycleStats stats = connectAll(protocol, cycle, connections);
+                    results.add(stats);
+                    log.info("连接风暴 {} 第 {} 轮: 成功 {}/{}，认证失败 {}，耗时 {}ms，p99 {}ms", protocol, cycle,
+                            stats.getConnected(), stats.getAttempts(), stats.getAuthFailures(),
+                            stats.getElapsedNanos() / 1_000_000, stats.getLatency().getValueAtPercentile(99) / 1_000_000);
+                    if (cycle < cycles - 1) {
+                        Thread.sleep(holdMs);
+                        disconnectAll(connections);
+                    }
+                }
+            } finally {
+                disconnectAll(connections);
+            }
+        }
+        return results;
+    }
+
+    private CycleStats connectAll(String protocol, int cycle, AtomicReferenceArray<ITerminalConnection> connections)
+            throws InterruptedException {
+        int terminals = connections.length();
+        int maxConcurrent = storm.getMaxConcurrentConnects() != null ? storm.getMaxConcurrentConnects() : terminals;
+        long rampNanos = TimeUnit.MILLISECONDS.toNanos(storm.getRampMs() != null ? storm.getRampMs() : 0);
+
+        CycleStats stats = new CycleStats(protocol, cycle, terminals);
+        Semaphore permits = new Semaphore(maxConcurrent);
+        ExecutorService executor = VirtualThreads.newPerTaskExecutor("storm-" + protocol);
+        long startNanos = System.nanoTime();
+        try {
+            for (int i = 0; i < terminals; i++) {
+                long scheduledNanos = startNanos + rampNanos * i / terminals;
+                awaitUntil(scheduledNanos);
+                permits.acquire();
+                int index = i;
+                executor.execute(() -> {
+                    try {
+                        connectOne(protocol, index, scheduledNanos, connections, stats);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        }
+        stats.elapsedNanos = System.nanoTime() - startNanos;
+        return stats;
+    }
+
+    private void connectOne(String protocol, int index, long scheduledNanos,
+                            AtomicReferenceArray<ITerminalConnection> connections, CycleStats stats) {
+        long beginNanos = System.nanoTime();
+        stats.queueDelay.accumulateAndGet(beginNanos - scheduledNanos, Math::max);
+        try {
+            // 每轮建立新的连接，避免依赖传输在断开后复用连接的行为
+            ITerminalConnection connection = connectionFactory.connect(protocol, index);
+            stats.latency.record(System.nanoTime() - beginNanos);
+            connections.set(index, connection);
+            stats.connected.incrementAndGet();
+        } catch (Exception e) {
+            stats.failures.incrementAndGet();
+            if (isAuthenticationError(e)) {
+                stats.authFailures.incrementAndGet();
+            }
+            stats.firstError.compareAndSet(null, e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+            log.debug("终端 {} 连接失败: {}", index, e.getMessage());
+        }
+    }
+
+    private void disconnectAll(AtomicReferenceArray<ITerminalConnection> connections) {
+        for (int i = 0; i < connections.length(); i++) {
+            ITerminalConnection connection = connections.getAndSet(i, null);
+            if (connection == null) {
+                continue;
+            }
+            try {
+                connection.close();
+            } catch (Exception e) {
+                log.debug("终端 {} 断开失败: {}", i, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 沿异常链检查异常类型与信息中是否包含认证相关关键字
+     */
+    static boolean isAuthenticationError(Throwable error) {
+        for (Throwable current = error; current != null; current = current.getCause()) {
+            String text = (current.getClass().getSimpleName() + " " + current.getMessage()).toLowerCase(Locale.ROOT);
+            for (String keyword : AUTH_ERROR_KEYWORDS) {
+                if (text.contains(keyword)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static void awaitUntil(long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    /**
+     * 按协议（传输名称）与终端序号建立终端连接
+     */
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        ITerminalConnection connect(String protocol, int terminalIndex) throws Exception;
+    }
+
+    /**
+     * 单个协议单轮连接的统计，连接线程并发写入
+     */
+    public static class CycleStats {
+        private final String protocol;
+        private final int cycle;
+        private final int attempts;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final AtomicInteger connected = new AtomicInteger();
+        private final AtomicInteger failures = new AtomicInteger();
+        private final AtomicInteger authFailures = new AtomicInteger();
+        private final AtomicLong queueDelay = new AtomicLong();
+        private final AtomicReference<String> firstError = new AtomicReference<>();
+        private volatile long elapsedNanos;
+
+        CycleStats(String protocol, int cycle, int attempts) {
+            this.protocol = protocol;
+            this.cycle = cycle;
+            this.attempts = attempts;
+        }
+
+        public String getProtocol() {
+            return protocol;
+        }
+
+        public int getCycle() {
+            return cycle;
+        }
+
+        public int getAttempts() {
+            return attempts;
+        }
+
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        public int getConnected() {
+            return connected.get();
+        }
+
+        public int getFailures() {
+            return failures.get();
+        }
+
+        public int getAuthFailures() {
+            return authFailures.get();
+        }
+
+        public long getMaxQueueDelayNanos() {
+            return queueDelay.get();
+        }
+
+        public String getFirstError() {
+            return firstError.get();
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+    }
+}
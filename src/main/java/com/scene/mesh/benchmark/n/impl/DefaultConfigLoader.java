@@ -4,11 +4,21 @@ import com.scene.mesh.benchmark.n.model.BenchmarkConfig;
 import com.scene.mesh.benchmark.n.spec.IConfigLoader;
 import com.scene.mesh.sdk.util.MessageUtils;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Component
 @Slf4j
@@ -35,6 +45,131 @@ public class DefaultConfigLoader implements IConfigLoader {
         return testSuiteConfig;
     }
 
+    @Override
+    public List<BenchmarkConfig> loadTestSuiteConfigs(Path directory) {
+        if (!Files.isDirectory(directory)) {
+            throw new IllegalArgumentException("测试套件配置目录不存在: " + directory);
+        }
+
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(directory)) {
+            files = stream.filter(file -> Files.isRegularFile(file) && file.getFileName().toString().endsWith(".json"))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("读取测试套件配置目录失败: " + directory, e);
+        }
+
+        List<BenchmarkConfig> configs = new ArrayList<>(files.size());
+        for (Path file : files) {
+            try {
+                BenchmarkConfig config = loadTestSuiteConfig(new FileSystemResource(file));
+                if (config == null) {
+                    throw new IllegalArgumentException("无法读取文件");
+                }
+                // 调度器把每个配置当作普通套件执行，扫描与协议对比需要单独运行
+                if (config.getSweep() != null) {
+                    throw new IllegalArgumentException("目录模式不支持 sweep，请单独运行该配置");
+                }
+                if (config.getProtocolComparison() != null) {
+                    throw new IllegalArgumentException("目录模式不支持 protocolComparison，请单独运行该配置");
+                }
+                configs.add(config);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(String.format("测试套件配置 %s 无效: %s",
+                        file.getFileName(), e.getMessage()), e);
+            }
+        }
+        log.info("从目录 {} 加载 {} 个测试套件配置", directory, configs.size());
+        return configs;
+    }
+
+    @Override
+    public void validateTestSuiteConfig(BenchmarkConfig benchmarkConfig) {
+        validateBenchmarkConfig(benchmarkConfig);
+    }
+
+    /**
+     * 验证连接风暴配置
+     */
+    private void validateConnectionStorm(BenchmarkConfig.ConnectionStorm storm) {
+        if (storm.getConnections() == null || storm.getConnections() <= 0) {
+            throw new IllegalArgumentException("connectionStorm.connections 必须大于0");
+        }
+        if (storm.getMaxConcurrentConnects() != null && storm.getMaxConcurrentConnects() <= 0) {
+            throw new IllegalArgumentException("connectionStorm.maxConcurrentConnects 必须大于0");
+        }
+        if (storm.getRampMs() != null && storm.getRampMs() < 0) {
+            throw new IllegalArgumentException("connectionStorm.rampMs 不能为负数");
+        }
+        if (storm.getReconnectCycles() != null && storm.getReconnectCycles() < 0) {
+            throw new IllegalArgumentException("connectionStorm.reconnectCycles 不能为负数");
+        }
+        if (storm.getHoldMs() != null && storm.getHoldMs() < 0) {
+            throw new IllegalArgumentException("connectionStorm.holdMs 不能为负数");
+        }
+        if (storm.getProtocols() != null) {
+            for (String protocol : storm.getProtocols()) {
+                // 名称在执行时由传输注册表解析
+                if (protocol == null || protocol.isBlank()) {
+                    throw new IllegalArgumentException("connectionStorm.protocols 不能包含空的协议名称");
+                }
+            }
+        }
+    }
+
+    /**
+     * 验证协议对比配置
+     */
+    private void validateProtocolComparison(BenchmarkConfig benchmarkConfig) {
+        if (benchmarkConfig.getConnectionStorm() != null) {
+            throw new IllegalArgumentException("protocolComparison 不能与 connectionStorm 同时配置，连接风暴请使用 connectionStorm.protocols");
+        }
+        List<String> protocols = benchmarkConfig.getProtocolComparison().getProtocols();
+        if (protocols == null) {
+            return;
+        }
+        Set<String> names = new HashSet<>();
+        for (String protocol : protocols) {
+            if (protocol == null || protocol.isBlank()) {
+                throw new IllegalArgumentException("protocolComparison.protocols 不能包含空的协议名称");
+            }
+            if (!names.add(protocol.toUpperCase(Locale.ROOT))) {
+                throw new IllegalArgumentException("protocolComparison.protocols 协议重复: " + protocol);
+            }
+        }
+        if (names.size() < 2) {
+            throw new IllegalArgumentException("protocolComparison.protocols 至少需要两个协议");
+        }
+    }
+
+    /**
+     * 验证参数扫描配置
+     */
+    private void validateSweep(BenchmarkConfig benchmarkConfig) {
+        BenchmarkConfig.Sweep sweep = benchmarkConfig.getSweep();
+        if (benchmarkConfig.getProtocolComparison() != null) {
+            throw new IllegalArgumentException("sweep 不能与 protocolComparison 同时配置，对比协议请将 protocol 作为扫描参数");
+        }
+        if (sweep.getParams() == null || sweep.getParams().isEmpty()) {
+            throw new IllegalArgumentException("sweep.params 不能为空");
+        }
+        for (Map.Entry<String, List<Object>> param : sweep.getParams().entrySet()) {
+            if (param.getKey() == null || param.getKey().isBlank()) {
+                throw new IllegalArgumentException("sweep.params 参数名不能为空");
+            }
+            if (param.getValue() == null || param.getValue().isEmpty()) {
+                throw new IllegalArgumentException("sweep.params." + param.getKey() + " 取值列表不能为空");
+            }
+        }
+        if (sweep.getWarmupIterations() != null && sweep.getWarmupIterations() < 0) {
+            throw new IllegalArgumentException("sweep.warmupIterations 不能为负数");
+        }
+        if (sweep.getPauseMs() != null && sweep.getPauseMs() < 0) {
+            throw new IllegalArgumentException("sweep.pauseMs 不能为负数");
+        }
+    }
+
     /**
      * 验证基准测试配置
      */
@@ -43,12 +178,72 @@ public class DefaultConfigLoader implements IConfigLoader {
             throw new IllegalArgumentException("基准测试配置不能为空");
         }
 
-        if (benchmarkConfig.getEventGroups() == null || benchmarkConfig.getEventGroups().isEmpty()) {
+        if (benchmarkConfig.getConnectionStorm() != null) {
+            validateConnectionStorm(benchmarkConfig.getConnectionStorm());
+        } else if (benchmarkConfig.getEventGroups() == null || benchmarkConfig.getEventGroups().isEmpty()) {
             throw new IllegalArgumentException("事件组列表不能为空");
         }
 
-        for (BenchmarkConfig.EventGroup eventGroup : benchmarkConfig.getEventGroups()) {
-            validateEventGroup(eventGroup);
+        if (benchmarkConfig.getProtocolComparison() != null) {
+            validateProtocolComparison(benchmarkConfig);
+        }
+
+        if (benchmarkConfig.getSweep() != null) {
+            validateSweep(benchmarkConfig);
+        }
+
+        if (benchmarkConfig.getTerminals() != null && benchmarkConfig.getTerminals() <= 0) {
+            throw new IllegalArgumentException("terminals 必须大于0");
+        }
+
+        if (benchmarkConfig.getTargetRate() != null && !(benchmarkConfig.getTargetRate() > 0)) {
+            throw new IllegalArgumentException("targetRate 必须大于0");
+        }
+
+        if (benchmarkConfig.getLoadProfile() != null) {
+            for (BenchmarkConfig.LoadPhase phase : benchmarkConfig.getLoadProfile()) {
+                String problem = phase == null ? "阶段不能为空" : LoadProfileDriver.validate(phase);
+                if (problem != null) {
+                    throw new IllegalArgumentException(String.format("负载阶段 %s 配置无效: %s",
+                            phase != null ? phase.getName() : null, problem));
+                }
+            }
+        }
+
+        if (benchmarkConfig.getQuietPeriodMs() != null && benchmarkConfig.getQuietPeriodMs() < 0) {
+            throw new IllegalArgumentException("quietPeriodMs 不能为负数");
+        }
+
+        if (benchmarkConfig.getActionQueueCapacity() != null
+                && (benchmarkConfig.getActionQueueCapacity() <= 0 || benchmarkConfig.getActionQueueCapacity() > 1 << 24)) {
+            throw new IllegalArgumentException("actionQueueCapacity 必须在 1 到 16777216 之间");
+        }
+
+        if (benchmarkConfig.getReactionWindowMs() != null && benchmarkConfig.getReactionWindowMs() <= 0) {
+            throw new IllegalArgumentException("reactionWindowMs 必须大于0");
+        }
+
+        if (benchmarkConfig.getMaxInFlight() != null && benchmarkConfig.getMaxInFlight() <= 0) {
+            throw new IllegalArgumentException("maxInFlight 必须大于0");
+        }
+
+        if (benchmarkConfig.getSendTimeoutMs() != null && benchmarkConfig.getSendTimeoutMs() <= 0) {
+            throw new IllegalArgumentException("sendTimeoutMs 必须大于0");
+        }
+
+        if (benchmarkConfig.getBatchSize() != null && benchmarkConfig.getBatchSize() <= 0) {
+            throw new IllegalArgumentException("batchSize 必须大于0");
+        }
+
+        if (benchmarkConfig.getLingerMs() != null && benchmarkConfig.getLingerMs() < 0) {
+            throw new IllegalArgumentException("lingerMs 不能为负数");
+        }
+
+        // 连接风暴套件可以不配置事件组
+        if (benchmarkConfig.getEventGroups() != null) {
+            for (BenchmarkConfig.EventGroup eventGroup : benchmarkConfig.getEventGroups()) {
+                validateEventGroup(eventGroup);
+            }
         }
     }
 
@@ -83,6 +278,26 @@ public class DefaultConfigLoader implements IConfigLoader {
                         String.format("事件组 %s 的事件模板缺少payload模板", eventGroup.getGroupId()));
             }
 
+            if (eventGroup.getDistinctPayloads() != null && eventGroup.getDistinctPayloads() <= 0) {
+                throw new IllegalArgumentException(
+                        String.format("事件组 %s 的 distinctPayloads 必须大于0", eventGroup.getGroupId()));
+            }
+
+            Map<String, Double> typeWeights = eventGroup.getEventTemplate().getTypeWeights();
+            if (typeWeights != null) {
+                for (Map.Entry<String, Double> entry : typeWeights.entrySet()) {
+                    if (!eventGroup.getEventTemplate().getTypeSelector().contains(entry.getKey())) {
+                        throw new IllegalArgumentException(String.format("事件组 %s 的 typeWeights 包含未声明的事件类型 %s",
+                                eventGroup.getGroupId(), entry.getKey()));
+                    }
+                    Double weight = entry.getValue();
+                    if (weight == null || weight < 0 || weight.isInfinite() || weight.isNaN()) {
+                        throw new IllegalArgumentException(String.format("事件组 %s 中事件类型 %s 的权重无效: %s",
+                                eventGroup.getGroupId(), entry.getKey(), weight));
+                    }
+                }
+            }
+
             // 验证每个类型选择器都有对应的payload模板
             for (String eventType : eventGroup.getEventTemplate().getTypeSelector()) {
                 if (!eventGroup.getEventTemplate().getPayloadTemplates().containsKey(eventType)) {
@@ -0,0 +1,208 @@
+package com.scene.mesh.benchmark.n.impl;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scene.mesh.benchmark.n.model.BenchmarkConfig;
+import com.scene.mesh.benchmark.n.model.ComparisonMode;
+import com.scene.mesh.benchmark.n.model.ProtocolComparisonReport;
+import com.scene.mesh.benchmark.n.model.TestSuite;
+import com.scene.mesh.benchmark.n.model.TestSuiteReport;
+import com.scene.mesh.benchmark.n.spec.IProtocolComparisonRunner;
+import com.scene.mesh.benchmark.n.spec.IRandomSource;
+import com.scene.mesh.benchmark.n.spec.ITestSuiteExecutor;
+import com.scene.mesh.benchmark.n.spec.ITestSuiteGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 协议对比执行器
+ * 先确定主种子，再为每个协议复制一份配置（套件ID追加协议名，终端ID互不冲突），
+ * 各协议由同一种子生成完全相同的事件流；SEQUENTIAL 依次执行，CONCURRENT 在全部生成完成后同时开始执行
+ */
+@Slf4j
+@Component
+public class DefaultProtocolComparisonRunner implements IProtocolComparisonRunner {
+
+    private static final List<String> DEFAULT_PROTOCOLS = List.of("MQTT", "WS");
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private final ITestSuiteGenerator testSuiteGenerator;
+    private final ITestSuiteExecutor testSuiteExecutor;
+    private final IRandomSource randomSource;
+
+    @Autowired
+    public DefaultProtocolComparisonRunner(ITestSuiteGenerator testSuiteGenerator,
+                                           ITestSuiteExecutor testSuiteExecutor,
+                                           IRandomSource randomSource) {
+        this.testSuiteGenerator = testSuiteGenerator;
+        this.testSuiteExecutor = testSuiteExecutor;
+        this.randomSource = randomSource;
+    }
+
+    @Override
+    public ProtocolComparisonReport compare(BenchmarkConfig benchmarkConfig) {
+        BenchmarkConfig.ProtocolComparison comparison = benchmarkConfig.getProtocolComparison();
+        List<String> protocols = comparison != null && comparison.getProtocols() != null
+                ? comparison.getProtocols() : DEFAULT_PROTOCOLS;
+        ComparisonMode mode = comparison != null && comparison.getMode() != null
+                ? comparison.getMode() : ComparisonMode.SEQUENTIAL;
+        long seed = benchmarkConfig.getSeed() != null ? benchmarkConfig.getSeed() : randomSource.newMasterSeed();
+        log.info("开始协议对比: {}，协议 {}，方式 {}，种子 {}", benchmarkConfig.getName(), protocols, mode, seed);
+
+        LocalDateTime startTime = LocalDateTime.now();
+        long startNanos = System.nanoTime();
+
+        List<BenchmarkConfig> variants = new ArrayList<>(protocols.size());
+        for (String protocol : protocols) {
+            variants.add(variantOf(benchmarkConfig, protocol, seed));
+        }
+        List<TestSuiteReport> reports = mode == ComparisonMode.CONCURRENT
+                ? runConcurrently(variants) : runSequentially(variants);
+
+        List<ProtocolComparisonReport.ProtocolResult> results = new ArrayList<>(reports.size());
+        for (int i = 0; i < reports.size(); i++) {
+            results.add(toProtocolResult(protocols.get(i), reports.get(i)));
+        }
+        long executionTimeMs = (System.nanoTime() - startNanos) / 1_000_000;
+        log.info("协议对比完成: {}，耗时 {}ms", benchmarkConfig.getName(), executionTimeMs);
+
+        return ProtocolComparisonReport.builder()
+                .testSuiteId(benchmarkConfig.getId())
+                .testSuiteName(benchmarkConfig.getName())
+                .productId(benchmarkConfig.getProductId())
+                .seed(seed)
+                .mode(mode)
+                .startTime(startTime)
+                .endTime(LocalDateTime.now())
+                .executionTimeMs(executionTimeMs)
+                .protocolResults(results)
+                .suiteReports(reports)
+                .build();
+    }
+
+    private List<TestSuiteReport> runSequentially(List<BenchmarkConfig> variants) {
+        List<TestSuiteReport> reports = new ArrayList<>(variants.size());
+        for (BenchmarkConfig variant : variants) {
+            TestSuite testSuite;
+            try {
+                testSuite = testSuiteGenerator.generateTestSuite(variant);
+            } catch (Exception e) {
+                reports.add(failedReport(variant, e));
+                continue;
+            }
+            reports.add(testSuiteExecutor.execute(testSuite));
+        }
+        return reports;
+    }
+
+    /**
+     * 先生成所有协议的测试套件，再同时开始执行，生成耗时不影响各协议的起始时刻
+     */
+    private List<TestSuiteReport> runConcurrently(List<BenchmarkConfig> variants) {
+        TestSuiteReport[] reports = new TestSuiteReport[variants.size()];
+        List<TestSuite> testSuites = new ArrayList<>(variants.size());
+        for (int i = 0; i < variants.size(); i++) {
+            try {
+                testSuites.add(testSuiteGenerator.generateTestSuite(variants.get(i)));
+            } catch (Exception e) {
+                testSuites.add(null);
+                reports[i] = failedReport(variants.get(i), e);
+            }
+        }
+
+        ExecutorService workers = Executors.newFixedThreadPool(variants.size(),
+                VirtualThreads.namedDaemonFactory("protocol-compare"));
+        try {
+            List<Future<TestSuiteReport>> futures = new ArrayList<>(variants.size());
+            for (TestSuite testSuite : testSuites) {
+                futures.add(testSuite != null ? workers.submit(() -> testSuiteExecutor.execute(testSuite)) : null);
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                if (futures.get(i) != null) {
+                    reports[i] = futures.get(i).get();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("协议对比被中断", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("协议对比执行异常", e.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+        return List.of(reports);
+    }
+
+    /**
+     * 复制配置并指定协议：传输按协议名称选择，套件ID追加协议名
+     */
+    private static BenchmarkConfig variantOf(BenchmarkConfig benchmarkConfig, String protocol, long seed) {
+        BenchmarkConfig variant = OBJECT_MAPPER.convertValue(benchmarkConfig, BenchmarkConfig.class);
+        variant.setProtocolComparison(null);
+        variant.setProtocol(protocol);
+        variant.setTransport(protocol);
+        variant.setSeed(seed);
+        variant.setId(benchmarkConfig.getId() + "-" + protocol);
+        variant.setName(benchmarkConfig.getName() + " [" + protocol + "]");
+        return variant;
+    }
+
+    private static ProtocolComparisonReport.ProtocolResult toProtocolResult(String protocol, TestSuiteReport report) {
+        Map<String, Object> metrics = report.getMetrics() != null ? report.getMetrics() : Map.of();
+        long timeouts = (long) metric(metrics, "send.timeouts");
+        return ProtocolComparisonReport.ProtocolResult.builder()
+                .protocol(protocol)
+                .status(report.getStatus())
+                .totalEventsSent(report.getTotalEventsSent())
+                .successfulEvents(report.getSuccessfulEvents())
+                .failedEvents(report.getFailedEvents())
+                .timeouts(timeouts)
+                .errorRate(report.getTotalEventsSent() > 0
+                        ? Math.round(report.getFailedEvents() * 10_000.0 / report.getTotalEventsSent()) / 10_000.0 : 0)
+                .eventsPerSecond(metric(metrics, "send.eventsPerSecond"))
+                .sendLatencyP50Ms(metric(metrics, "latency.p50Ms"))
+                .sendLatencyP99Ms(metric(metrics, "latency.p99Ms"))
+                .sendLatencyMaxMs(metric(metrics, "latency.maxMs"))
+                .reactionP50Ms(metric(metrics, "reaction.firstActionP50Ms"))
+                .reactionP99Ms(metric(metrics, "reaction.firstActionP99Ms"))
+                .reactedRatio(metric(metrics, "reaction.reactedRatio"))
+                .matchScore(report.getMatchScore())
+                .executionTimeMs(report.getExecutionTimeMs())
+                .errorMessage(report.getErrorMessage())
+                .build();
+    }
+
+    private static double metric(Map<String, Object> metrics, String name) {
+        return metrics.get(name) instanceof Number number ? number.doubleValue() : 0;
+    }
+
+    private static TestSuiteReport failedReport(BenchmarkConfig benchmarkConfig, Exception e) {
+        log.error("测试套件生成失败: {}", benchmarkConfig.getName(), e);
+        LocalDateTime now = LocalDateTime.now();
+        return TestSuiteReport.builder()
+                .testSuiteId(benchmarkConfig.getId())
+                .testSuiteName(benchmarkConfig.getName())
+                .productId(benchmarkConfig.getProductId())
+                .seed(benchmarkConfig.getSeed())
+                .status(TestSuiteReport.ExecutionStatus.FAILED)
+                .startTime(now)
+                .endTime(now)
+                .errorMessage(e.getMessage())
+                .matchScore(0.0)
+                .scoreLevel(TestSuiteReport.ScoreLevel.FAILED)
+                .passed(false)
+                .build();
+    }
+}
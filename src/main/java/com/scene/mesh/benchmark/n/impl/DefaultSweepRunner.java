@@ -0,0 +1,375 @@
+package com.scene.mesh.benchmark.n.impl;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.scene.mesh.benchmark.n.model.BenchmarkConfig;
+import com.scene.mesh.benchmark.n.model.SweepReport;
+import com.scene.mesh.benchmark.n.model.TestSuite;
+import com.scene.mesh.benchmark.n.model.TestSuiteReport;
+import com.scene.mesh.benchmark.n.spec.IConfigLoader;
+import com.scene.mesh.benchmark.n.spec.IRandomSource;
+import com.scene.mesh.benchmark.n.spec.ISweepRunner;
+import com.scene.mesh.benchmark.n.spec.ITestSuiteExecutor;
+import com.scene.mesh.benchmark.n.spec.ITestSuiteGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 参数扫描执行器
+ * 在同一个进程内按扫描参数的笛卡尔积逐格执行：每格由基础配置替换参数得到，所有格使用同一个主种子，
+ * 先执行 warmupIterations 次预热（结果丢弃），再执行一次正式测量；相邻两次执行之间暂停 pauseMs。
+ * 开始执行前按配置加载规则与已注册的传输验证全部格，避免扫描进行到中途才因取值无效而失败
+ */
+@Slf4j
+@Component
+public class DefaultSweepRunner implements ISweepRunner {
+
+    private static final int DEFAULT_WARMUP_ITERATIONS = 1;
+    private static final long DEFAULT_PAUSE_MS = 0L;
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private final ITestSuiteGenerator testSuiteGenerator;
+    private final ITestSuiteExecutor testSuiteExecutor;
+    private final IRandomSource randomSource;
+    private final IConfigLoader configLoader;
+    private final TerminalTransportRegistry transportRegistry;
+
+    @Autowired
+    public DefaultSweepRunner(ITestSuiteGenerator testSuiteGenerator,
+                              ITestSuiteExecutor testSuiteExecutor,
+                              IRandomSource randomSource,
+                              IConfigLoader configLoader,
+                              TerminalTransportRegistry transportRegistry) {
+        this.testSuiteGenerator = testSuiteGenerator;
+        this.testSuiteExecutor = testSuiteExecutor;
+        this.randomSource = randomSource;
+        this.configLoader = configLoader;
+        this.transportRegistry = transportRegistry;
+    }
+
+    @Override
+    public SweepReport sweep(BenchmarkConfig benchmarkConfig) {
+        BenchmarkConfig.Sweep sweep = benchmarkConfig.getSweep();
+        int warmupIterations = sweep.getWarmupIterations() != null
+                ? sweep.getWarmupIterations() : DEFAULT_WARMUP_ITERATIONS;
+        long pauseMs = sweep.getPauseMs() != null ? sweep.getPauseMs() : DEFAULT_PAUSE_MS;
+        long seed = benchmarkConfig.getSeed() != null ? benchmarkConfig.getSeed() : randomSource.newMasterSeed();
+
+        ObjectNode baseTree = OBJECT_MAPPER.valueToTree(benchmarkConfig);
+        baseTree.remove("sweep");
+        checkParamsUsed(baseTree, sweep.getParams().keySet());
+
+        List<Map<String, Object>> combinations = crossProduct(sweep.getParams());
+        List<BenchmarkConfig> cellConfigs = new ArrayList<>(combinations.size());
+        for (int index = 0; index < combinations.size(); index++) {
+            cellConfigs.add(validCellConfig(baseTree, combinations.get(index), seed, index));
+        }
+        log.info("开始参数扫描: {}，参数 {}，共 {} 格，每格预热 {} 次，种子 {}", benchmarkConfig.getName(),
+                sweep.getParams().keySet(), combinations.size(), warmupIterations, seed);
+
+        LocalDateTime startTime = LocalDateTime.now();
+        long startNanos = System.nanoTime();
+        List<SweepReport.Cell> cells = new ArrayList<>(combinations.size());
+        boolean first = true;
+        try {
+            for (int index = 0; index < combinations.size(); index++) {
+                Map<String, Object> params = combinations.get(index);
+                BenchmarkConfig cellConfig = cellConfigs.get(index);
+                for (int warmup = 0; warmup < warmupIterations; warmup++) {
+                    first = pause(first, pauseMs);
+                    log.info("第 {}/{} 格 {} 预热 {}/{}", index + 1, combinations.size(), params,
+                            warmup + 1, warmupIterations);
+                    run(cellConfig);
+                }
+                first = pause(first, pauseMs);
+                log.info("第 {}/{} 格 {} 正式测量", index + 1, combinations.size(), params);
+                SweepReport.Cell cell = toCell(params, run(cellConfig));
+                cells.add(cell);
+                log.info("第 {}/{} 格完成: 吞吐 {}/s，确认延迟 p50/p99 {}/{}ms，错误率 {}", index + 1,
+                        combinations.size(), cell.getEventsPerSecond(), cell.getLatencyP50Ms(),
+                        cell.getLatencyP99Ms(), cell.getErrorRate());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("参数扫描被中断，已完成 {} 格", cells.size());
+        }
+
+        long executionTimeMs = (System.nanoTime() - startNanos) / 1_000_000;
+        SweepReport report = SweepReport.builder()
+                .testSuiteId(benchmarkConfig.getId())
+                .testSuiteName(benchmarkConfig.getName())
+                .productId(benchmarkConfig.getProductId())
+                .seed(seed)
+                .startTime(startTime)
+                .endTime(LocalDateTime.now())
+                .executionTimeMs(executionTimeMs)
+                .paramNames(List.copyOf(sweep.getParams().keySet()))
+                .warmupIterations(warmupIterations)
+                .cells(cells)
+                .build();
+        log.info("参数扫描完成: {} 格，耗时 {}ms", cells.size(), executionTimeMs);
+
+        if (sweep.getCsvFile() != null && !sweep.getCsvFile().isBlank()) {
+            writeCsv(report, Path.of(sweep.getCsvFile()));
+        }
+        return report;
+    }
+
+    /**
+     * 生成并执行一次，生成失败转为失败报告
+     */
+    private TestSuiteReport run(BenchmarkConfig cellConfig) {
+        TestSuite testSuite;
+        try {
+            testSuite = testSuiteGenerator.generateTestSuite(cellConfig);
+        } catch (Exception e) {
+            log.error("测试套件生成失败: {}", cellConfig.getName(), e);
+            return failedReport(cellConfig, e);
+        }
+        return testSuiteExecutor.execute(testSuite);
+    }
+
+    /**
+     * 第一次执行前不暂停
+     * @return 始终返回 false
+     */
+    private static boolean pause(boolean first, long pauseMs) throws InterruptedException {
+        if (!first && pauseMs > 0) {
+            Thread.sleep(pauseMs);
+        }
+        return false;
+    }
+
+    /**
+     * 按配置顺序展开笛卡尔积，靠前的参数变化最慢
+     */
+    static List<Map<String, Object>> crossProduct(Map<String, List<Object>> params) {
+        List<Map<String, Object>> combinations = new ArrayList<>();
+        combinations.add(new LinkedHashMap<>());
+        for (Map.Entry<String, List<Object>> param : params.entrySet()) {
+            List<Map<String, Object>> expanded = new ArrayList<>(combinations.size() * param.getValue().size());
+            for (Map<String, Object> combination : combinations) {
+                for (Object value : param.getValue()) {
+                    Map<String, Object> next = new LinkedHashMap<>(combination);
+                    next.put(param.getKey(), value);
+                    expanded.add(next);
+                }
+            }
+            combinations = expanded;
+        }
+        return combinations;
+    }
+
+    /**
+     * 展开单格配置并按加载规则验证，传输名称须已注册
+     * @throws IllegalArgumentException 参数无法应用到配置，或展开后的配置无效
+     */
+    private BenchmarkConfig validCellConfig(ObjectNode baseTree, Map<String, Object> params, long seed, int index) {
+        try {
+            BenchmarkConfig cellConfig = cellConfig(baseTree, params, seed, index);
+            configLoader.validateTestSuiteConfig(cellConfig);
+            BenchmarkConfig.ConnectionStorm storm = cellConfig.getConnectionStorm();
+            if (storm != null && storm.getProtocols() != null && !storm.getProtocols().isEmpty()) {
+                storm.getProtocols().forEach(transportRegistry::get);
+            } else {
+                transportRegistry.get(storm == null && cellConfig.getTransport() != null
+                        ? cellConfig.getTransport() : cellConfig.getProtocol());
+            }
+            return cellConfig;
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalArgumentException(String.format("扫描第 %d 格 %s 配置无效: %s",
+                    index, params, e.getMessage()), e);
+        }
+    }
+
+    /**
+     * 由基础配置树得到单格配置：同名字段直接覆盖，字符串中的占位符替换为取值
+     */
+    private static BenchmarkConfig cellConfig(ObjectNode baseTree, Map<String, Object> params, long seed, int index)
+            throws IOException {
+        ObjectNode tree = baseTree.deepCopy();
+        for (Map.Entry<String, Object> param : params.entrySet()) {
+            ObjectNode parent = parentOf(tree, param.getKey());
+            if (parent != null) {
+                parent.set(leafName(param.getKey()), OBJECT_MAPPER.valueToTree(param.getValue()));
+            }
+        }
+        BenchmarkConfig cellConfig = OBJECT_MAPPER.treeToValue(substitute(tree, params), BenchmarkConfig.class);
+        cellConfig.setSeed(seed);
+        cellConfig.setId(baseTree.path("id").asText() + "-cell" + index);
+        cellConfig.setName(baseTree.path("name").asText() + " " + params);
+        return cellConfig;
+    }
+
+    /**
+     * 参数名对应配置字段时返回字段所在的对象节点，否则返回 null
+     */
+    private static ObjectNode parentOf(ObjectNode tree, String name) {
+        String[] path = name.split("\\.");
+        JsonNode node = tree;
+        for (int i = 0; i < path.length - 1; i++) {
+            node = node.get(path[i]);
+            if (node == null || !node.isObject()) {
+                return null;
+            }
+        }
+        return node.has(path[path.length - 1]) ? (ObjectNode) node : null;
+    }
+
+    private static String leafName(String name) {
+        return name.substring(name.lastIndexOf('.') + 1);
+    }
+
+    /**
+     * 递归替换字符串中的 ${参数名}；字符串只有占位符时替换为带类型的取值
+     */
+    private static JsonNode substitute(JsonNode node, Map<String, Object> params) {
+        if (node.isTextual()) {
+            String text = node.asText();
+            if (!text.contains("${")) {
+                return node;
+            }
+            for (Map.Entry<String, Object> param : params.entrySet()) {
+                String placeholder = "${" + param.getKey() + "}";
+                if (text.equals(placeholder)) {
+                    return OBJECT_MAPPER.valueToTree(param.getValue());
+                }
+                text = text.replace(placeholder, String.valueOf(param.getValue()));
+            }
+            return TextNode.valueOf(text);
+        }
+        if (node.isObject()) {
+            ObjectNode object = (ObjectNode) node;
+            Iterator<Map.Entry<String, JsonNode>> fields = object.fields();
+            List<Map.Entry<String, JsonNode>> replaced = new ArrayList<>();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                JsonNode value = substitute(field.getValue(), params);
+                if (value != field.getValue()) {
+                    replaced.add(Map.entry(field.getKey(), value));
+                }
+            }
+            replaced.forEach(field -> object.set(field.getKey(), field.getValue()));
+        } else if (node.isArray()) {
+            ArrayNode array = (ArrayNode) node;
+            for (int i = 0; i < array.size(); i++) {
+                array.set(i, substitute(array.get(i), params));
+            }
+        }
+        return node;
+    }
+
+    /**
+     * 参数既不对应配置字段也没有出现在任何占位符中时，多半是拼写错误，直接报错
+     */
+    private static void checkParamsUsed(ObjectNode baseTree, Iterable<String> names) {
+        String text = baseTree.toString();
+        for (String name : names) {
+            if (parentOf(baseTree, name) == null && !text.contains("${" + name + "}")) {
+                throw new IllegalArgumentException("扫描参数 " + name + " 既不是配置字段，也没有对应的 ${" + name + "} 占位符");
+            }
+        }
+    }
+
+    private static SweepReport.Cell toCell(Map<String, Object> params, TestSuiteReport report) {
+        Map<String, Object> metrics = report.getMetrics() != null ? report.getMetrics() : Map.of();
+        return SweepReport.Cell.builder()
+                .params(params)
+                .status(report.getStatus())
+                .totalEventsSent(report.getTotalEventsSent())
+                .successfulEvents(report.getSuccessfulEvents())
+                .errorRate(report.getTotalEventsSent() > 0
+                        ? Math.round(report.getFailedEvents() * 10_000.0 / report.getTotalEventsSent()) / 10_000.0 : 0)
+                .timeouts((long) metric(metrics, "send.timeouts"))
+                .eventsPerSecond(metric(metrics, "send.eventsPerSecond"))
+                .latencyP50Ms(metric(metrics, "latency.p50Ms"))
+                .latencyP99Ms(metric(metrics, "latency.p99Ms"))
+                .latencyMaxMs(metric(metrics, "latency.maxMs"))
+                .reactionP50Ms(metric(metrics, "reaction.firstActionP50Ms"))
+                .reactionP99Ms(metric(metrics, "reaction.firstActionP99Ms"))
+                .matchScore(report.getMatchScore())
+                .executionTimeMs(report.getExecutionTimeMs())
+                .errorMessage(report.getErrorMessage())
+                .build();
+    }
+
+    private static double metric(Map<String, Object> metrics, String name) {
+        return metrics.get(name) instanceof Number number ? number.doubleValue() : 0;
+    }
+
+    private static TestSuiteReport failedReport(BenchmarkConfig benchmarkConfig, Exception e) {
+        LocalDateTime now = LocalDateTime.now();
+        return TestSuiteReport.builder()
+                .testSuiteId(benchmarkConfig.getId())
+                .testSuiteName(benchmarkConfig.getName())
+                .productId(benchmarkConfig.getProductId())
+                .status(TestSuiteReport.ExecutionStatus.FAILED)
+                .startTime(now)
+                .endTime(now)
+                .errorMessage(e.getMessage())
+                .matchScore(0.0)
+                .scoreLevel(TestSuiteReport.ScoreLevel.FAILED)
+                .passed(false)
+                .build();
+    }
+
+    /**
+     * 矩阵写入 CSV：参数列在前，指标列在后，每格一行
+     */
+    private static void writeCsv(SweepReport report, Path file) {
+        StringBuilder csv = new StringBuilder();
+        report.getParamNames().forEach(name -> csv.append(csvValue(name)).append(','));
+        csv.append("status,eventsSent,successfulEvents,errorRate,timeouts,eventsPerSecond,")
+                .append("latencyP50Ms,latencyP99Ms,latencyMaxMs,reactionP50Ms,reactionP99Ms,matchScore,executionTimeMs\n");
+        for (SweepReport.Cell cell : report.getCells()) {
+            report.getParamNames().forEach(name -> csv.append(csvValue(cell.getParams().get(name))).append(','));
+            csv.append(cell.getStatus()).append(',')
+                    .append(cell.getTotalEventsSent()).append(',')
+                    .append(cell.getSuccessfulEvents()).append(',')
+                    .append(cell.getErrorRate()).append(',')
+                    .append(cell.getTimeouts()).append(',')
+                    .append(cell.getEventsPerSecond()).append(',')
+                    .append(cell.getLatencyP50Ms()).append(',')
+                    .append(cell.getLatencyP99Ms()).append(',')
+                    .append(cell.getLatencyMaxMs()).append(',')
+                    .append(cell.getReactionP50Ms()).append(',')
+                    .append(cell.getReactionP99Ms()).append(',')
+                    .append(cell.getMatchScore()).append(',')
+                    .append(cell.getExecutionTimeMs()).append('\n');
+        }
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Files.writeString(file, csv, StandardCharsets.UTF_8);
+            log.info("扫描矩阵已写入: {}", file.toAbsolutePath());
+        } catch (IOException e) {
+            log.error("扫描矩阵写入失败: {}", file, e);
+        }
+    }
+
+    private static String csvValue(Object value) {
+        String text = String.valueOf(value);
+        return text.contains(",") || text.contains("\"") || text.contains("\n")
+                ? "\"" + text.replace("\"", "\"\"") + "\"" : text;
+    }
+}
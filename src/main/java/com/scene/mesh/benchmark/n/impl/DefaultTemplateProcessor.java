@@ -1,20 +1,26 @@
 package com.scene.mesh.benchmark.n.impl;
 
+import com.scene.mesh.benchmark.n.spec.ICompiledPayload;
+import com.scene.mesh.benchmark.n.spec.ICompiledTemplate;
 import com.scene.mesh.benchmark.n.spec.ITemplateEngine;
 import com.scene.mesh.benchmark.n.spec.ITemplateProcessor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 @Component
 public class DefaultTemplateProcessor implements ITemplateProcessor {
 
     private final ITemplateEngine templateEngine;
+    private final Map<String, ICompiledTemplate> compiledTemplates = new ConcurrentHashMap<>();
 
     @Autowired
     public DefaultTemplateProcessor(ITemplateEngine templateEngine) {
@@ -23,34 +29,22 @@ public class DefaultTemplateProcessor implements ITemplateProcessor {
 
     @Override
     public Map<String, Object> processDataTemplate(Map<String, Object> template) {
-        Map<String, Object> result = new HashMap<>();
-
-        for (Map.Entry<String, Object> entry : template.entrySet()) {
-            String key = entry.getKey();
-            Object value = entry.getValue();
-
-            if (value instanceof String) {
-                String stringValue = (String) value;
-                result.put(key, processStringTemplate(stringValue));
-            } else if (value instanceof Map) {
-                // 递归处理嵌套的 Map
-                @SuppressWarnings("unchecked")
-                Map<String, Object> nestedMap = (Map<String, Object>) value;
-                result.put(key, processDataTemplate(nestedMap));
-            } else {
-                result.put(key, value);
-            }
-        }
+        return compileDataTemplate(template).render();
+    }
 
-        return result;
+    @Override
+    public ICompiledPayload compileDataTemplate(Map<String, Object> template) {
+        PlanNode root = compileNode(template != null ? template : Collections.emptyMap());
+        return new CompiledPayload(root, countDynamicLeaves(root));
     }
 
     @Override
     public String processStringTemplate(String template) {
         // 尝试使用可用的模板引擎处理
         try {
-            String result = templateEngine.processTemplate(template, new HashMap<>());
-            if (!result.equals(template)) {
+            ICompiledTemplate compiled = compile(template);
+            if (!compiled.isConstant()) {
+                String result = compiled.render(Collections.emptyMap());
                 log.debug("处理模板: {} -> {}", template, result);
                 return result;
             }
@@ -60,4 +54,163 @@ public class DefaultTemplateProcessor implements ITemplateProcessor {
 
         return template;
     }
-}
\ No newline at end of file
+
+    @Override
+    public Object processValueTemplate(String template) {
+        try {
+            ICompiledTemplate compiled = compile(template);
+            if (!compiled.isConstant()) {
+                return compiled.evaluate(Collections.emptyMap());
+            }
+        } catch (Exception e) {
+            log.warn("处理模板失败: {}, 尝试下一个引擎", e.getMessage());
+        }
+
+        return template;
+    }
+
+    /**
+     * 编译模板树：不含表达式的子树在编译期转为只读对象共享，其余按 Map / List / 叶子节点展开
+     */
+    private PlanNode compileNode(Object value) {
+        if (value instanceof String stringValue) {
+            ICompiledTemplate compiled = compile(stringValue);
+            return compiled.isConstant() ? new StaticNode(stringValue) : new LeafNode(compiled);
+        }
+        if (value instanceof Map<?, ?> map) {
+            String[] keys = new String[map.size()];
+            PlanNode[] children = new PlanNode[map.size()];
+            boolean dynamic = false;
+            int i = 0;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                keys[i] = String.valueOf(entry.getKey());
+                children[i] = compileNode(entry.getValue());
+                dynamic |= !(children[i] instanceof StaticNode);
+                i++;
+            }
+            if (!dynamic) {
+                return new StaticNode(freeze(keys, children));
+            }
+            return new MapNode(keys, children);
+        }
+        if (value instanceof List<?> list) {
+            PlanNode[] children = new PlanNode[list.size()];
+            boolean dynamic = false;
+            for (int i = 0; i < children.length; i++) {
+                children[i] = compileNode(list.get(i));
+                dynamic |= !(children[i] instanceof StaticNode);
+            }
+            if (!dynamic) {
+                List<Object> frozen = new ArrayList<>(children.length);
+                for (PlanNode child : children) {
+                    frozen.add(((StaticNode) child).value());
+                }
+                return new StaticNode(Collections.unmodifiableList(frozen));
+            }
+            return new ListNode(children);
+        }
+        return new StaticNode(value);
+    }
+
+    private static Map<String, Object> freeze(String[] keys, PlanNode[] children) {
+        Map<String, Object> frozen = new HashMap<>(capacityFor(keys.length));
+        for (int i = 0; i < keys.length; i++) {
+            frozen.put(keys[i], ((StaticNode) children[i]).value());
+        }
+        return Collections.unmodifiableMap(frozen);
+    }
+
+    private static int countDynamicLeaves(PlanNode node) {
+        if (node instanceof LeafNode) {
+            return 1;
+        }
+        PlanNode[] children = node instanceof MapNode mapNode ? mapNode.children()
+                : node instanceof ListNode listNode ? listNode.children() : new PlanNode[0];
+        int count = 0;
+        for (PlanNode child : children) {
+            count += countDynamicLeaves(child);
+        }
+        return count;
+    }
+
+    /**
+     * 按负载因子 0.75 预估 HashMap 初始容量，避免渲染时扩容
+     */
+    private static int capacityFor(int size) {
+        return (int) (size / 0.75f) + 1;
+    }
+
+    /**
+     * 获取已编译模板，同一模板字符串只编译一次
+     */
+    private ICompiledTemplate compile(String template) {
+        return compiledTemplates.computeIfAbsent(template, templateEngine::compileTemplate);
+    }
+
+    /**
+     * payload 编译计划的节点
+     */
+    private interface PlanNode {
+        Object render();
+    }
+
+    private record StaticNode(Object value) implements PlanNode {
+        @Override
+        public Object render() {
+            return value;
+        }
+    }
+
+    private record LeafNode(ICompiledTemplate template) implements PlanNode {
+        @Override
+        public Object render() {
+            try {
+                return template.evaluate(Collections.emptyMap());
+            } catch (Exception e) {
+                log.warn("处理模板失败: {}, 保留原始模板", e.getMessage());
+                return template.getSource();
+            }
+        }
+    }
+
+    private record MapNode(String[] keys, PlanNode[] children) implements PlanNode {
+        @Override
+        public Map<String, Object> render() {
+            Map<String, Object> result = new HashMap<>(capacityFor(keys.length));
+            for (int i = 0; i < keys.length; i++) {
+                result.put(keys[i], children[i].render());
+            }
+            return result;
+        }
+    }
+
+    private record ListNode(PlanNode[] children) implements PlanNode {
+        @Override
+        public List<Object> render() {
+            List<Object> result = new ArrayList<>(children.length);
+            for (PlanNode child : children) {
+                result.add(child.render());
+            }
+            return result;
+        }
+    }
+
+    private record CompiledPayload(PlanNode root, int dynamicLeafCount) implements ICompiledPayload {
+        @Override
+        @SuppressWarnings("unchecked")
+        public Map<String, Object> render() {
+            // 静态模板直接返回共享的只读 Map
+            return (Map<String, Object>) root.render();
+        }
+
+        @Override
+        public boolean isStatic() {
+            return dynamicLeafCount == 0;
+        }
+
+        @Override
+        public int getDynamicLeafCount() {
+            return dynamicLeafCount;
+        }
+    }
+}
@@ -1,35 +1,54 @@
 package com.scene.mesh.benchmark.n.impl;
 
+import com.scene.mesh.benchmark.n.model.BenchmarkConfig;
+import com.scene.mesh.benchmark.n.model.LoadTarget;
 import com.scene.mesh.benchmark.n.model.TestSuite;
 import com.scene.mesh.benchmark.n.model.TestSuiteReport;
+import com.scene.mesh.benchmark.n.spec.IEventSource;
+import com.scene.mesh.benchmark.n.spec.ITerminalConnection;
+import com.scene.mesh.benchmark.n.spec.ITerminalTransport;
 import com.scene.mesh.benchmark.n.spec.ITestSuiteExecutor;
-import com.scene.mesh.sdk.client.TerminalClient;
-import com.scene.mesh.sdk.client.TerminalClientBuilder;
 import com.scene.mesh.sdk.model.TerminalAction;
 import com.scene.mesh.sdk.model.TerminalEvent;
-import com.scene.mesh.sdk.model.TerminalProtocolType;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Component
 public class DefaultTestSuiteExecutor implements ITestSuiteExecutor {
 
-    @Value("${scene-mesh.facade.url.mqtt}")
-    private String mqttUrl;
+    private static final int DEFAULT_MAX_IN_FLIGHT = 1;
+    private static final int DEFAULT_OPEN_LOOP_MAX_IN_FLIGHT = 10_000;
+    private static final long DEFAULT_SEND_TIMEOUT_MS = 3000L;
+    private static final long DEFAULT_REACTION_WINDOW_MS = 30_000L;
+    private static final long DEFAULT_WAITING_ACTIONS_MS = 20_000L;
+    private static final long DEFAULT_QUIET_PERIOD_MS = 2_000L;
+    private static final int DEFAULT_ACTION_QUEUE_CAPACITY = 65_536;
+    private static final long DEFAULT_LINGER_MS = 0L;
 
-    @Value("${scene-mesh.facade.url.websocket}")
-    private String webSocketUrl;
+    @Autowired
+    private FacadeEndpoints facadeEndpoints;
+
+    @Autowired
+    private TerminalTransportRegistry transportRegistry;
 
     @Override
     public TestSuiteReport execute(TestSuite testSuite) {
@@ -37,33 +56,42 @@ public class DefaultTestSuiteExecutor implements ITestSuiteExecutor {
 
         LocalDateTime startTime = LocalDateTime.now();
 
-        try {
-            // 1. 创建终端客户端连接
-            TerminalClient terminalClient = createTerminalClient(testSuite);
-            if (terminalClient == null) {
-                throw new RuntimeException("无法创建终端客户端连接");
-            }
+        if (testSuite.getConnectionStorm() != null) {
+            return executeConnectionStorm(testSuite, startTime);
+        }
 
-            // 2. 连接并设置动作收集器
-            terminalClient.connect();
-            SimpleActionCollector actionCollector = new SimpleActionCollector(testSuite.getId());
-            terminalClient.onAction(actionCollector::collectAction);
+        int queueCapacity = testSuite.getActionQueueCapacity() != null
+                ? testSuite.getActionQueueCapacity() : DEFAULT_ACTION_QUEUE_CAPACITY;
+        List<TerminalRun> runs = new ArrayList<>();
+        ConcurrentActionCollector actionCollector = new ConcurrentActionCollector(testSuite.getId(), queueCapacity);
+        try {
+            ITerminalTransport transport = resolveTransport(testSuite, testSuite.getProtocol());
 
-            // 3. 发送所有事件
-            List<String> sentEventIds = sendEvents(testSuite, terminalClient);
+            // 1. 各终端连接并发送事件，共享同一个事件源与动作收集器
+            SendResult sendResult = sendEvents(testSuite, transport, runs, actionCollector);
 
-            // 4. 等待收集动作
-            long waitTime = testSuite.getDurationOfWaitingActions() != null ?
-                    testSuite.getDurationOfWaitingActions() :  20000L; // 等待10秒收集动作
-            log.debug("等待 {}ms 收集动作...", waitTime);
-            Thread.sleep(waitTime);
+            // 2. 等待收集动作：期望动作全部收到且进入静默期后提前结束，最长等待 durationOfWaitingActions
+            //    不会收到动作的传输（空接收端）无需等待
+            if (transport.supportsActions()) {
+                awaitActions(testSuite, actionCollector, sendResult);
+            }
+            sendResult.metrics.put("facade.mode", facadeEndpoints.getMode());
+            sendResult.metrics.put("transport.name", transport.getName());
+            sendResult.metrics.putAll(facadeEndpoints.getLoopbackStats());
 
-            // 5. 获取收集到的动作
+            // 3. 断开终端，停止收集并排空交接队列，获取收集到的动作
+            closeConnections(runs);
+            actionCollector.close();
             List<TerminalAction> receivedActions = actionCollector.getReceivedActions();
+            sendResult.metrics.put("actions.duplicates", actionCollector.getDuplicates());
+            sendResult.metrics.put("actions.dropped", actionCollector.getDropped());
+            if (actionCollector.getDropped() > 0) {
+                log.warn("动作交接队列已满，丢弃 {} 个动作，可调大 actionQueueCapacity", actionCollector.getDropped());
+            }
             log.info("收集到 {} 个动作", receivedActions.size());
 
-            // 6. 构建执行报告
-            TestSuiteReport report = buildReport(testSuite, sentEventIds, receivedActions, startTime);
+            // 4. 构建执行报告
+            TestSuiteReport report = buildReport(testSuite, sendResult, receivedActions, startTime);
 
             log.info("测试套件执行完成: {} - 状态: {}, 分数: {:.2f}",
                     testSuite.getName(), report.getStatus(), report.getMatchScore());
@@ -72,15 +100,19 @@ public class DefaultTestSuiteExecutor implements ITestSuiteExecutor {
 
         } catch (Exception e) {
             log.error("测试套件执行失败: {}", testSuite.getName(), e);
+            closeConnections(runs);
+            actionCollector.close();
 
             return TestSuiteReport.builder()
                     .testSuiteId(testSuite.getId())
                     .testSuiteName(testSuite.getName())
                     .productId(testSuite.getProductId())
+                    .seed(testSuite.getSeed())
                     .status(TestSuiteReport.ExecutionStatus.FAILED)
                     .startTime(startTime)
                     .endTime(LocalDateTime.now())
                     .errorMessage(e.getMessage())
+                    .metrics(initMetrics(testSuite))
                     .matchScore(0.0)
                     .scoreLevel(TestSuiteReport.ScoreLevel.FAILED)
                     .passed(false)
@@ -89,86 +121,504 @@ public class DefaultTestSuiteExecutor implements ITestSuiteExecutor {
     }
 
     /**
-     * 创建终端客户端连接
+     * 连接风暴模式：只测试连接建立与断开重连，不发送事件
      */
-    private TerminalClient createTerminalClient(TestSuite testSuite) {
+    private TestSuiteReport executeConnectionStorm(TestSuite testSuite, LocalDateTime startTime) {
+        BenchmarkConfig.ConnectionStorm storm = testSuite.getConnectionStorm();
+        List<String> protocols = storm.getProtocols() != null && !storm.getProtocols().isEmpty()
+                ? storm.getProtocols() : List.of(testSuite.getProtocol());
+        log.info("开始连接风暴: 协议 {}，每协议 {} 个连接，并发上限 {}，爬坡 {}ms，重连 {} 轮", protocols,
+                storm.getConnections(), storm.getMaxConcurrentConnects(), storm.getRampMs(), storm.getReconnectCycles());
+
+        List<ConnectionStormRunner.CycleStats> cycles;
         try {
-            TerminalProtocolType protocolType;
-            String serverUrl;
-            // 确定协议类型和服务器URL
-            if ("MQTT".equals(testSuite.getProtocol())) {
-                protocolType = TerminalProtocolType.MQTT;
-                serverUrl = mqttUrl;
-
-            }else if ("WS".equals(testSuite.getProtocol())) {
-                protocolType = TerminalProtocolType.WEBSOCKET;
-                serverUrl = webSocketUrl;
-            }else {
-                throw new RuntimeException("Illegal protocol: " + testSuite.getProtocol());
-            }
+            ConnectionStormRunner runner = new ConnectionStormRunner(storm, (protocol, terminalIndex) ->
+                    transportRegistry.get(protocol).connect(testSuite,
+                            terminalId(testSuite, terminalIndex, storm.getConnections()), action -> {
+                            }));
+            cycles = runner.run(protocols);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cycles = List.of();
+        }
 
-            // 创建终端客户端
-            TerminalClient terminalClient = TerminalClientBuilder.builder()
-                    .productId(testSuite.getProductId())
-                    .terminalId("Test-" + testSuite.getProductId() + "-" + testSuite.getId())
-                    .secretKey(testSuite.getSecretKey())
-                    .protocol(protocolType)
-                    .protocolVersion("v1")
-                    .serverUrl(serverUrl)
-                    .build();
+        List<TestSuiteReport.ConnectionResult> connectionResults = new ArrayList<>(cycles.size());
+        int attempts = 0;
+        int connected = 0;
+        for (ConnectionStormRunner.CycleStats cycle : cycles) {
+            attempts += cycle.getAttempts();
+            connected += cycle.getConnected();
+            double seconds = cycle.getElapsedNanos() / 1_000_000_000.0;
+            LatencyHistogram latency = cycle.getLatency();
+            connectionResults.add(TestSuiteReport.ConnectionResult.builder()
+                    .protocol(cycle.getProtocol())
+                    .cycle(cycle.getCycle())
+                    .attempts(cycle.getAttempts())
+                    .connected(cycle.getConnected())
+                    .failures(cycle.getFailures())
+                    .authFailures(cycle.getAuthFailures())
+                    .durationMs(cycle.getElapsedNanos() / 1_000_000)
+                    .connectsPerSecond(seconds > 0 ? Math.round(cycle.getConnected() / seconds * 10) / 10.0 : 0)
+                    .latencyP50Ms(toMillis(latency.getValueAtPercentile(50)))
+                    .latencyP90Ms(toMillis(latency.getValueAtPercentile(90)))
+                    .latencyP99Ms(toMillis(latency.getValueAtPercentile(99)))
+                    .latencyMaxMs(toMillis(latency.getMax()))
+                    .maxQueueDelayMs(toMillis(cycle.getMaxQueueDelayNanos()))
+                    .firstError(cycle.getFirstError())
+                    .build());
+        }
 
-            return terminalClient;
+        Map<String, Object> metrics = initMetrics(testSuite);
+        metrics.put("storm.protocols", protocols);
+        metrics.put("storm.connections", storm.getConnections());
+        metrics.put("storm.cycles", cycles.size());
+        metrics.put("storm.attempts", attempts);
+        metrics.put("storm.connected", connected);
+
+        double score = attempts > 0 ? (double) connected / attempts : 0.0;
+        TestSuiteReport.ExecutionStatus status = connected == 0 ? TestSuiteReport.ExecutionStatus.FAILED
+                : connected < attempts ? TestSuiteReport.ExecutionStatus.PARTIAL_SUCCESS
+                : TestSuiteReport.ExecutionStatus.SUCCESS;
+        LocalDateTime endTime = LocalDateTime.now();
+        log.info("连接风暴完成: 成功 {}/{} 次连接", connected, attempts);
 
-        } catch (Exception e) {
-            log.error("创建终端客户端失败: {}", e.getMessage(), e);
-            return null;
+        return TestSuiteReport.builder()
+                .testSuiteId(testSuite.getId())
+                .testSuiteName(testSuite.getName())
+                .productId(testSuite.getProductId())
+                .seed(testSuite.getSeed())
+                .status(status)
+                .startTime(startTime)
+                .endTime(endTime)
+                .executionTimeMs(java.time.Duration.between(startTime, endTime).toMillis())
+                .matchScore(score)
+                .scoreLevel(determineScoreLevel(score))
+                .passed(status == TestSuiteReport.ExecutionStatus.SUCCESS)
+                .metrics(metrics)
+                .connectionResults(connectionResults)
+                .build();
+    }
+
+    /**
+     * 等待动作收集完成，并记录实际等待时间
+     */
+    private void awaitActions(TestSuite testSuite, ConcurrentActionCollector actionCollector, SendResult sendResult)
+            throws InterruptedException {
+        long maxWaitMs = testSuite.getDurationOfWaitingActions() != null
+                ? testSuite.getDurationOfWaitingActions() : DEFAULT_WAITING_ACTIONS_MS;
+        long quietPeriodMs = testSuite.getQuietPeriodMs() != null
+                ? testSuite.getQuietPeriodMs() : DEFAULT_QUIET_PERIOD_MS;
+        List<String> expectedActionIds = testSuite.getExpectedActionIds() != null
+                ? testSuite.getExpectedActionIds() : List.of();
+        log.debug("等待收集动作，最长 {}ms，静默期 {}ms...", maxWaitMs, quietPeriodMs);
+
+        long startNanos = System.nanoTime();
+        boolean completedEarly = actionCollector.awaitCompletion(expectedActionIds,
+                TimeUnit.MILLISECONDS.toNanos(quietPeriodMs), TimeUnit.MILLISECONDS.toNanos(maxWaitMs));
+        long waitedMs = (System.nanoTime() - startNanos) / 1_000_000;
+
+        sendResult.metrics.put("actions.waitMs", waitedMs);
+        sendResult.metrics.put("actions.completedEarly", completedEarly);
+        if (completedEarly) {
+            log.info("期望动作已全部收到且静默 {}ms，提前结束等待（实际等待 {}ms）", quietPeriodMs, waitedMs);
+        } else {
+            log.info("达到最长等待时间 {}ms，结束动作收集", maxWaitMs);
         }
     }
 
     /**
-     * 发送测试套件中的所有事件
+     * 选择终端传输：空接收端模式固定使用空接收端，否则优先使用配置的 transport，未配置时按协议选择
      */
-    private List<String> sendEvents(TestSuite testSuite, TerminalClient terminalClient) {
-        List<String> sentEventIds = new ArrayList<>();
+    private ITerminalTransport resolveTransport(TestSuite testSuite, String protocol) {
+        if (facadeEndpoints.isNullSink()) {
+            return transportRegistry.get(NullSinkTransport.NAME);
+        }
+        return transportRegistry.get(testSuite.getTransport() != null ? testSuite.getTransport() : protocol);
+    }
 
-        log.info("开始发送 {} 个事件", testSuite.getTerminalEvents().size());
+    /**
+     * 断开所有已连接的终端
+     */
+    private void closeConnections(List<TerminalRun> runs) {
+        for (TerminalRun run : runs) {
+            ITerminalConnection connection = run.connection;
+            if (connection != null) {
+                run.connection = null;
+                connection.close();
+            }
+        }
+    }
 
-        for (var event : testSuite.getTerminalEvents()) {
-            try {
-                // 发送事件到 Scene Mesh 服务端
-                TerminalEvent terminalEvent = new TerminalEvent(event.getType(), event.getPayload());
-                CompletableFuture<Boolean> sendFuture = terminalClient.sendEvent(terminalEvent);
-                Boolean sendResult = sendFuture.get(3000, TimeUnit.MILLISECONDS);
+    /**
+     * 终端ID：单终端保持原有格式，多终端追加序号
+     */
+    private String terminalId(TestSuite testSuite, int terminalIndex, int terminals) {
+        String baseId = "Test-" + testSuite.getProductId() + "-" + testSuite.getId();
+        return terminals == 1 ? baseId : baseId + "-" + terminalIndex;
+    }
+
+    /**
+     * 由所有终端发送测试套件中的事件
+     * 所有终端先并发完成连接，之后才开始计时并同时放行发送，连接耗时不计入发送吞吐，
+     * 先连上的终端也不会在其余终端连接期间抢先取走事件。
+     * 每个终端运行在独立的（虚拟）线程上，从共享事件源中取事件，最多 maxInFlight 个事件同时等待确认；
+     * 配置 targetRate 时按开环时间表发送，各终端平分速率并错开起始时刻；
+     * 配置 loadProfile 时由负载形状驱动器统一调度发送
+     */
+    private SendResult sendEvents(TestSuite testSuite, ITerminalTransport transport, List<TerminalRun> runs,
+                                  ConcurrentActionCollector actionCollector) throws Exception {
+        int terminals = testSuite.getTerminals() != null ? testSuite.getTerminals() : 1;
+        List<BenchmarkConfig.LoadPhase> loadProfile = testSuite.getLoadProfile();
+        boolean profiled = loadProfile != null && !loadProfile.isEmpty();
+        Double targetRate = profiled ? null : testSuite.getTargetRate();
+        boolean openLoop = targetRate != null || profiled;
+        int maxInFlight = testSuite.getMaxInFlight() != null ? testSuite.getMaxInFlight()
+                : openLoop ? DEFAULT_OPEN_LOOP_MAX_IN_FLIGHT : DEFAULT_MAX_IN_FLIGHT;
+        long timeoutMs = testSuite.getSendTimeoutMs() != null ? testSuite.getSendTimeoutMs() : DEFAULT_SEND_TIMEOUT_MS;
+        long reactionWindowMs = testSuite.getReactionWindowMs() != null
+                ? testSuite.getReactionWindowMs() : DEFAULT_REACTION_WINDOW_MS;
+        Batching batching = null;
+        if (testSuite.getBatchSize() != null) {
+            long lingerMs = testSuite.getLingerMs() != null ? testSuite.getLingerMs() : DEFAULT_LINGER_MS;
+            batching = new Batching(testSuite.getBatchSize(), lingerMs,
+                    Executors.newSingleThreadScheduledExecutor(VirtualThreads.namedDaemonFactory("batch-linger")),
+                    new BatchingEventSink.Stats());
+            if (maxInFlight < batching.batchSize()) {
+                log.warn("发送窗口 maxInFlight={} 小于 batchSize={}，批次无法攒满，只能在 linger 到期后发送",
+                        maxInFlight, batching.batchSize());
+            }
+        }
+        SendPlan plan = new SendPlan(terminals, maxInFlight, timeoutMs, targetRate, new LatencyHistogram(),
+                new ReactionTracker(reactionWindowMs), batching);
+
+        for (int i = 0; i < terminals; i++) {
+            runs.add(new TerminalRun(terminalId(testSuite, i, terminals)));
+        }
+
+        SendResult result = new SendResult();
+        result.reactions = plan.reactions();
+        long connectNanos;
+        long startNanos;
+        try (IEventSource eventSource = openEventSource(testSuite)) {
+            SharedEventCursor cursor = new SharedEventCursor(eventSource);
 
-                if (sendResult == null || !sendResult) {
-                    log.error("事件发送失败: {} - {}", event.getType(), event.getPayload());
+            ExecutorService executor = VirtualThreads.newPerTaskExecutor("terminal-" + testSuite.getId());
+            try {
+                // 1. 所有终端并发连接
+                long connectStartNanos = System.nanoTime();
+                List<Future<?>> futures = new ArrayList<>(terminals);
+                for (TerminalRun run : runs) {
+                    futures.add(executor.submit(() -> connectTerminal(testSuite, transport, run, actionCollector, plan)));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+                connectNanos = System.nanoTime() - connectStartNanos;
+
+                log.info("{}/{} 个终端连接完成，耗时 {}ms，开始发送 {} 个事件，每终端发送窗口 {}，{}",
+                        runs.stream().filter(run -> run.sender != null).count(), terminals, connectNanos / 1_000_000,
+                        eventSource.getTotalEvents(), maxInFlight,
+                        profiled ? "负载形状 " + loadProfile.size() + " 个阶段"
+                                : openLoop ? "开环目标速率 " + targetRate + " events/s" : "闭环发送");
+
+                // 2. 开始计时，已连接的终端同时开始发送
+                startNanos = System.nanoTime();
+                if (profiled) {
+                    result.phases = runLoadProfile(loadProfile, runs, cursor);
                 } else {
-                    sentEventIds.add(event.getId());
-                    log.debug("事件发送成功: {}", event.getId());
+                    CountDownLatch startGate = new CountDownLatch(1);
+                    futures.clear();
+                    for (int i = 0; i < terminals; i++) {
+                        TerminalRun run = runs.get(i);
+                        int terminalIndex = i;
+                        if (run.sender != null) {
+                            futures.add(executor.submit(() -> {
+                                startGate.await();
+                                sendFromTerminal(run, terminalIndex, cursor, plan);
+                                return null;
+                            }));
+                        }
+                    }
+                    startGate.countDown();
+                    for (Future<?> future : futures) {
+                        future.get();
+                    }
                 }
+            } finally {
+                executor.shutdown();
+            }
+        } finally {
+            if (batching != null) {
+                batching.scheduler().shutdown();
+            }
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+
+        List<TerminalRun> connected = runs.stream().filter(run -> run.sender != null).toList();
+        if (connected.isEmpty()) {
+            throw new RuntimeException("所有终端连接失败: " + runs.get(0).errorMessage);
+        }
+
+        int timeouts = 0;
+        int failures = 0;
+        int peakInFlight = 0;
+        long maxLagNanos = 0;
+        for (TerminalRun run : connected) {
+            result.total += run.sender.getSubmitted();
+            result.successful += run.sender.getSuccessful();
+            timeouts += run.sender.getTimedOut();
+            failures += run.sender.getFailed();
+            peakInFlight = Math.max(peakInFlight, run.sender.getMaxObservedInFlight());
+            if (run.schedule != null) {
+                maxLagNanos = Math.max(maxLagNanos, run.schedule.getMaxLagNanos());
+            }
+        }
+        result.terminals = runs;
+        result.metrics.put("terminals.count", terminals);
+        result.metrics.put("terminals.connected", connected.size());
+        result.metrics.put("terminals.connectTimeMs", connectNanos / 1_000_000);
+        result.metrics.put("send.mode", profiled ? "load-profile" : openLoop ? "open-loop" : "closed-loop");
+        // 负载形状模式的速率由各阶段决定，只有固定 targetRate 时才有目标速率与时间表滞后
+        if (targetRate != null) {
+            result.metrics.put("send.targetRate", targetRate);
+            result.metrics.put("send.maxScheduleLagMs", maxLagNanos / 1_000_000);
+        }
+        result.metrics.put("send.maxInFlight", maxInFlight);
+        result.metrics.put("send.peakInFlight", peakInFlight);
+        result.metrics.put("send.timeouts", timeouts);
+        result.metrics.put("send.failures", failures);
+        result.metrics.put("send.timeMs", elapsedNanos / 1_000_000);
+        result.metrics.put("send.eventsPerSecond",
+                elapsedNanos > 0 ? Math.round(result.total * 1_000_000_000.0 / elapsedNanos) : 0L);
+        if (batching != null) {
+            BatchingEventSink.Stats batchStats = batching.stats();
+            result.metrics.put("batch.size", batching.batchSize());
+            result.metrics.put("batch.lingerMs", batching.lingerMs());
+            result.metrics.put("batch.count", batchStats.getBatches());
+            result.metrics.put("batch.fullBatches", batchStats.getFullBatches());
+            result.metrics.put("batch.avgSize", batchStats.getAverageBatch());
+            result.metrics.put("batch.maxSize", batchStats.getMaxBatch());
+        }
+        putLatencyMetrics(result.metrics, plan.latency());
+
+        log.info("事件发送完成，{}/{} 个终端连接成功，成功发送 {}/{} 个事件，超时 {} 个，耗时 {}ms",
+                connected.size(), terminals, result.successful, result.total, timeouts, elapsedNanos / 1_000_000);
+        return result;
+    }
+
+    /**
+     * 单个终端：通过传输建立连接（同时注册动作回调）并创建发送器
+     * @return 连接成功返回 true
+     */
+    private boolean connectTerminal(TestSuite testSuite, ITerminalTransport transport, TerminalRun run,
+                                    ConcurrentActionCollector actionCollector, SendPlan plan) {
+        try {
+            ReactionTracker.Track track = plan.reactions().newTrack();
+            ITerminalConnection connection = transport.connect(testSuite, run.terminalId, action -> {
+                run.actionsReceived.incrementAndGet();
+                actionCollector.offer(action, track);
+            });
+            run.connection = connection;
+            PipelinedSender.EventSink eventSink = connection::sendEvent;
+            Batching batching = plan.batching();
+            if (batching != null) {
+                run.batchSink = new BatchingEventSink(connection, batching.batchSize(), batching.lingerMs(),
+                        batching.scheduler(), batching.stats());
+                eventSink = run.batchSink;
+            }
+            run.sender = new PipelinedSender(eventSink, plan.maxInFlight(), plan.timeoutMs(), plan.latency());
+            run.sender.setSendObserver(track);
+            return true;
+        } catch (Exception e) {
+            log.error("终端 {} 连接失败: {}", run.terminalId, e.getMessage());
+            run.errorMessage = e.getMessage();
+            return false;
+        }
+    }
 
-            } catch (Exception e) {
-                log.error("事件发送异常: {}", event.getId(), e);
+    /**
+     * 单个终端：从共享事件源取事件发送直到耗尽
+     */
+    private void sendFromTerminal(TerminalRun run, int terminalIndex, SharedEventCursor cursor, SendPlan plan) {
+        PipelinedSender sender = run.sender;
+        try {
+            // 时间表在连接完成后开始计时，连接耗时不计入发送滞后
+            OpenLoopSchedule schedule = plan.targetRate() != null ? newSchedule(plan, terminalIndex) : null;
+            run.schedule = schedule;
+            TerminalEvent event;
+            while ((event = cursor.next()) != null) {
+                TerminalEvent terminalEvent = new TerminalEvent(event.getType(), event.getPayload());
+                if (schedule != null) {
+                    sender.send(terminalEvent, schedule.awaitNext());
+                } else {
+                    sender.send(terminalEvent);
+                }
             }
+            flushBatch(run);
+            sender.awaitCompletion();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            run.errorMessage = "发送被中断";
+        } catch (Exception e) {
+            log.error("终端 {} 执行失败: {}", run.terminalId, e.getMessage());
+            run.errorMessage = e.getMessage();
+        }
+    }
+
+    /**
+     * 事件发送完毕后立即发出未攒满的批次，不再等待 linger 到期
+     */
+    private void flushBatch(TerminalRun run) {
+        if (run.batchSink != null) {
+            run.batchSink.flush();
+        }
+    }
+
+    /**
+     * 由负载形状驱动器按阶段向已连接的终端分发事件，返回前等待所有确认完成
+     */
+    private List<LoadProfileDriver.PhaseStats> runLoadProfile(List<BenchmarkConfig.LoadPhase> loadProfile,
+                                                              List<TerminalRun> runs, SharedEventCursor cursor)
+            throws InterruptedException {
+        List<PipelinedSender> senders = runs.stream()
+                .map(run -> run.sender)
+                .filter(Objects::nonNull)
+                .toList();
+        if (senders.isEmpty()) {
+            return new ArrayList<>();
+        }
+        LoadProfileDriver driver = new LoadProfileDriver(loadProfile, senders, () -> {
+            TerminalEvent event = cursor.next();
+            return event != null ? new TerminalEvent(event.getType(), event.getPayload()) : null;
+        });
+        List<LoadProfileDriver.PhaseStats> phases = driver.run();
+        runs.forEach(this::flushBatch);
+        for (PipelinedSender sender : senders) {
+            sender.awaitCompletion();
+        }
+        return phases;
+    }
+
+    /**
+     * 将收到的动作归属到事件，按事件类型汇总反应延迟；所有类型合并后的首个动作延迟写入指标
+     */
+    private List<TestSuiteReport.ReactionResult> buildReactionResults(SendResult sendResult) {
+        List<TestSuiteReport.ReactionResult> reactionResults = new ArrayList<>();
+        LatencyHistogram overall = new LatencyHistogram();
+        int events = 0;
+        int reactedEvents = 0;
+        for (ReactionTracker.ReactionStats stats : sendResult.reactions.correlate().values()) {
+            LatencyHistogram first = stats.getFirstAction();
+            LatencyHistogram last = stats.getLastAction();
+            overall.add(first);
+            events += stats.getEvents();
+            reactedEvents += stats.getReactedEvents();
+            reactionResults.add(TestSuiteReport.ReactionResult.builder()
+                    .eventType(stats.getEventType())
+                    .events(stats.getEvents())
+                    .reactedEvents(stats.getReactedEvents())
+                    .actions(stats.getActions())
+                    .firstActionP50Ms(toMillis(first.getValueAtPercentile(50)))
+                    .firstActionP90Ms(toMillis(first.getValueAtPercentile(90)))
+                    .firstActionP99Ms(toMillis(first.getValueAtPercentile(99)))
+                    .firstActionMaxMs(toMillis(first.getMax()))
+                    .lastActionP50Ms(toMillis(last.getValueAtPercentile(50)))
+                    .lastActionP99Ms(toMillis(last.getValueAtPercentile(99)))
+                    .lastActionMaxMs(toMillis(last.getMax()))
+                    .build());
+        }
+        if (events > 0) {
+            sendResult.metrics.put("reaction.reactedRatio", Math.round(reactedEvents * 10_000.0 / events) / 10_000.0);
+            sendResult.metrics.put("reaction.firstActionP50Ms", toMillis(overall.getValueAtPercentile(50)));
+            sendResult.metrics.put("reaction.firstActionP99Ms", toMillis(overall.getValueAtPercentile(99)));
+        }
+        return reactionResults;
+    }
+
+    /**
+     * 汇总各负载阶段的执行结果
+     */
+    private List<TestSuiteReport.PhaseResult> buildPhaseResults(SendResult sendResult) {
+        if (sendResult.phases == null) {
+            return null;
+        }
+        List<TestSuiteReport.PhaseResult> phaseResults = new ArrayList<>(sendResult.phases.size());
+        for (LoadProfileDriver.PhaseStats stats : sendResult.phases) {
+            BenchmarkConfig.LoadPhase phase = stats.getPhase();
+            LatencyHistogram latency = stats.getLatency();
+            long elapsedNanos = stats.getElapsedNanos();
+            phaseResults.add(TestSuiteReport.PhaseResult.builder()
+                    .name(phase.getName())
+                    .shape(String.valueOf(phase.getShape()))
+                    .target(String.valueOf(phase.getTarget() != null ? phase.getTarget() : LoadTarget.RATE))
+                    .plannedDurationMs(phase.getDurationMs())
+                    .actualDurationMs(elapsedNanos / 1_000_000)
+                    .eventsSent(stats.getSent())
+                    .successfulEvents(stats.getSuccessful())
+                    .failedEvents(stats.getFailed())
+                    .timeouts(stats.getTimedOut())
+                    .throughput(elapsedNanos > 0
+                            ? Math.round(stats.getSuccessful() * 10_000_000_000.0 / elapsedNanos) / 10.0 : 0)
+                    .latencyP50Ms(toMillis(latency.getValueAtPercentile(50)))
+                    .latencyP99Ms(toMillis(latency.getValueAtPercentile(99)))
+                    .latencyMaxMs(toMillis(latency.getMax()))
+                    .build());
+        }
+        return phaseResults;
+    }
+
+    /**
+     * 单个终端的开环时间表：平分目标速率，起始时刻按终端序号错开，使合计发送均匀分布
+     */
+    private OpenLoopSchedule newSchedule(SendPlan plan, int terminalIndex) {
+        double perTerminalRate = plan.targetRate() / plan.terminals();
+        long offsetNanos = Math.round(1_000_000_000.0 / perTerminalRate * terminalIndex / plan.terminals());
+        return new OpenLoopSchedule(perTerminalRate, offsetNanos);
+    }
+
+    /**
+     * 将延迟分布写入指标（毫秒）
+     */
+    private void putLatencyMetrics(Map<String, Object> metrics, LatencyHistogram latency) {
+        if (latency.getCount() == 0) {
+            return;
         }
+        metrics.put("latency.count", latency.getCount());
+        metrics.put("latency.meanMs", toMillis(Math.round(latency.getMean())));
+        metrics.put("latency.p50Ms", toMillis(latency.getValueAtPercentile(50)));
+        metrics.put("latency.p90Ms", toMillis(latency.getValueAtPercentile(90)));
+        metrics.put("latency.p99Ms", toMillis(latency.getValueAtPercentile(99)));
+        metrics.put("latency.p999Ms", toMillis(latency.getValueAtPercentile(99.9)));
+        metrics.put("latency.maxMs", toMillis(latency.getMax()));
+    }
 
-        log.info("事件发送完成，成功发送 {}/{} 个事件", sentEventIds.size(), testSuite.getTerminalEvents().size());
-        return sentEventIds;
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+
+    /**
+     * 打开测试套件的事件源，流式模式直接使用生成器提供的事件源
+     */
+    private IEventSource openEventSource(TestSuite testSuite) {
+        if (testSuite.getEventSource() != null) {
+            return testSuite.getEventSource();
+        }
+        return new ListEventSource(testSuite.getTerminalEvents());
     }
 
     /**
      * 构建执行报告
      */
     private TestSuiteReport buildReport(TestSuite testSuite,
-                                        List<String> sentEventIds,
+                                        SendResult sendResult,
                                         List<TerminalAction> receivedActions,
                                         LocalDateTime startTime) {
         LocalDateTime endTime = LocalDateTime.now();
         long executionTimeMs = java.time.Duration.between(startTime, endTime).toMillis();
 
         // 事件统计
-        int totalEventsSent = testSuite.getTerminalEvents().size();
-        int successfulEvents = sentEventIds.size();
+        int totalEventsSent = sendResult.total;
+        int successfulEvents = sendResult.successful;
         int failedEvents = totalEventsSent - successfulEvents;
 
         // 动作匹配分析
@@ -203,10 +653,14 @@ public class DefaultTestSuiteExecutor implements ITestSuiteExecutor {
         TestSuiteReport.ExecutionStatus status = determineExecutionStatus(
                 totalEventsSent, successfulEvents, matchScore);
 
+        // 反应延迟汇总会写入指标，需在汇总指标前计算
+        List<TestSuiteReport.ReactionResult> reactionResults = buildReactionResults(sendResult);
+
         return TestSuiteReport.builder()
                 .testSuiteId(testSuite.getId())
                 .testSuiteName(testSuite.getName())
                 .productId(testSuite.getProductId())
+                .seed(testSuite.getSeed())
                 .status(status)
                 .startTime(startTime)
                 .endTime(endTime)
@@ -222,9 +676,50 @@ public class DefaultTestSuiteExecutor implements ITestSuiteExecutor {
                 .matchScore(matchScore)
                 .scoreLevel(scoreLevel)
                 .passed(matchScore >= 0.75) // 默认阈值
+                .metrics(reportMetrics(testSuite, sendResult))
+                .terminalResults(buildTerminalResults(sendResult))
+                .phaseResults(buildPhaseResults(sendResult))
+                .reactionResults(reactionResults)
                 .build();
     }
 
+    /**
+     * 汇总各终端的执行结果
+     */
+    private List<TestSuiteReport.TerminalResult> buildTerminalResults(SendResult sendResult) {
+        List<TestSuiteReport.TerminalResult> terminalResults = new ArrayList<>(sendResult.terminals.size());
+        for (TerminalRun run : sendResult.terminals) {
+            PipelinedSender sender = run.sender;
+            terminalResults.add(TestSuiteReport.TerminalResult.builder()
+                    .terminalId(run.terminalId)
+                    .connected(sender != null)
+                    .eventsSent(sender != null ? sender.getSubmitted() : 0)
+                    .successfulEvents(sender != null ? sender.getSuccessful() : 0)
+                    .timeouts(sender != null ? sender.getTimedOut() : 0)
+                    .actionsReceived(run.actionsReceived.get())
+                    .errorMessage(run.errorMessage)
+                    .build());
+        }
+        return terminalResults;
+    }
+
+    private Map<String, Object> reportMetrics(TestSuite testSuite, SendResult sendResult) {
+        Map<String, Object> metrics = initMetrics(testSuite);
+        metrics.putAll(sendResult.metrics);
+        return metrics;
+    }
+
+    /**
+     * 初始化报告指标，带上生成阶段的指标
+     */
+    private Map<String, Object> initMetrics(TestSuite testSuite) {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        if (testSuite.getGenerationMetrics() != null) {
+            metrics.putAll(testSuite.getGenerationMetrics());
+        }
+        return metrics;
+    }
+
     /**
      * 计算匹配分数
      * 分数 = 匹配的动作数 / 期望的动作数
@@ -265,36 +760,60 @@ public class DefaultTestSuiteExecutor implements ITestSuiteExecutor {
     }
 
     /**
-     * 简化的动作收集器，用于收集测试套件的所有动作
+     * 事件发送结果统计
      */
-    private static class SimpleActionCollector {
-        private final String testSuiteId;
-        private final List<TerminalAction> receivedActions = new ArrayList<>();
-        private final Set<String> collectedActionIds = new HashSet<>();
+    private static class SendResult {
+        private int total;
+        private int successful;
+        private List<TerminalRun> terminals = new ArrayList<>();
+        private List<LoadProfileDriver.PhaseStats> phases;
+        private ReactionTracker reactions;
+        private final Map<String, Object> metrics = new LinkedHashMap<>();
+    }
 
-        public SimpleActionCollector(String testSuiteId) {
-            this.testSuiteId = testSuiteId;
-        }
+    /**
+     * 发送参数，所有终端共享同一个延迟直方图与反应延迟追踪
+     */
+    private record SendPlan(int terminals, int maxInFlight, long timeoutMs, Double targetRate,
+                            LatencyHistogram latency, ReactionTracker reactions, Batching batching) {
+    }
 
-        public void collectAction(TerminalAction action) {
-            // 避免重复收集
-            if (collectedActionIds.contains(action.getId())) {
-                log.debug("测试套件 {} 忽略重复动作: {}", testSuiteId, action.getId());
-                return;
-            }
+    /**
+     * 批量发送参数，所有终端共享 linger 调度器与批次统计
+     */
+    private record Batching(int batchSize, long lingerMs, ScheduledExecutorService scheduler,
+                            BatchingEventSink.Stats stats) {
+    }
 
-            receivedActions.add(action);
-            collectedActionIds.add(action.getId());
-            log.debug("测试套件 {} 收集到动作: {} (时间戳: {})",
-                    testSuiteId, action, action.getReceivedTimestamp());
+    /**
+     * 单个终端的运行状态，连接保持到动作收集结束
+     */
+    private static class TerminalRun {
+        private final String terminalId;
+        private final AtomicInteger actionsReceived = new AtomicInteger();
+        private volatile ITerminalConnection connection;
+        private volatile BatchingEventSink batchSink;
+        private volatile PipelinedSender sender;
+        private volatile OpenLoopSchedule schedule;
+        private volatile String errorMessage;
+
+        TerminalRun(String terminalId) {
+            this.terminalId = terminalId;
         }
+    }
+
+    /**
+     * 多个终端共享的事件游标，事件源耗尽时返回 null
+     */
+    private static class SharedEventCursor {
+        private final IEventSource eventSource;
 
-        public List<TerminalAction> getReceivedActions() {
-            return new ArrayList<>(receivedActions);
+        SharedEventCursor(IEventSource eventSource) {
+            this.eventSource = eventSource;
         }
 
-        public String getTestSuiteId() {
-            return testSuiteId;
+        synchronized TerminalEvent next() {
+            return eventSource.hasNext() ? eventSource.next() : null;
         }
     }
-}
\ No newline at end of file
+}
@@ -1,7 +1,11 @@
 package com.scene.mesh.benchmark.n.impl;
 
 import com.scene.mesh.benchmark.n.model.BenchmarkConfig;
+import com.scene.mesh.benchmark.n.model.PayloadSelection;
 import com.scene.mesh.benchmark.n.model.TestSuite;
+import com.scene.mesh.benchmark.n.spec.ICompiledPayload;
+import com.scene.mesh.benchmark.n.spec.IEventSource;
+import com.scene.mesh.benchmark.n.spec.IRandomSource;
 import com.scene.mesh.benchmark.n.spec.ITemplateProcessor;
 import com.scene.mesh.benchmark.n.spec.ITestSuiteGenerator;
 import com.scene.mesh.sdk.model.TerminalEvent;
@@ -9,21 +13,35 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @Slf4j
 @Component
 public class DefaultTestSuiteGenerator implements ITestSuiteGenerator {
 
+    /**
+     * 模板事件按固定大小分块生成，每块使用独立派生的随机流，
+     * 因此生成结果与并行度、线程数无关
+     */
+    static final int GENERATION_CHUNK_SIZE = 4096;
+
     private final ITemplateProcessor templateProcessor;
-    private final Random random = new Random();
+    private final IRandomSource randomSource;
 
     @Autowired
-    public DefaultTestSuiteGenerator(ITemplateProcessor templateProcessor) {
+    public DefaultTestSuiteGenerator(ITemplateProcessor templateProcessor, IRandomSource randomSource) {
         this.templateProcessor = templateProcessor;
+        this.randomSource = randomSource;
     }
 
     @Override
@@ -38,24 +56,135 @@ public class DefaultTestSuiteGenerator implements ITestSuiteGenerator {
         testSuite.setProductId(benchmarkConfig.getProductId());
         testSuite.setSecretKey(benchmarkConfig.getSecretKey());
         testSuite.setProtocol(benchmarkConfig.getProtocol());
+        testSuite.setTransport(benchmarkConfig.getTransport());
         testSuite.setDurationOfWaitingActions(benchmarkConfig.getDurationOfWaitingActions());
+        testSuite.setQuietPeriodMs(benchmarkConfig.getQuietPeriodMs());
+        testSuite.setActionQueueCapacity(benchmarkConfig.getActionQueueCapacity());
+        testSuite.setReactionWindowMs(benchmarkConfig.getReactionWindowMs());
+        testSuite.setTerminals(benchmarkConfig.getTerminals());
+        testSuite.setTargetRate(benchmarkConfig.getTargetRate());
+        testSuite.setLoadProfile(benchmarkConfig.getLoadProfile());
+        testSuite.setConnectionStorm(benchmarkConfig.getConnectionStorm());
+        testSuite.setMaxInFlight(benchmarkConfig.getMaxInFlight());
+        testSuite.setSendTimeoutMs(benchmarkConfig.getSendTimeoutMs());
+        testSuite.setBatchSize(benchmarkConfig.getBatchSize());
+        testSuite.setLingerMs(benchmarkConfig.getLingerMs());
         testSuite.setExpectedActionIds(benchmarkConfig.getExpectedActionIds());
 
+        // 确定主种子，记录下来以便复现
+        long seed = benchmarkConfig.getSeed() != null ? benchmarkConfig.getSeed() : randomSource.newMasterSeed();
+        testSuite.setSeed(seed);
+        log.info("测试套件随机种子: {}", seed);
+
+        // 语料模式：相同配置与种子的事件只生成一次，之后内存映射回放
+        if (benchmarkConfig.getCorpusDir() != null) {
+            if (benchmarkConfig.getSeed() == null) {
+                log.warn("未指定随机种子，事件语料无法复用，忽略 corpusDir 配置");
+            } else {
+                loadCorpus(benchmarkConfig, seed, testSuite);
+                return testSuite;
+            }
+        }
+
+        // 流式模式：事件在发送时按需生成
+        if (Boolean.TRUE.equals(benchmarkConfig.getStreamingGeneration())) {
+            IEventSource eventSource = generateEventSource(benchmarkConfig, seed);
+            testSuite.setEventSource(eventSource);
+            Map<String, Object> metrics = new LinkedHashMap<>();
+            metrics.put("generation.events", eventSource.getTotalEvents());
+            metrics.put("generation.streaming", true);
+            testSuite.setGenerationMetrics(metrics);
+            log.info("测试套件生成完成（流式），共 {} 个终端事件将在发送时生成", eventSource.getTotalEvents());
+            return testSuite;
+        }
+
         // 转换事件组为终端事件列表
-        List<TerminalEvent> terminalEvents = convertEventGroupsToTerminalEvents(benchmarkConfig.getEventGroups());
+        boolean parallel = Boolean.TRUE.equals(benchmarkConfig.getParallelGeneration());
+        long startNanos = System.nanoTime();
+        List<TerminalEvent> terminalEvents = convertEventGroupsToTerminalEvents(benchmarkConfig.getEventGroups(), seed, parallel);
+        long elapsedNanos = System.nanoTime() - startNanos;
         testSuite.setTerminalEvents(terminalEvents);
+        testSuite.setGenerationMetrics(buildGenerationMetrics(terminalEvents.size(), elapsedNanos, parallel));
 
-        log.info("测试套件生成完成，包含 {} 个终端事件", terminalEvents.size());
-        terminalEvents.forEach(terminalEvent -> {
-           log.debug(terminalEvent.toString());
-        });
+        log.info("测试套件生成完成，包含 {} 个终端事件，耗时 {}ms，吞吐 {} events/s",
+                terminalEvents.size(), elapsedNanos / 1_000_000,
+                testSuite.getGenerationMetrics().get("generation.eventsPerSecond"));
+        if (log.isDebugEnabled()) {
+            terminalEvents.forEach(terminalEvent -> log.debug(terminalEvent.toString()));
+        }
         return testSuite;
     }
 
+    @Override
+    public IEventSource generateEventSource(BenchmarkConfig benchmarkConfig, long seed) {
+        List<Supplier<List<TerminalEvent>>> chunkTasks = new ArrayList<>();
+        long totalEvents = 0;
+
+        List<BenchmarkConfig.EventGroup> eventGroups = benchmarkConfig.getEventGroups();
+        if (eventGroups == null || eventGroups.isEmpty()) {
+            log.warn("事件组列表为空");
+        } else {
+            for (int groupIndex = 0; groupIndex < eventGroups.size(); groupIndex++) {
+                BenchmarkConfig.EventGroup eventGroup = eventGroups.get(groupIndex);
+                long groupSeed = randomSource.derive(seed, groupIndex).nextLong();
+                if (eventGroup.isAutoGenerate()) {
+                    if (eventGroup.getEventTemplate() == null) {
+                        log.error("事件组 {} 缺少事件模板", eventGroup.getGroupId());
+                        continue;
+                    }
+                    chunkTasks.addAll(planTemplateChunks(eventGroup, groupSeed));
+                    totalEvents += eventCount(eventGroup);
+                } else {
+                    List<TerminalEvent> inputEvents = convertInputEventsToTerminalEvents(eventGroup.getInputEvents());
+                    chunkTasks.add(() -> inputEvents);
+                    totalEvents += inputEvents.size();
+                }
+            }
+        }
+
+        int prefetchChunks = benchmarkConfig.getStreamPrefetchChunks() != null
+                ? benchmarkConfig.getStreamPrefetchChunks()
+                : Runtime.getRuntime().availableProcessors() * 2;
+        return new StreamingEventSource(chunkTasks, totalEvents, prefetchChunks, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 打开事件语料，不存在或指纹不符时先生成并写入
+     */
+    private void loadCorpus(BenchmarkConfig benchmarkConfig, long seed, TestSuite testSuite) {
+        byte[] fingerprint = EventCorpus.fingerprint(benchmarkConfig, seed);
+        Path corpusFile = EventCorpus.corpusFile(benchmarkConfig.getCorpusDir(), benchmarkConfig.getId(), fingerprint);
+
+        long startNanos = System.nanoTime();
+        EventCorpus.Header header = EventCorpus.readHeader(corpusFile);
+        boolean hit = header != null && header.seed() == seed && Arrays.equals(header.fingerprint(), fingerprint);
+        if (hit) {
+            log.info("复用事件语料: {}", corpusFile);
+        } else {
+            log.info("事件语料不存在或已过期，开始生成: {}", corpusFile);
+            try (IEventSource eventSource = generateEventSource(benchmarkConfig, seed)) {
+                EventCorpus.write(corpusFile, seed, fingerprint, eventSource);
+            }
+        }
+
+        MappedCorpusEventSource eventSource = new MappedCorpusEventSource(corpusFile);
+        long elapsedNanos = System.nanoTime() - startNanos;
+        testSuite.setEventSource(eventSource);
+
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("generation.events", eventSource.getTotalEvents());
+        metrics.put("generation.timeMs", elapsedNanos / 1_000_000);
+        metrics.put("corpus.path", corpusFile.toString());
+        metrics.put("corpus.hit", hit);
+        testSuite.setGenerationMetrics(metrics);
+        log.info("测试套件生成完成（语料），共 {} 个终端事件，耗时 {}ms", eventSource.getTotalEvents(), elapsedNanos / 1_000_000);
+    }
+
     /**
      * 将事件组转换为终端事件列表
      */
-    private List<TerminalEvent> convertEventGroupsToTerminalEvents(List<BenchmarkConfig.EventGroup> eventGroups) {
+    private List<TerminalEvent> convertEventGroupsToTerminalEvents(List<BenchmarkConfig.EventGroup> eventGroups,
+                                                                   long seed, boolean parallel) {
         List<TerminalEvent> terminalEvents = new ArrayList<>();
 
         if (eventGroups == null || eventGroups.isEmpty()) {
@@ -63,8 +192,11 @@ public class DefaultTestSuiteGenerator implements ITestSuiteGenerator {
             return terminalEvents;
         }
 
-        for (BenchmarkConfig.EventGroup eventGroup : eventGroups) {
-            List<TerminalEvent> groupEvents = convertEventGroupToTerminalEvents(eventGroup);
+        for (int groupIndex = 0; groupIndex < eventGroups.size(); groupIndex++) {
+            BenchmarkConfig.EventGroup eventGroup = eventGroups.get(groupIndex);
+            // 每个事件组使用由主种子派生的独立种子，结果与执行线程无关
+            long groupSeed = randomSource.derive(seed, groupIndex).nextLong();
+            List<TerminalEvent> groupEvents = convertEventGroupToTerminalEvents(eventGroup, groupSeed, parallel);
             terminalEvents.addAll(groupEvents);
         }
 
@@ -74,12 +206,13 @@ public class DefaultTestSuiteGenerator implements ITestSuiteGenerator {
     /**
      * 将单个事件组转换为终端事件列表
      */
-    private List<TerminalEvent> convertEventGroupToTerminalEvents(BenchmarkConfig.EventGroup eventGroup) {
+    private List<TerminalEvent> convertEventGroupToTerminalEvents(BenchmarkConfig.EventGroup eventGroup,
+                                                                  long groupSeed, boolean parallel) {
         List<TerminalEvent> terminalEvents = new ArrayList<>();
 
         if (eventGroup.isAutoGenerate()) {
             // 自动生成模式
-            terminalEvents = generateEventsFromTemplate(eventGroup);
+            terminalEvents = generateEventsFromTemplate(eventGroup, groupSeed, parallel);
         } else {
             // 手动输入模式
             terminalEvents = convertInputEventsToTerminalEvents(eventGroup.getInputEvents());
@@ -91,35 +224,142 @@ public class DefaultTestSuiteGenerator implements ITestSuiteGenerator {
 
     /**
      * 根据模板生成事件
+     * 按 {@link #GENERATION_CHUNK_SIZE} 分块，并行模式下各块在 ForkJoin 公共池中同时生成
      */
-    private List<TerminalEvent> generateEventsFromTemplate(BenchmarkConfig.EventGroup eventGroup) {
-        List<TerminalEvent> terminalEvents = new ArrayList<>();
-
+    private List<TerminalEvent> generateEventsFromTemplate(BenchmarkConfig.EventGroup eventGroup,
+                                                           long groupSeed, boolean parallel) {
         if (eventGroup.getEventTemplate() == null) {
             log.error("事件组 {} 缺少事件模板", eventGroup.getGroupId());
-            return terminalEvents;
+            return new ArrayList<>();
         }
 
-        int count = eventGroup.getCount() != null ? eventGroup.getCount() : 1;
+        List<Supplier<List<TerminalEvent>>> chunkTasks = planTemplateChunks(eventGroup, groupSeed);
+        Stream<Supplier<List<TerminalEvent>>> chunks = parallel ? chunkTasks.parallelStream() : chunkTasks.stream();
+        List<List<TerminalEvent>> chunkEvents = chunks.map(Supplier::get).toList();
+
+        List<TerminalEvent> terminalEvents = new ArrayList<>(eventCount(eventGroup));
+        chunkEvents.forEach(terminalEvents::addAll);
+        return terminalEvents;
+    }
 
-        for (int i = 0; i < count; i++) {
+    /**
+     * 将模板事件组拆分为分块生成任务，第 n 块使用由组种子与 n 派生的随机流
+     * 配置了 distinctPayloads 时，先生成 payload 池，各块只从池中取用
+     */
+    private List<Supplier<List<TerminalEvent>>> planTemplateChunks(BenchmarkConfig.EventGroup eventGroup, long groupSeed) {
+        Integer distinctPayloads = eventGroup.getDistinctPayloads();
+        if (distinctPayloads != null && distinctPayloads > 0) {
+            return planPooledChunks(eventGroup, groupSeed, distinctPayloads);
+        }
+        return planGeneratedChunks(eventGroup, groupSeed, eventCount(eventGroup));
+    }
+
+    private List<Supplier<List<TerminalEvent>>> planGeneratedChunks(BenchmarkConfig.EventGroup eventGroup,
+                                                                     long seed, int count) {
+        int chunkCount = (count + GENERATION_CHUNK_SIZE - 1) / GENERATION_CHUNK_SIZE;
+        // 类型权重表与 payload 编译计划每组只构建一次，各块共享
+        AliasSampler typeSampler = buildTypeSampler(eventGroup.getEventTemplate());
+        Map<String, ICompiledPayload> payloadPlans = compilePayloadTemplates(eventGroup.getEventTemplate());
+
+        List<Supplier<List<TerminalEvent>>> chunkTasks = new ArrayList<>(chunkCount);
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            int chunkIndex = chunk;
+            int from = chunk * GENERATION_CHUNK_SIZE;
+            int to = Math.min(count, from + GENERATION_CHUNK_SIZE);
+            chunkTasks.add(() -> randomSource.callWith(randomSource.derive(seed, chunkIndex),
+                    () -> generateChunk(eventGroup, typeSampler, payloadPlans, from, to)));
+        }
+        return chunkTasks;
+    }
+
+    /**
+     * 生成并序列化 payload 池，再按块从池中循环或抽样产出事件
+     */
+    private List<Supplier<List<TerminalEvent>>> planPooledChunks(BenchmarkConfig.EventGroup eventGroup,
+                                                                  long groupSeed, int distinctPayloads) {
+        long poolSeed = randomSource.derive(groupSeed, -1).nextLong();
+        List<TerminalEvent> poolEvents = new ArrayList<>(distinctPayloads);
+        planGeneratedChunks(eventGroup, poolSeed, distinctPayloads).parallelStream()
+                .map(Supplier::get)
+                .toList()
+                .forEach(poolEvents::addAll);
+
+        PayloadPool pool = PayloadPool.encode(poolEvents);
+        if (pool.size() == 0) {
+            log.warn("事件组 {} 的 payload 池为空", eventGroup.getGroupId());
+            return new ArrayList<>();
+        }
+        log.info("事件组 {} 生成 payload 池: {} 个 payload，共 {} 字节",
+                eventGroup.getGroupId(), pool.size(), pool.getEncodedBytes());
+
+        boolean randomSelection = eventGroup.getPayloadSelection() == PayloadSelection.RANDOM;
+        int count = eventCount(eventGroup);
+        int chunkCount = (count + GENERATION_CHUNK_SIZE - 1) / GENERATION_CHUNK_SIZE;
+
+        List<Supplier<List<TerminalEvent>>> chunkTasks = new ArrayList<>(chunkCount);
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            int chunkIndex = chunk;
+            int from = chunk * GENERATION_CHUNK_SIZE;
+            int to = Math.min(count, from + GENERATION_CHUNK_SIZE);
+            chunkTasks.add(() -> {
+                SplittableRandom selector = randomSource.derive(groupSeed, chunkIndex);
+                List<TerminalEvent> terminalEvents = new ArrayList<>(to - from);
+                for (int i = from; i < to; i++) {
+                    int index = randomSelection ? selector.nextInt(pool.size()) : i % pool.size();
+                    terminalEvents.add(pool.newEvent(index));
+                }
+                return terminalEvents;
+            });
+        }
+        return chunkTasks;
+    }
+
+    /**
+     * 将事件模板中的各 payload 模板编译为渲染计划
+     */
+    private Map<String, ICompiledPayload> compilePayloadTemplates(BenchmarkConfig.EventTemplate eventTemplate) {
+        Map<String, Map<String, Object>> payloadTemplates = eventTemplate.getPayloadTemplates();
+        if (payloadTemplates == null) {
+            return Map.of();
+        }
+        Map<String, ICompiledPayload> payloadPlans = new HashMap<>();
+        payloadTemplates.forEach((eventType, payloadTemplate) -> {
+            if (payloadTemplate != null) {
+                payloadPlans.put(eventType, templateProcessor.compileDataTemplate(payloadTemplate));
+            }
+        });
+        return payloadPlans;
+    }
+
+    private int eventCount(BenchmarkConfig.EventGroup eventGroup) {
+        return eventGroup.getCount() != null ? eventGroup.getCount() : 1;
+    }
+
+    /**
+     * 生成 [from, to) 区间内的模板事件，使用当前线程绑定的随机流
+     */
+    private List<TerminalEvent> generateChunk(BenchmarkConfig.EventGroup eventGroup, AliasSampler typeSampler,
+                                              Map<String, ICompiledPayload> payloadPlans, int from, int to) {
+        List<TerminalEvent> terminalEvents = new ArrayList<>(to - from);
+
+        for (int i = from; i < to; i++) {
             // 随机选择事件类型
-            String eventType = selectRandomEventType(eventGroup.getEventTemplate().getTypeSelector());
+            String eventType = selectRandomEventType(eventGroup.getEventTemplate().getTypeSelector(), typeSampler);
             if (eventType == null) {
                 log.warn("事件组 {} 第 {} 次生成失败：无法选择事件类型", eventGroup.getGroupId(), i + 1);
                 continue;
             }
 
             // 获取对应的载荷模板
-            Map<String, Object> payloadTemplate = eventGroup.getEventTemplate().getPayloadTemplates().get(eventType);
-            if (payloadTemplate == null) {
+            ICompiledPayload payloadPlan = payloadPlans.get(eventType);
+            if (payloadPlan == null) {
                 log.warn("事件组 {} 第 {} 次生成失败：事件类型 {} 缺少payload模板",
                         eventGroup.getGroupId(), i + 1, eventType);
                 continue;
             }
 
-            // 使用模板处理器生成payload数据
-            Map<String, Object> payload = templateProcessor.processDataTemplate(payloadTemplate);
+            // 按编译计划渲染payload数据
+            Map<String, Object> payload = payloadPlan.render();
 
             // 创建终端事件
             TerminalEvent terminalEvent = new TerminalEvent(eventType, payload);
@@ -129,6 +369,19 @@ public class DefaultTestSuiteGenerator implements ITestSuiteGenerator {
         return terminalEvents;
     }
 
+    /**
+     * 汇总生成阶段指标
+     */
+    private Map<String, Object> buildGenerationMetrics(int eventCount, long elapsedNanos, boolean parallel) {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("generation.events", eventCount);
+        metrics.put("generation.timeMs", elapsedNanos / 1_000_000);
+        metrics.put("generation.eventsPerSecond",
+                elapsedNanos > 0 ? Math.round(eventCount * 1_000_000_000.0 / elapsedNanos) : 0L);
+        metrics.put("generation.parallel", parallel);
+        return metrics;
+    }
+
     /**
      * 将输入事件转换为终端事件
      */
@@ -148,12 +401,32 @@ public class DefaultTestSuiteGenerator implements ITestSuiteGenerator {
     }
 
     /**
-     * 随机选择事件类型
+     * 按 typeWeights 构建事件类型的别名表，未配置权重时返回 null 表示均匀选择
+     * 未列出的类型权重为 1.0
      */
-    private String selectRandomEventType(List<String> typeSelector) {
+    private AliasSampler buildTypeSampler(BenchmarkConfig.EventTemplate eventTemplate) {
+        Map<String, Double> typeWeights = eventTemplate.getTypeWeights();
+        List<String> typeSelector = eventTemplate.getTypeSelector();
+        if (typeWeights == null || typeWeights.isEmpty() || typeSelector == null || typeSelector.isEmpty()) {
+            return null;
+        }
+        double[] weights = new double[typeSelector.size()];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = typeWeights.getOrDefault(typeSelector.get(i), 1.0);
+        }
+        return Distributions.weighted(weights);
+    }
+
+    /**
+     * 随机选择事件类型，有权重表时按权重 O(1) 抽样
+     */
+    private String selectRandomEventType(List<String> typeSelector, AliasSampler typeSampler) {
         if (typeSelector == null || typeSelector.isEmpty()) {
             return null;
         }
-        return typeSelector.get(random.nextInt(typeSelector.size()));
+        if (typeSampler != null) {
+            return typeSelector.get(typeSampler.sample(randomSource.current()));
+        }
+        return typeSelector.get(randomSource.current().nextInt(typeSelector.size()));
     }
 }
\ No newline at end of file
@@ -0,0 +1,215 @@
+package com.scene.mesh.benchmark.n.impl;
+
+import com.scene.mesh.benchmark.n.model.AggregatedReport;
+import com.scene.mesh.benchmark.n.model.BenchmarkConfig;
+import com.scene.mesh.benchmark.n.model.TestSuite;
+import com.scene.mesh.benchmark.n.model.TestSuiteReport;
+import com.scene.mesh.benchmark.n.spec.ITestSuiteExecutor;
+import com.scene.mesh.benchmark.n.spec.ITestSuiteGenerator;
+import com.scene.mesh.benchmark.n.spec.ITestSuiteScheduler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 多测试套件调度器
+ * 在固定大小的工作线程池上并发运行测试套件，同一产品同时运行的套件数受限；
+ * 调度线程只提交当前可运行的套件，受产品限制的套件留在等待队列中，不占用工作线程。
+ * 套件在工作线程上生成并执行，事件只在运行期间占用内存
+ */
+@Slf4j
+@Component
+public class DefaultTestSuiteScheduler implements ITestSuiteScheduler {
+
+    private static final String UNKNOWN_PRODUCT = "unknown";
+
+    private final ITestSuiteGenerator testSuiteGenerator;
+    private final ITestSuiteExecutor testSuiteExecutor;
+    private final int parallelism;
+    private final int maxSuitesPerProduct;
+
+    @Autowired
+    public DefaultTestSuiteScheduler(ITestSuiteGenerator testSuiteGenerator,
+                                     ITestSuiteExecutor testSuiteExecutor,
+                                     @Value("${scene-mesh.benchmark.scheduler.parallelism:4}") int parallelism,
+                                     @Value("${scene-mesh.benchmark.scheduler.max-suites-per-product:2}") int maxSuitesPerProduct) {
+        if (parallelism <= 0 || maxSuitesPerProduct <= 0) {
+            throw new IllegalArgumentException("parallelism 与 max-suites-per-product 必须大于0");
+        }
+        this.testSuiteGenerator = testSuiteGenerator;
+        this.testSuiteExecutor = testSuiteExecutor;
+        this.parallelism = parallelism;
+        this.maxSuitesPerProduct = maxSuitesPerProduct;
+    }
+
+    @Override
+    public AggregatedReport schedule(List<BenchmarkConfig> benchmarkConfigs) {
+        log.info("开始调度 {} 个测试套件，并发 {}，单产品上限 {}",
+                benchmarkConfigs.size(), parallelism, maxSuitesPerProduct);
+        LocalDateTime startTime = LocalDateTime.now();
+        long startNanos = System.nanoTime();
+
+        TestSuiteReport[] reports = new TestSuiteReport[benchmarkConfigs.size()];
+        Deque<Integer> pending = new ArrayDeque<>();
+        for (int i = 0; i < benchmarkConfigs.size(); i++) {
+            pending.add(i);
+        }
+        Map<String, Integer> runningPerProduct = new HashMap<>();
+        int running = 0;
+        int peakRunning = 0;
+
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism,
+                VirtualThreads.namedDaemonFactory("suite-worker"));
+        CompletionService<Integer> completion = new ExecutorCompletionService<>(workers);
+        try {
+            while (!pending.isEmpty() || running > 0) {
+                // 按配置顺序提交可运行的套件，跳过已达到产品上限的套件
+                Iterator<Integer> candidates = pending.iterator();
+                while (running < parallelism && candidates.hasNext()) {
+                    int index = candidates.next();
+                    String product = productKey(benchmarkConfigs.get(index));
+                    if (runningPerProduct.getOrDefault(product, 0) >= maxSuitesPerProduct) {
+                        continue;
+                    }
+                    candidates.remove();
+                    runningPerProduct.merge(product, 1, Integer::sum);
+                    running++;
+                    completion.submit(() -> {
+                        reports[index] = runSuite(benchmarkConfigs.get(index), index);
+                        return index;
+                    });
+                }
+                peakRunning = Math.max(peakRunning, running);
+
+                int finished = completion.take().get();
+                running--;
+                runningPerProduct.merge(productKey(benchmarkConfigs.get(finished)), -1, Integer::sum);
+                log.info("测试套件完成 {}/{}: {}", benchmarkConfigs.size() - pending.size() - running,
+                        benchmarkConfigs.size(), reports[finished].getTestSuiteName());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("测试套件调度被中断", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("测试套件执行异常", e.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+
+        return aggregate(Arrays.asList(reports), startTime, startNanos, peakRunning);
+    }
+
+    /**
+     * 生成并执行单个测试套件，异常转为失败报告
+     */
+    private TestSuiteReport runSuite(BenchmarkConfig benchmarkConfig, int index) {
+        LocalDateTime startTime = LocalDateTime.now();
+        try {
+            TestSuite testSuite = testSuiteGenerator.generateTestSuite(benchmarkConfig);
+            return testSuiteExecutor.execute(testSuite);
+        } catch (Exception e) {
+            log.error("测试套件生成失败: {}", benchmarkConfig.getName(), e);
+            return TestSuiteReport.builder()
+                    .testSuiteId(benchmarkConfig.getId())
+                    .testSuiteName(benchmarkConfig.getName() != null ? benchmarkConfig.getName() : "suite-" + index)
+                    .productId(benchmarkConfig.getProductId())
+                    .status(TestSuiteReport.ExecutionStatus.FAILED)
+                    .startTime(startTime)
+                    .endTime(LocalDateTime.now())
+                    .errorMessage(e.getMessage())
+                    .matchScore(0.0)
+                    .scoreLevel(TestSuiteReport.ScoreLevel.FAILED)
+                    .passed(false)
+                    .build();
+        }
+    }
+
+    private AggregatedReport aggregate(List<TestSuiteReport> reports, LocalDateTime startTime, long startNanos,
+                                       int peakRunning) {
+        Map<String, AggregatedReport.ProductSummary> products = new LinkedHashMap<>();
+        int passed = 0;
+        int partial = 0;
+        int failed = 0;
+        int skipped = 0;
+        long totalEvents = 0;
+        long successfulEvents = 0;
+        long failedEvents = 0;
+        double scoreSum = 0;
+
+        for (TestSuiteReport report : reports) {
+            if (report.isPassed()) {
+                passed++;
+            }
+            switch (report.getStatus()) {
+                case PARTIAL_SUCCESS -> partial++;
+                case FAILED -> failed++;
+                case SKIPPED -> skipped++;
+                default -> {
+                }
+            }
+            totalEvents += report.getTotalEventsSent();
+            successfulEvents += report.getSuccessfulEvents();
+            failedEvents += report.getFailedEvents();
+            scoreSum += report.getMatchScore();
+
+            AggregatedReport.ProductSummary product = products.computeIfAbsent(
+                    Objects.requireNonNullElse(report.getProductId(), UNKNOWN_PRODUCT),
+                    productId -> AggregatedReport.ProductSummary.builder().productId(productId).build());
+            product.setSuites(product.getSuites() + 1);
+            product.setPassedSuites(product.getPassedSuites() + (report.isPassed() ? 1 : 0));
+            product.setFailedSuites(product.getFailedSuites()
+                    + (report.getStatus() == TestSuiteReport.ExecutionStatus.FAILED ? 1 : 0));
+            product.setTotalEventsSent(product.getTotalEventsSent() + report.getTotalEventsSent());
+            product.setTotalExecutionTimeMs(product.getTotalExecutionTimeMs() + report.getExecutionTimeMs());
+            // 先累加分数，汇总结束后再求平均
+            product.setAverageMatchScore(product.getAverageMatchScore() + report.getMatchScore());
+        }
+        products.values().forEach(product ->
+                product.setAverageMatchScore(product.getAverageMatchScore() / product.getSuites()));
+
+        long executionTimeMs = (System.nanoTime() - startNanos) / 1_000_000;
+        log.info("测试套件调度完成: {} 个套件，通过 {}，失败 {}，耗时 {}ms",
+                reports.size(), passed, failed, executionTimeMs);
+
+        return AggregatedReport.builder()
+                .startTime(startTime)
+                .endTime(LocalDateTime.now())
+                .executionTimeMs(executionTimeMs)
+                .parallelism(parallelism)
+                .maxSuitesPerProduct(maxSuitesPerProduct)
+                .peakConcurrentSuites(peakRunning)
+                .totalSuites(reports.size())
+                .passedSuites(passed)
+                .partialSuites(partial)
+                .failedSuites(failed)
+                .skippedSuites(skipped)
+                .totalEventsSent(totalEvents)
+                .successfulEvents(successfulEvents)
+                .failedEvents(failedEvents)
+                .averageMatchScore(reports.isEmpty() ? 0.0 : scoreSum / reports.size())
+                .productSummaries(List.copyOf(products.values()))
+                .suiteReports(reports)
+                .build();
+    }
+
+    private static String productKey(BenchmarkConfig benchmarkConfig) {
+        return Objects.requireNonNullElse(benchmarkConfig.getProductId(), UNKNOWN_PRODUCT);
+    }
+}
@@ -0,0 +1,110 @@
+package com.scene.mesh.benchmark.n.impl;
+
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 偏斜分布的公共实现
+ * 离散分布预先构建别名表，按参数缓存，采样均为 O(1)
+ */
+public final class Distributions {
+
+    /**
+     * 超过该均值的泊松分布使用正态近似，避免别名表过大
+     */
+    private static final double POISSON_NORMAL_THRESHOLD = 1000;
+
+    private static final Map<String, AliasSampler> SAMPLER_CACHE = new ConcurrentHashMap<>();
+
+    private Distributions() {
+    }
+
+    /**
+     * Zipf 分布采样器：第 k 个（从 0 开始）元素的概率正比于 1/(k+1)^s
+     */
+    public static AliasSampler zipf(int n, double exponent) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("zipf 的元素数必须大于0");
+        }
+        return SAMPLER_CACHE.computeIfAbsent("zipf:" + n + ":" + exponent, key -> {
+            double[] weights = new double[n];
+            for (int k = 0; k < n; k++) {
+                weights[k] = 1.0 / Math.pow(k + 1, exponent);
+            }
+            return AliasSampler.of(weights);
+        });
+    }
+
+    /**
+     * 按权重构建采样器
+     */
+    public static AliasSampler weighted(double[] weights) {
+        return AliasSampler.of(weights);
+    }
+
+    /**
+     * 泊松分布采样
+     */
+    public static int poisson(SplittableRandom random, double lambda) {
+        if (lambda <= 0) {
+            return 0;
+        }
+        if (lambda > POISSON_NORMAL_THRESHOLD) {
+            return (int) Math.max(0, Math.round(lambda + Math.sqrt(lambda) * random.nextGaussian()));
+        }
+        return poissonSampler(lambda).sample(random);
+    }
+
+    /**
+     * 泊松分布的截断别名表，覆盖 [0, λ + 10√λ + 10]
+     */
+    private static AliasSampler poissonSampler(double lambda) {
+        return SAMPLER_CACHE.computeIfAbsent("poisson:" + lambda, key -> {
+            int upper = (int) Math.ceil(lambda + 10 * Math.sqrt(lambda) + 10);
+            double[] weights = new double[upper + 1];
+            double logP = -lambda;
+            for (int k = 0; k <= upper; k++) {
+                if (k > 0) {
+                    logP += Math.log(lambda) - Math.log(k);
+                }
+                weights[k] = Math.exp(logP);
+            }
+            return AliasSampler.of(weights);
+        });
+    }
+
+    /**
+     * 正态分布采样
+     */
+    public static double gaussian(SplittableRandom random, double mean, double stddev) {
+        return mean + stddev * random.nextGaussian();
+    }
+
+    /**
+     * 指数分布采样
+     */
+    public static double exponential(SplittableRandom random, double mean) {
+        return mean * random.nextExponential();
+    }
+
+    /**
+     * 解析权重列表，兼容 "3,1" 与 [3,1] 两种写法
+     */
+    public static double[] parseWeights(Object weights) {
+        if (weights instanceof List<?> list) {
+            double[] result = new double[list.size()];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = ((Number) list.get(i)).doubleValue();
+            }
+            return result;
+        }
+        String[] parts = RandomGenerators.parseOptions(String.valueOf(weights));
+        double[] result = new double[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            result[i] = Double.parseDouble(parts[i]);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,216 @@
+package com.scene.mesh.benchmark.n.impl;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.scene.mesh.benchmark.n.model.BenchmarkConfig;
+import com.scene.mesh.benchmark.n.model.EncodedPayload;
+import com.scene.mesh.benchmark.n.spec.IEventSource;
+import com.scene.mesh.sdk.model.TerminalEvent;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 磁盘事件语料
+ * 二进制格式：
+ * <pre>
+ * header : magic(int) version(short) seed(long) fingerprint(32 bytes) eventCount(long) typeTableOffset(long)
+ * records: typeId(short) length(int) payload(length bytes, JSON)
+ * types  : typeCount(short) { length(short) utf8 bytes }
+ * </pre>
+ * 语料一次生成，之后通过 {@link MappedCorpusEventSource} 内存映射回放
+ */
+@Slf4j
+public final class EventCorpus {
+
+    static final int MAGIC = 0x534D4543; // "SMEC"
+    static final short VERSION = 1;
+    static final int FINGERPRINT_LENGTH = 32;
+    static final int HEADER_SIZE = 4 + 2 + 8 + FINGERPRINT_LENGTH + 8 + 8;
+    static final int RECORD_HEADER_SIZE = 2 + 4;
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final ObjectMapper CANONICAL_MAPPER = new ObjectMapper()
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+    private static final TypeReference<Map<String, Object>> PAYLOAD_TYPE = new TypeReference<>() {
+    };
+
+    private EventCorpus() {
+    }
+
+    /**
+     * 语料头信息
+     */
+    public record Header(long seed, byte[] fingerprint, long eventCount, long typeTableOffset) {
+    }
+
+    /**
+     * 将事件源中的全部事件写入语料文件，先写临时文件再原子替换
+     * @return 写入的事件数
+     */
+    public static long write(Path file, long seed, byte[] fingerprint, IEventSource eventSource) {
+        if (fingerprint.length != FINGERPRINT_LENGTH) {
+            throw new IllegalArgumentException("语料指纹长度必须为 " + FINGERPRINT_LENGTH);
+        }
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        Map<String, Short> typeIds = new HashMap<>();
+        List<String> types = new ArrayList<>();
+        long eventCount = 0;
+
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20);
+                channel.position(HEADER_SIZE);
+
+                while (eventSource.hasNext()) {
+                    TerminalEvent event = eventSource.next();
+                    Short typeId = typeIds.get(event.getType());
+                    if (typeId == null) {
+                        if (types.size() >= Short.MAX_VALUE) {
+                            throw new IllegalStateException("事件类型数量超出语料格式上限");
+                        }
+                        typeId = (short) types.size();
+                        typeIds.put(event.getType(), typeId);
+                        types.add(event.getType());
+                    }
+                    byte[] payload = encodePayload(event.getPayload());
+                    if (buffer.remaining() < RECORD_HEADER_SIZE + payload.length) {
+                        flush(channel, buffer);
+                    }
+                    if (buffer.remaining() < RECORD_HEADER_SIZE + payload.length) {
+                        // 超大 payload 直接写出
+                        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + payload.length);
+                        record.putShort(typeId).putInt(payload.length).put(payload).flip();
+                        writeFully(channel, record);
+                    } else {
+                        buffer.putShort(typeId).putInt(payload.length).put(payload);
+                    }
+                    eventCount++;
+                }
+                flush(channel, buffer);
+
+                // 类型表
+                long typeTableOffset = channel.position();
+                buffer.putShort((short) types.size());
+                for (String type : types) {
+                    byte[] bytes = type.getBytes(StandardCharsets.UTF_8);
+                    buffer.putShort((short) bytes.length).put(bytes);
+                }
+                flush(channel, buffer);
+
+                // 回填头信息
+                buffer.putInt(MAGIC).putShort(VERSION).putLong(seed).put(fingerprint)
+                        .putLong(eventCount).putLong(typeTableOffset).flip();
+                channel.position(0);
+                writeFully(channel, buffer);
+                channel.force(false);
+            }
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("写入事件语料失败: " + file, e);
+        }
+
+        log.info("事件语料写入完成: {}，共 {} 个事件，{} 种事件类型", file, eventCount, types.size());
+        return eventCount;
+    }
+
+    /**
+     * 计算语料指纹：事件组配置（Map 按键排序序列化）与主种子的 SHA-256
+     */
+    public static byte[] fingerprint(BenchmarkConfig benchmarkConfig, long seed) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(CANONICAL_MAPPER.writeValueAsBytes(benchmarkConfig.getEventGroups()));
+            digest.update(ByteBuffer.allocate(Long.BYTES).putLong(seed).array());
+            return digest.digest();
+        } catch (IOException e) {
+            throw new UncheckedIOException("计算语料指纹失败", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 语料文件路径：{corpusDir}/{suiteId}-{指纹前缀}.smec
+     */
+    public static Path corpusFile(String corpusDir, String suiteId, byte[] fingerprint) {
+        return Path.of(corpusDir, suiteId + "-" + HexFormat.of().formatHex(fingerprint, 0, 8) + ".smec");
+    }
+
+    /**
+     * 读取语料头信息，文件不存在或格式不符时返回 null
+     */
+    public static Header readHeader(Path file) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) {
+                return null;
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // 读满头信息
+            }
+            buffer.flip();
+            if (buffer.getInt() != MAGIC || buffer.getShort() != VERSION) {
+                return null;
+            }
+            long seed = buffer.getLong();
+            byte[] fingerprint = new byte[FINGERPRINT_LENGTH];
+            buffer.get(fingerprint);
+            return new Header(seed, fingerprint, buffer.getLong(), buffer.getLong());
+        } catch (IOException e) {
+            log.warn("读取事件语料头失败: {}", file, e);
+            return null;
+        }
+    }
+
+    /**
+     * 解码 payload 字节
+     */
+    static Map<String, Object> decodePayload(byte[] encoded) {
+        try {
+            return OBJECT_MAPPER.readValue(encoded, PAYLOAD_TYPE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("事件语料 payload 解码失败", e);
+        }
+    }
+
+    private static byte[] encodePayload(Map<String, Object> payload) throws IOException {
+        if (payload instanceof EncodedPayload encodedPayload) {
+            return encodedPayload.getEncoded();
+        }
+        return OBJECT_MAPPER.writeValueAsBytes(payload);
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        writeFully(channel, buffer);
+        buffer.clear();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
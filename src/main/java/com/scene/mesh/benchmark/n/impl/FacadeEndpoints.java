@@ -0,0 +1,75 @@
+package com.scene.mesh.benchmark.n.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+
+/**
+ * Facade 接入地址
+ * remote 模式使用配置的地址；loopback 模式按需启动进程内回环服务并使用其地址；
+ * null-sink 模式不建立连接，事件交给立即确认的空接收端
+ */
+@Slf4j
+@Component
+public class FacadeEndpoints {
+
+    public static final String MODE_REMOTE = "remote";
+    public static final String MODE_LOOPBACK = "loopback";
+    public static final String MODE_NULL_SINK = "null-sink";
+
+    private final String mqttUrl;
+    private final String webSocketUrl;
+    private final String mode;
+    private final LoopbackFacade loopbackFacade;
+
+    @Autowired
+    public FacadeEndpoints(@Value("${scene-mesh.facade.url.mqtt}") String mqttUrl,
+                           @Value("${scene-mesh.facade.url.websocket}") String webSocketUrl,
+                           @Value("${scene-mesh.facade.mode:remote}") String mode,
+                           LoopbackFacade loopbackFacade) {
+        if (!MODE_REMOTE.equals(mode) && !MODE_LOOPBACK.equals(mode) && !MODE_NULL_SINK.equals(mode)) {
+            throw new IllegalArgumentException("不支持的 scene-mesh.facade.mode: " + mode);
+        }
+        this.mqttUrl = mqttUrl;
+        this.webSocketUrl = webSocketUrl;
+        this.mode = mode;
+        this.loopbackFacade = loopbackFacade;
+    }
+
+    public String getMode() {
+        return mode;
+    }
+
+    public boolean isNullSink() {
+        return MODE_NULL_SINK.equals(mode);
+    }
+
+    public String getMqttUrl() {
+        return MODE_LOOPBACK.equals(mode) ? startLoopback().getMqttUrl() : mqttUrl;
+    }
+
+    public String getWebSocketUrl() {
+        return MODE_LOOPBACK.equals(mode) ? startLoopback().getWebSocketUrl() : webSocketUrl;
+    }
+
+    /**
+     * 回环服务的累计统计，非 loopback 模式返回空
+     */
+    public Map<String, Object> getLoopbackStats() {
+        return MODE_LOOPBACK.equals(mode) ? loopbackFacade.getStats() : Map.of();
+    }
+
+    private LoopbackFacade startLoopback() {
+        try {
+            loopbackFacade.start();
+            return loopbackFacade;
+        } catch (IOException e) {
+            throw new UncheckedIOException("本地回环服务启动失败", e);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.scene.mesh.benchmark.n.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 对数-线性延迟直方图（HDR 风格）
+ * 每个 2 的幂区间再线性划分为 64 个子桶，相对误差不超过 1/64；记录值单位为纳秒，覆盖 0 到约 18 分钟，
+ * 更大的值计入最高桶（最大值仍精确记录）。
+ * 桶数组在构造时一次性分配，记录过程无锁、无对象分配，可被多个线程并发写入
+ */
+public class LatencyHistogram {
+
+    /**
+     * 每个区间的子桶位数：低于 2^SUB_BUCKET_BITS 的值精确记录
+     */
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKET_HALF = 1 << (SUB_BUCKET_BITS - 1);
+
+    /**
+     * 可区分的最大值位数（2^40 纳秒约 18 分钟）
+     */
+    private static final int MAX_VALUE_BITS = 40;
+    private static final long MAX_TRACKABLE = (1L << MAX_VALUE_BITS) - 1;
+    private static final int BUCKET_COUNT = MAX_VALUE_BITS - SUB_BUCKET_BITS + 2;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT * SUB_BUCKET_HALF + SUB_BUCKET_HALF);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong totalSum = new AtomicLong();
+    private final AtomicLong maxValue = new AtomicLong();
+
+    /**
+     * 记录一次延迟
+     * @param latencyNanos 延迟（纳秒），负值按 0 记录
+     */
+    public void record(long latencyNanos) {
+        long value = Math.max(0, latencyNanos);
+        long tracked = Math.min(value, MAX_TRACKABLE);
+        counts.incrementAndGet(indexOf(tracked));
+        totalCount.incrementAndGet();
+        totalSum.addAndGet(tracked);
+
+        long currentMax;
+        while (value > (currentMax = maxValue.get())) {
+            if (maxValue.compareAndSet(currentMax, value)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * 合并另一个直方图的全部记录，合并期间 other 不应再被写入
+     */
+    public void add(LatencyHistogram other) {
+        for (int index = 0; index < counts.length(); index++) {
+            long count = other.counts.get(index);
+            if (count != 0) {
+                counts.addAndGet(index, count);
+            }
+        }
+        totalCount.addAndGet(other.totalCount.get());
+        totalSum.addAndGet(other.totalSum.get());
+        maxValue.accumulateAndGet(other.maxValue.get(), Math::max);
+    }
+
+    public long getCount() {
+        return totalCount.get();
+    }
+
+    public long getMax() {
+        return maxValue.get();
+    }
+
+    public double getMean() {
+        long count = totalCount.get();
+        return count == 0 ? 0 : (double) totalSum.get() / count;
+    }
+
+    /**
+     * 获取百分位延迟
+     * 返回所在桶的中点，且不超过记录到的最大值
+     * @param percentile 百分位，取值 0-100
+     * @return 延迟（纳秒），无记录时返回 0
+     */
+    public long getValueAtPercentile(double percentile) {
+        long count = totalCount.get();
+        if (count == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(Math.min(100.0, percentile) / 100.0 * count));
+        long cumulative = 0;
+        for (int index = 0; index < counts.length(); index++) {
+            cumulative += counts.get(index);
+            if (cumulative >= target) {
+                return Math.min(midpointOf(index), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * 值到桶下标：第 b 个区间覆盖 [2^(b+6), 2^(b+7))，下标为 b * 64 + (value >> b)
+     */
+    private static int indexOf(long value) {
+        int bucket = Math.max(0, (63 - Long.numberOfLeadingZeros(value)) - (SUB_BUCKET_BITS - 1));
+        return bucket * SUB_BUCKET_HALF + (int) (value >>> bucket);
+    }
+
+    private static long midpointOf(int index) {
+        int bucket = Math.max(0, index / SUB_BUCKET_HALF - 1);
+        long subBucket = index - (long) bucket * SUB_BUCKET_HALF;
+        long lowest = subBucket << bucket;
+        return lowest + ((1L << bucket) - 1) / 2;
+    }
+}
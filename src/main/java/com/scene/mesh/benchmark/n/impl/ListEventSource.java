@@ -0,0 +1,41 @@
+package com.scene.mesh.benchmark.n.impl;
+
+import com.scene.mesh.benchmark.n.spec.IEventSource;
+import com.scene.mesh.sdk.model.TerminalEvent;
+
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * 基于已生成事件列表的事件源
+ */
+public class ListEventSource implements IEventSource {
+
+    private final List<TerminalEvent> terminalEvents;
+    private final Iterator<TerminalEvent> iterator;
+
+    public ListEventSource(List<TerminalEvent> terminalEvents) {
+        this.terminalEvents = terminalEvents != null ? terminalEvents : List.of();
+        this.iterator = this.terminalEvents.iterator();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return iterator.hasNext();
+    }
+
+    @Override
+    public TerminalEvent next() {
+        return iterator.next();
+    }
+
+    @Override
+    public long getTotalEvents() {
+        return terminalEvents.size();
+    }
+
+    @Override
+    public void close() {
+        // 列表事件源无需释放资源
+    }
+}
@@ -0,0 +1,265 @@
+package com.scene.mesh.benchmark.n.impl;
+
+import com.scene.mesh.benchmark.n.model.BenchmarkConfig;
+import com.scene.mesh.benchmark.n.model.LoadShape;
+import com.scene.mesh.benchmark.n.model.LoadTarget;
+import com.scene.mesh.sdk.model.TerminalEvent;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * 负载形状驱动器
+ * 按顺序实时执行各负载阶段：速率阶段按瞬时速率推进开环时间表，并发阶段维持在途事件数不超过瞬时并发；
+ * 事件轮流分配给各终端的发送器，确认结果归属到发送时所在的阶段
+ */
+@Slf4j
+public class LoadProfileDriver {
+
+    /**
+     * 速率为 0 时时间表的推进步长
+     */
+    private static final long IDLE_STEP_NANOS = 1_000_000L;
+
+    /**
+     * 并发已满时的轮询间隔
+     */
+    private static final long CONCURRENCY_POLL_NANOS = 100_000L;
+
+    private static final int DEFAULT_STEPS = 5;
+
+    private final List<BenchmarkConfig.LoadPhase> phases;
+    private final List<PipelinedSender> senders;
+    private final Supplier<TerminalEvent> events;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private int nextSender;
+
+    public LoadProfileDriver(List<BenchmarkConfig.LoadPhase> phases, List<PipelinedSender> senders,
+                             Supplier<TerminalEvent> events) {
+        if (senders.isEmpty()) {
+            throw new IllegalArgumentException("没有可用的发送器");
+        }
+        this.phases = phases;
+        this.senders = senders;
+        this.events = events;
+    }
+
+    /**
+     * 依次执行所有阶段，事件耗尽时提前结束，未执行的阶段不产生统计
+     * @return 各阶段统计，确认可能在返回后仍在进行，需等待发送器排空后再读取
+     */
+    public List<PhaseStats> run() throws InterruptedException {
+        List<PhaseStats> results = new ArrayList<>(phases.size());
+        for (BenchmarkConfig.LoadPhase phase : phases) {
+            PhaseStats stats = new PhaseStats(phase, new LatencyHistogram());
+            results.add(stats);
+
+            long startNanos = System.nanoTime();
+            log.info("负载阶段开始: {} ({}, {}, {}ms)", phase.getName(), phase.getShape(), target(phase),
+                    phase.getDurationMs());
+            boolean exhausted = target(phase) == LoadTarget.CONCURRENCY
+                    ? runConcurrencyPhase(phase, stats, startNanos)
+                    : runRatePhase(phase, stats, startNanos);
+            stats.elapsedNanos = System.nanoTime() - startNanos;
+            log.info("负载阶段结束: {}，发送 {} 个事件", phase.getName(), stats.sent.get());
+
+            if (exhausted) {
+                log.warn("事件已耗尽，负载阶段 {} 提前结束", phase.getName());
+                break;
+            }
+        }
+        return results;
+    }
+
+    /**
+     * 速率阶段：下一个计划时刻 = 当前计划时刻 + 1/瞬时速率，发送落后时不顺延
+     */
+    private boolean runRatePhase(BenchmarkConfig.LoadPhase phase, PhaseStats stats, long startNanos)
+            throws InterruptedException {
+        long durationNanos = phase.getDurationMs() * 1_000_000L;
+        long intended = startNanos;
+        while (intended - startNanos < durationNanos) {
+            double rate = levelAt(phase, intended - startNanos);
+            if (rate <= 0) {
+                intended += IDLE_STEP_NANOS;
+                continue;
+            }
+            awaitUntil(intended);
+            TerminalEvent event = events.get();
+            if (event == null) {
+                return true;
+            }
+            dispatch(event, intended, stats);
+            intended += Math.max(1L, Math.round(1_000_000_000.0 / rate));
+        }
+        awaitUntil(startNanos + durationNanos);
+        return false;
+    }
+
+    /**
+     * 并发阶段：在途事件数低于瞬时并发时立即补发
+     */
+    private boolean runConcurrencyPhase(BenchmarkConfig.LoadPhase phase, PhaseStats stats, long startNanos)
+            throws InterruptedException {
+        long durationNanos = phase.getDurationMs() * 1_000_000L;
+        long now;
+        while ((now = System.nanoTime()) - startNanos < durationNanos) {
+            int limit = (int) Math.round(levelAt(phase, now - startNanos));
+            if (inFlight.get() >= limit) {
+                LockSupport.parkNanos(CONCURRENCY_POLL_NANOS);
+                continue;
+            }
+            TerminalEvent event = events.get();
+            if (event == null) {
+                return true;
+            }
+            dispatch(event, System.nanoTime(), stats);
+        }
+        return false;
+    }
+
+    private void dispatch(TerminalEvent event, long intendedNanos, PhaseStats stats) throws InterruptedException {
+        PipelinedSender sender = senders.get(nextSender);
+        nextSender = (nextSender + 1) % senders.size();
+
+        inFlight.incrementAndGet();
+        stats.sent.incrementAndGet();
+        sender.send(event, intendedNanos, (latencyNanos, outcome) -> {
+            inFlight.decrementAndGet();
+            stats.record(latencyNanos, outcome);
+        });
+    }
+
+    private static void awaitUntil(long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private static LoadTarget target(BenchmarkConfig.LoadPhase phase) {
+        return phase.getTarget() != null ? phase.getTarget() : LoadTarget.RATE;
+    }
+
+    /**
+     * 计算阶段内某一时刻的负载水平（速率或并发），负值按 0 处理
+     * @param elapsedNanos 距阶段开始的时间
+     */
+    public static double levelAt(BenchmarkConfig.LoadPhase phase, long elapsedNanos) {
+        double elapsedMs = elapsedNanos / 1_000_000.0;
+        double durationMs = phase.getDurationMs();
+        double value = switch (phase.getShape()) {
+            case CONSTANT -> phase.getLevel();
+            case RAMP -> phase.getFrom() + (phase.getTo() - phase.getFrom()) * Math.min(1.0, elapsedMs / durationMs);
+            case STEP -> {
+                int steps = phase.getSteps() != null ? phase.getSteps() : DEFAULT_STEPS;
+                if (steps <= 1) {
+                    yield phase.getFrom();
+                }
+                int step = Math.min(steps - 1, (int) (elapsedMs / durationMs * steps));
+                yield phase.getFrom() + (phase.getTo() - phase.getFrom()) * step / (steps - 1);
+            }
+            case SPIKE -> {
+                long spikeDurationMs = phase.getSpikeDurationMs() != null
+                        ? phase.getSpikeDurationMs() : phase.getDurationMs() / 10;
+                long spikeStartMs = phase.getSpikeStartMs() != null
+                        ? phase.getSpikeStartMs() : (phase.getDurationMs() - spikeDurationMs) / 2;
+                boolean inSpike = elapsedMs >= spikeStartMs && elapsedMs < spikeStartMs + spikeDurationMs;
+                yield inSpike ? phase.getPeak() : phase.getLevel();
+            }
+            case SINE -> {
+                double periodMs = phase.getPeriodMs() != null ? phase.getPeriodMs() : durationMs;
+                yield phase.getLevel() + phase.getAmplitude() * Math.sin(2 * Math.PI * elapsedMs / periodMs);
+            }
+        };
+        return Math.max(0, value);
+    }
+
+    /**
+     * 检查阶段配置是否包含其形状所需的参数
+     * @return 缺失的参数说明，配置完整时返回 null
+     */
+    public static String validate(BenchmarkConfig.LoadPhase phase) {
+        if (phase.getShape() == null) {
+            return "缺少 shape";
+        }
+        if (phase.getDurationMs() == null || phase.getDurationMs() <= 0) {
+            return "durationMs 必须大于0";
+        }
+        LoadShape shape = phase.getShape();
+        return switch (shape) {
+            case CONSTANT -> phase.getLevel() == null ? "CONSTANT 阶段缺少 level" : null;
+            case RAMP, STEP -> phase.getFrom() == null || phase.getTo() == null
+                    ? shape + " 阶段缺少 from 或 to" : null;
+            case SPIKE -> phase.getLevel() == null || phase.getPeak() == null
+                    ? "SPIKE 阶段缺少 level 或 peak" : null;
+            case SINE -> phase.getLevel() == null || phase.getAmplitude() == null
+                    ? "SINE 阶段缺少 level 或 amplitude"
+                    : phase.getPeriodMs() != null && phase.getPeriodMs() <= 0 ? "periodMs 必须大于0" : null;
+        };
+    }
+
+    /**
+     * 单个阶段的统计，确认回调线程并发写入
+     */
+    public static class PhaseStats {
+        private final BenchmarkConfig.LoadPhase phase;
+        private final LatencyHistogram latency;
+        private final AtomicInteger sent = new AtomicInteger();
+        private final AtomicInteger successful = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final AtomicInteger timedOut = new AtomicInteger();
+        private volatile long elapsedNanos;
+
+        PhaseStats(BenchmarkConfig.LoadPhase phase, LatencyHistogram latency) {
+            this.phase = phase;
+            this.latency = latency;
+        }
+
+        /**
+         * 只有成功确认的事件计入延迟，失败与超时只计数
+         */
+        private void record(long latencyNanos, PipelinedSender.SendOutcome outcome) {
+            switch (outcome) {
+                case SUCCESS -> {
+                    successful.incrementAndGet();
+                    latency.record(latencyNanos);
+                }
+                case TIMEOUT -> timedOut.incrementAndGet();
+                default -> failed.incrementAndGet();
+            }
+        }
+
+        public BenchmarkConfig.LoadPhase getPhase() {
+            return phase;
+        }
+
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        public int getSent() {
+            return sent.get();
+        }
+
+        public int getSuccessful() {
+            return successful.get();
+        }
+
+        public int getFailed() {
+            return failed.get();
+        }
+
+        public int getTimedOut() {
+            return timedOut.get();
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+    }
+}
@@ -0,0 +1,694 @@
+package com.scene.mesh.benchmark.n.impl;
+
+import com.scene.mesh.sdk.util.MessageUtils;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+/**
+ * 本地回环服务
+ * 在 127.0.0.1 上同时提供 MQTT（3.1.1 / 5）与 WebSocket 终端接入，用于在没有真实 Facade 的情况下
+ * 测量压测工具自身的能力上限：收到的每个事件按配置的丢弃率决定是否处理，再按配置的延迟分布回复动作。
+ * 事件与动作均为 JSON：事件类型取自 type / eventType 字段（也会查找 event、data 下一层），
+ * 动作发布到终端订阅的每个主题（通配符 + 替换为终端ID，# 替换为 action），WebSocket 连接直接回写文本帧。
+ * 每个连接使用由种子按接受顺序派生的独立随机数，连接线程之间既不竞争也不影响彼此的抽样序列；
+ * 延迟回复由定时线程交给所属连接的回复队列，在该连接自己的虚拟线程上写出，慢终端不会拖住其他终端
+ */
+@Slf4j
+@Component
+public class LoopbackFacade implements AutoCloseable {
+
+    private static final String WEBSOCKET_GUID = "258EAFA5-E914-47DA-95CA-C5AB0DC85B11";
+    private static final int MAX_MESSAGE_BYTES = 16 * 1024 * 1024;
+    private static final int MQTT_V5 = 5;
+
+    private final LoopbackProperties properties;
+    private final SplittableRandom seedRandom;
+    private final Set<Socket> sockets = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong connectionCount = new AtomicLong();
+    private final AtomicLong eventsReceived = new AtomicLong();
+    private final AtomicLong eventsDropped = new AtomicLong();
+    private final AtomicLong actionsSent = new AtomicLong();
+
+    private ServerSocket mqttServer;
+    private ServerSocket webSocketServer;
+    private ExecutorService connectionExecutor;
+    private ScheduledExecutorService replyScheduler;
+
+    @Autowired
+    public LoopbackFacade(LoopbackProperties properties) {
+        this.properties = properties;
+        this.seedRandom = properties.getSeed() != null ? new SplittableRandom(properties.getSeed()) : new SplittableRandom();
+    }
+
+    /**
+     * 启动监听，已启动时直接返回
+     */
+    public synchronized void start() throws IOException {
+        if (mqttServer != null) {
+            return;
+        }
+        InetAddress loopback = InetAddress.getLoopbackAddress();
+        connectionExecutor = VirtualThreads.newPerTaskExecutor("loopback");
+        replyScheduler = Executors.newSingleThreadScheduledExecutor(VirtualThreads.namedDaemonFactory("loopback-reply"));
+        mqttServer = new ServerSocket(properties.getMqttPort(), 1024, loopback);
+        webSocketServer = new ServerSocket(properties.getWebsocketPort(), 1024, loopback);
+        // 每种协议一个派生源，由各自的接受线程按连接顺序继续派生
+        SplittableRandom mqttRandoms = seedRandom.split();
+        SplittableRandom webSocketRandoms = seedRandom.split();
+        connectionExecutor.execute(() -> acceptLoop(mqttServer, mqttRandoms, this::serveMqtt));
+        connectionExecutor.execute(() -> acceptLoop(webSocketServer, webSocketRandoms, this::serveWebSocket));
+        log.info("本地回环服务已启动: {}，{}", getMqttUrl(), getWebSocketUrl());
+    }
+
+    public String getMqttUrl() {
+        return "mqtt://127.0.0.1:" + mqttServer.getLocalPort();
+    }
+
+    public String getWebSocketUrl() {
+        return "ws://127.0.0.1:" + webSocketServer.getLocalPort();
+    }
+
+    /**
+     * 自启动以来的累计统计
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("loopback.connections", connectionCount.get());
+        stats.put("loopback.eventsReceived", eventsReceived.get());
+        stats.put("loopback.eventsDropped", eventsDropped.get());
+        stats.put("loopback.actionsSent", actionsSent.get());
+        return stats;
+    }
+
+    @PreDestroy
+    @Override
+    public synchronized void close() {
+        if (mqttServer == null) {
+            return;
+        }
+        closeQuietly(mqttServer);
+        closeQuietly(webSocketServer);
+        sockets.forEach(LoopbackFacade::closeQuietly);
+        connectionExecutor.shutdownNow();
+        replyScheduler.shutdownNow();
+        mqttServer = null;
+        webSocketServer = null;
+        log.info("本地回环服务已关闭");
+    }
+
+    private void acceptLoop(ServerSocket server, SplittableRandom randoms,
+                            BiConsumer<Socket, SplittableRandom> handler) {
+        while (!server.isClosed()) {
+            try {
+                Socket socket = server.accept();
+                socket.setTcpNoDelay(true);
+                sockets.add(socket);
+                connectionCount.incrementAndGet();
+                SplittableRandom random = randoms.split();
+                connectionExecutor.execute(() -> {
+                    try {
+                        handler.accept(socket, random);
+                    } finally {
+                        sockets.remove(socket);
+                        closeQuietly(socket);
+                    }
+                });
+            } catch (IOException e) {
+                if (!server.isClosed()) {
+                    log.warn("本地回环服务接受连接失败: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    // ---------------------------------------------------------------- 事件处理
+
+    /**
+     * 按丢弃率决定是否处理收到的事件
+     * @return 事件被丢弃时返回 false，调用方既不确认也不回复动作
+     */
+    private boolean admit(ReplyChannel channel) {
+        eventsReceived.incrementAndGet();
+        if (properties.getDropRate() > 0 && channel.random.nextDouble() < properties.getDropRate()) {
+            eventsDropped.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 按事件类型回复动作，延迟为 0 时在当前（连接）线程直接回写，否则到期后交给连接的回复队列
+     */
+    private void respond(byte[] payload, ReplyChannel channel) {
+        Map<?, ?> event = parseEvent(payload);
+        String eventType = stringField(event, "type", "eventType");
+        List<String> actions = eventType != null && properties.getActions().containsKey(eventType)
+                ? properties.getActions().get(eventType) : properties.getDefaultActions();
+        for (String metaActionId : actions) {
+            Map<String, Object> action = new LinkedHashMap<>();
+            action.put("id", UUID.randomUUID().toString());
+            action.put("metaActionId", metaActionId);
+            action.put("terminalId", channel.terminalId());
+            action.put("eventId", stringField(event, "id", "eventId"));
+            action.put("eventType", eventType);
+            action.put("timestamp", System.currentTimeMillis());
+            byte[] json = MessageUtils.toJson(action).getBytes(StandardCharsets.UTF_8);
+
+            long delayNanos = sampleLatencyNanos(channel.random);
+            if (delayNanos <= 0) {
+                reply(channel, json);
+            } else {
+                replyScheduler.schedule(() -> channel.replyLater(json), delayNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private void reply(ReplyChannel channel, byte[] json) {
+        try {
+            if (channel.sendAction(json)) {
+                actionsSent.incrementAndGet();
+            }
+        } catch (IOException e) {
+            log.debug("终端 {} 动作回复失败: {}", channel.terminalId(), e.getMessage());
+        }
+    }
+
+    private long sampleLatencyNanos(SplittableRandom random) {
+        double millis = switch (properties.getLatencyDistribution()) {
+            case FIXED -> properties.getLatencyMs();
+            case UNIFORM -> properties.getMinLatencyMs()
+                    + random.nextDouble() * (properties.getMaxLatencyMs() - properties.getMinLatencyMs());
+            case EXPONENTIAL -> -properties.getLatencyMs() * Math.log(1 - random.nextDouble());
+        };
+        return Math.round(millis * 1_000_000);
+    }
+
+    private static Map<?, ?> parseEvent(byte[] payload) {
+        try {
+            Map<?, ?> event = MessageUtils.fromJson(new String(payload, StandardCharsets.UTF_8), Map.class);
+            return event != null ? event : Map.of();
+        } catch (Exception e) {
+            return Map.of();
+        }
+    }
+
+    private static String stringField(Map<?, ?> event, String... names) {
+        for (String name : names) {
+            if (event.get(name) != null) {
+                return String.valueOf(event.get(name));
+            }
+        }
+        for (String envelope : new String[]{"event", "data"}) {
+            if (event.get(envelope) instanceof Map<?, ?> nested) {
+                for (String name : names) {
+                    if (nested.get(name) != null) {
+                        return String.valueOf(nested.get(name));
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 向终端回写动作的通道，只在所属连接的线程上抽样随机数
+     */
+    private abstract class ReplyChannel {
+        private final SplittableRandom random;
+        private final Queue<byte[]> delayedReplies = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private ReplyChannel(SplittableRandom random) {
+            this.random = random;
+        }
+
+        abstract String terminalId();
+
+        /**
+         * @return 动作实际写出时返回 true
+         */
+        abstract boolean sendAction(byte[] json) throws IOException;
+
+        /**
+         * 在定时线程上调用：只入队，由连接的虚拟线程按到期顺序依次写出
+         */
+        private void replyLater(byte[] json) {
+            delayedReplies.add(json);
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    connectionExecutor.execute(this::drainReplies);
+                } catch (RejectedExecutionException e) {
+                    // 服务已关闭
+                    delayedReplies.clear();
+                }
+            }
+        }
+
+        private void drainReplies() {
+            do {
+                byte[] json;
+                while ((json = delayedReplies.poll()) != null) {
+                    reply(this, json);
+                }
+                draining.set(false);
+            } while (!delayedReplies.isEmpty() && draining.compareAndSet(false, true));
+        }
+    }
+
+    // ---------------------------------------------------------------- MQTT
+
+    private void serveMqtt(Socket socket, SplittableRandom random) {
+        try {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            MqttSession session = new MqttSession(new BufferedOutputStream(socket.getOutputStream()), random);
+            while (true) {
+                int header = in.read();
+                if (header < 0) {
+                    return;
+                }
+                byte[] body = new byte[readVariableLength(in)];
+                in.readFully(body);
+                ByteBuffer buffer = ByteBuffer.wrap(body);
+
+                switch (header >>> 4) {
+                    case 1 -> session.onConnect(buffer);
+                    case 3 -> session.onPublish(header & 0x0F, buffer);
+                    case 6 -> session.write(new byte[]{0x70, 0x02, body[0], body[1]});  // PUBREL -> PUBCOMP
+                    case 8 -> session.onSubscribe(buffer);
+                    case 10 -> session.onUnsubscribe(buffer);
+                    case 12 -> session.write(new byte[]{(byte) 0xD0, 0x00});  // PINGREQ -> PINGRESP
+                    case 14 -> {
+                        return;
+                    }
+                    default -> {
+                        // 客户端对服务端 QoS 0 发布无需确认，其余报文忽略
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.debug("MQTT 连接结束: {}", e.getMessage());
+        }
+    }
+
+    private final class MqttSession extends ReplyChannel {
+        private final OutputStream out;
+        private final List<String> topics = new CopyOnWriteArrayList<>();
+        private volatile String clientId = "";
+        private int protocolLevel = 4;
+
+        private MqttSession(OutputStream out, SplittableRandom random) {
+            super(random);
+            this.out = out;
+        }
+
+        private void onConnect(ByteBuffer body) throws IOException {
+            readString(body);  // 协议名
+            protocolLevel = body.get() & 0xFF;
+            body.get();        // 连接标志
+            body.getShort();   // keep alive
+            skipProperties(body);
+            clientId = readString(body);
+            write(protocolLevel == MQTT_V5
+                    ? new byte[]{0x20, 0x03, 0x00, 0x00, 0x00}
+                    : new byte[]{0x20, 0x02, 0x00, 0x00});
+        }
+
+        private void onPublish(int flags, ByteBuffer body) throws IOException {
+            int qos = (flags >> 1) & 0x03;
+            readString(body);  // 主题
+            int packetId = qos > 0 ? body.getShort() & 0xFFFF : 0;
+            skipProperties(body);
+            byte[] payload = new byte[body.remaining()];
+            body.get(payload);
+
+            if (!admit(this)) {
+                return;
+            }
+            if (qos > 0) {
+                // QoS 1 回复 PUBACK，QoS 2 回复 PUBREC
+                write(new byte[]{(byte) (qos == 1 ? 0x40 : 0x50), 0x02, (byte) (packetId >> 8), (byte) packetId});
+            }
+            respond(payload, this);
+        }
+
+        private void onSubscribe(ByteBuffer body) throws IOException {
+            int packetId = body.getShort() & 0xFFFF;
+            skipProperties(body);
+            ByteArrayOutputStream granted = new ByteArrayOutputStream();
+            while (body.hasRemaining()) {
+                topics.add(readString(body));
+                granted.write(Math.min(body.get() & 0x03, 1));
+            }
+            writeAck(0x90, packetId, granted.toByteArray());
+        }
+
+        private void onUnsubscribe(ByteBuffer body) throws IOException {
+            int packetId = body.getShort() & 0xFFFF;
+            skipProperties(body);
+            int count = 0;
+            while (body.hasRemaining()) {
+                topics.remove(readString(body));
+                count++;
+            }
+            // MQTT 3.1.1 的 UNSUBACK 没有原因码
+            writeAck(0xB0, packetId, protocolLevel == MQTT_V5 ? new byte[count] : new byte[0]);
+        }
+
+        /**
+         * 带报文ID的确认：MQTT 5 在报文ID后附加空属性
+         */
+        private void writeAck(int type, int packetId, byte[] codes) throws IOException {
+            ByteArrayOutputStream packet = new ByteArrayOutputStream();
+            int properties = protocolLevel == MQTT_V5 ? 1 : 0;
+            packet.write(type);
+            writeVariableLength(packet, 2 + properties + codes.length);
+            packet.write(packetId >> 8);
+            packet.write(packetId);
+            if (properties > 0) {
+                packet.write(0);
+            }
+            packet.write(codes);
+            write(packet.toByteArray());
+        }
+
+        @Override
+        String terminalId() {
+            return clientId;
+        }
+
+        @Override
+        boolean sendAction(byte[] json) throws IOException {
+            boolean sent = false;
+            for (String filter : topics) {
+                byte[] topic = actionTopic(filter).getBytes(StandardCharsets.UTF_8);
+                ByteArrayOutputStream packet = new ByteArrayOutputStream(json.length + topic.length + 8);
+                packet.write(0x30);
+                writeVariableLength(packet, 2 + topic.length + (protocolLevel == MQTT_V5 ? 1 : 0) + json.length);
+                packet.write(topic.length >> 8);
+                packet.write(topic.length);
+                packet.write(topic);
+                if (protocolLevel == MQTT_V5) {
+                    packet.write(0);
+                }
+                packet.write(json);
+                write(packet.toByteArray());
+                sent = true;
+            }
+            return sent;
+        }
+
+        private String actionTopic(String filter) {
+            if (filter.indexOf('+') < 0 && filter.indexOf('#') < 0) {
+                return filter;
+            }
+            String[] levels = filter.split("/", -1);
+            for (int i = 0; i < levels.length; i++) {
+                if (levels[i].equals("+")) {
+                    levels[i] = clientId;
+                } else if (levels[i].equals("#")) {
+                    levels[i] = "action";
+                }
+            }
+            return String.join("/", levels);
+        }
+
+        private void write(byte[] packet) throws IOException {
+            synchronized (out) {
+                out.write(packet);
+                out.flush();
+            }
+        }
+
+        private void skipProperties(ByteBuffer body) throws IOException {
+            if (protocolLevel == MQTT_V5) {
+                int length = readVariableLength(body);
+                body.position(body.position() + length);
+            }
+        }
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getShort() & 0xFFFF;
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int readVariableLength(InputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 28; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException();
+            }
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return checkLength(value);
+            }
+        }
+        throw new IOException("MQTT 剩余长度格式错误");
+    }
+
+    private static int readVariableLength(ByteBuffer buffer) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 28; shift += 7) {
+            int b = buffer.get() & 0xFF;
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("MQTT 属性长度格式错误");
+    }
+
+    private static void writeVariableLength(ByteArrayOutputStream out, int value) {
+        do {
+            int b = value & 0x7F;
+            value >>>= 7;
+            out.write(value > 0 ? b | 0x80 : b);
+        } while (value > 0);
+    }
+
+    // ---------------------------------------------------------------- WebSocket
+
+    private void serveWebSocket(Socket socket, SplittableRandom random) {
+        try {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            OutputStream out = new BufferedOutputStream(socket.getOutputStream());
+            Map<String, String> headers = readHttpHeaders(in);
+            String key = headers.get("sec-websocket-key");
+            if (key == null) {
+                out.write("HTTP/1.1 400 Bad Request\r\nContent-Length: 0\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+                out.flush();
+                return;
+            }
+
+            StringBuilder response = new StringBuilder("HTTP/1.1 101 Switching Protocols\r\n")
+                    .append("Upgrade: websocket\r\nConnection: Upgrade\r\n")
+                    .append("Sec-WebSocket-Accept: ").append(acceptKey(key)).append("\r\n");
+            String subProtocols = headers.get("sec-websocket-protocol");
+            if (subProtocols != null) {
+                response.append("Sec-WebSocket-Protocol: ").append(subProtocols.split(",")[0].trim()).append("\r\n");
+            }
+            out.write(response.append("\r\n").toString().getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+
+            WebSocketSession session = new WebSocketSession(out, headers.getOrDefault("path", ""), random);
+            ByteArrayOutputStream message = new ByteArrayOutputStream();
+            while (true) {
+                int first = in.read();
+                if (first < 0) {
+                    return;
+                }
+                int second = in.readUnsignedByte();
+                int opcode = first & 0x0F;
+                long length = second & 0x7F;
+                if (length == 126) {
+                    length = in.readUnsignedShort();
+                } else if (length == 127) {
+                    length = in.readLong();
+                }
+                if (length > MAX_MESSAGE_BYTES || message.size() + length > MAX_MESSAGE_BYTES) {
+                    throw new IOException("WebSocket 消息过大: " + length);
+                }
+                byte[] mask = new byte[4];
+                if ((second & 0x80) != 0) {
+                    in.readFully(mask);
+                }
+                byte[] payload = new byte[(int) length];
+                in.readFully(payload);
+                for (int i = 0; i < payload.length; i++) {
+                    payload[i] ^= mask[i & 3];
+                }
+
+                switch (opcode) {
+                    case 0, 1, 2 -> {
+                        message.write(payload);
+                        if ((first & 0x80) != 0) {
+                            if (admit(session)) {
+                                respond(message.toByteArray(), session);
+                            }
+                            message.reset();
+                        }
+                    }
+                    case 8 -> {
+                        session.writeFrame(0x8, payload);
+                        return;
+                    }
+                    case 9 -> session.writeFrame(0xA, payload);
+                    default -> {
+                        // pong 等控制帧忽略
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.debug("WebSocket 连接结束: {}", e.getMessage());
+        }
+    }
+
+    private final class WebSocketSession extends ReplyChannel {
+        private final OutputStream out;
+        private final String terminalId;
+
+        private WebSocketSession(OutputStream out, String path, SplittableRandom random) {
+            super(random);
+            this.out = out;
+            this.terminalId = path;
+        }
+
+        @Override
+        String terminalId() {
+            return terminalId;
+        }
+
+        @Override
+        boolean sendAction(byte[] json) throws IOException {
+            writeFrame(0x1, json);
+            return true;
+        }
+
+        private void writeFrame(int opcode, byte[] payload) throws IOException {
+            ByteArrayOutputStream frame = new ByteArrayOutputStream(payload.length + 10);
+            frame.write(0x80 | opcode);
+            if (payload.length < 126) {
+                frame.write(payload.length);
+            } else if (payload.length <= 0xFFFF) {
+                frame.write(126);
+                frame.write(payload.length >> 8);
+                frame.write(payload.length);
+            } else {
+                frame.write(127);
+                frame.writeBytes(ByteBuffer.allocate(8).putLong(payload.length).array());
+            }
+            frame.write(payload);
+            synchronized (out) {
+                out.write(frame.toByteArray());
+                out.flush();
+            }
+        }
+    }
+
+    /**
+     * 读取 HTTP 升级请求头，键转为小写；请求路径以 path 为键
+     */
+    private static Map<String, String> readHttpHeaders(InputStream in) throws IOException {
+        Map<String, String> headers = new LinkedHashMap<>();
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        boolean requestLine = true;
+        int total = 0;
+        while (true) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException("HTTP 请求不完整");
+            }
+            if (++total > 64 * 1024) {
+                throw new IOException("HTTP 请求头过大");
+            }
+            if (b != '\n') {
+                if (b != '\r') {
+                    line.write(b);
+                }
+                continue;
+            }
+            String text = line.toString(StandardCharsets.ISO_8859_1);
+            line.reset();
+            if (text.isEmpty()) {
+                return headers;
+            }
+            if (requestLine) {
+                String[] parts = text.split(" ");
+                headers.put("path", parts.length > 1 ? parts[1] : "");
+                requestLine = false;
+            } else {
+                int colon = text.indexOf(':');
+                if (colon > 0) {
+                    headers.put(text.substring(0, colon).trim().toLowerCase(Locale.ROOT), text.substring(colon + 1).trim());
+                }
+            }
+        }
+    }
+
+    private static String acceptKey(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1")
+                    .digest((key + WEBSOCKET_GUID).getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int checkLength(int length) throws IOException {
+        if (length > MAX_MESSAGE_BYTES) {
+            throw new IOException("MQTT 报文过大: " + length);
+        }
+        return length;
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception ignored) {
+            // 关闭失败无需处理
+        }
+    }
+}
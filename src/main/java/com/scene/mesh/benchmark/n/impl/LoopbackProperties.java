@@ -0,0 +1,63 @@
+package com.scene.mesh.benchmark.n.impl;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 本地回环服务配置（scene-mesh.loopback）
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "scene-mesh.loopback")
+public class LoopbackProperties {
+
+    /**
+     * 监听端口，0 表示随机可用端口
+     */
+    private int mqttPort;
+    private int websocketPort;
+
+    /**
+     * 各事件类型回复的动作（metaActionId 列表）
+     */
+    private Map<String, List<String>> actions = new LinkedHashMap<>();
+
+    /**
+     * 未在 actions 中配置的事件类型回复的动作，默认不回复
+     */
+    private List<String> defaultActions = List.of();
+
+    /**
+     * 回复延迟分布
+     */
+    private LatencyDistribution latencyDistribution = LatencyDistribution.FIXED;
+
+    /**
+     * 回复延迟参数（毫秒）：FIXED 使用 latencyMs；UNIFORM 在 [minLatencyMs, maxLatencyMs] 间均匀分布；
+     * EXPONENTIAL 以 latencyMs 为均值
+     */
+    private double latencyMs;
+    private double minLatencyMs;
+    private double maxLatencyMs;
+
+    /**
+     * 事件丢弃概率（0-1），被丢弃的事件既不确认也不回复动作
+     */
+    private double dropRate;
+
+    /**
+     * 延迟与丢弃抽样的随机种子，为空时随机
+     */
+    private Long seed;
+
+    public enum LatencyDistribution {
+        FIXED,
+        UNIFORM,
+        EXPONENTIAL
+    }
+}
@@ -0,0 +1,117 @@
+package com.scene.mesh.benchmark.n.impl;
+
+import com.scene.mesh.benchmark.n.model.EncodedPayload;
+import com.scene.mesh.benchmark.n.spec.IEventSource;
+import com.scene.mesh.sdk.model.TerminalEvent;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.NoSuchElementException;
+
+/**
+ * 内存映射的语料事件源
+ * 按窗口映射语料文件，记录跨越窗口边界时从该记录起重新映射；
+ * payload 以 {@link EncodedPayload} 形式返回，只有在以 Map 方式访问时才解码
+ */
+public class MappedCorpusEventSource implements IEventSource {
+
+    private static final long WINDOW_SIZE = 1L << 28;
+
+    private final FileChannel channel;
+    private final String[] types;
+    private final long eventCount;
+    private final long dataEnd;
+
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long position = EventCorpus.HEADER_SIZE;
+    private long consumed;
+
+    public MappedCorpusEventSource(Path file) {
+        EventCorpus.Header header = EventCorpus.readHeader(file);
+        if (header == null) {
+            throw new IllegalArgumentException("无效的事件语料文件: " + file);
+        }
+        try {
+            this.channel = FileChannel.open(file, StandardOpenOption.READ);
+            this.eventCount = header.eventCount();
+            this.dataEnd = header.typeTableOffset();
+            this.types = readTypes(channel, header.typeTableOffset());
+        } catch (IOException e) {
+            throw new UncheckedIOException("打开事件语料失败: " + file, e);
+        }
+    }
+
+    private static String[] readTypes(FileChannel channel, long offset) throws IOException {
+        ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, channel.size() - offset);
+        String[] types = new String[buffer.getShort()];
+        for (int i = 0; i < types.length; i++) {
+            byte[] bytes = new byte[buffer.getShort()];
+            buffer.get(bytes);
+            types[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return types;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return consumed < eventCount;
+    }
+
+    @Override
+    public TerminalEvent next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        ensureMapped(EventCorpus.RECORD_HEADER_SIZE);
+        int offset = (int) (position - windowStart);
+        short typeId = window.getShort(offset);
+        int length = window.getInt(offset + 2);
+
+        ensureMapped(EventCorpus.RECORD_HEADER_SIZE + length);
+        offset = (int) (position - windowStart);
+        byte[] payload = new byte[length];
+        window.get(offset + EventCorpus.RECORD_HEADER_SIZE, payload);
+
+        position += EventCorpus.RECORD_HEADER_SIZE + length;
+        consumed++;
+        return new TerminalEvent(types[typeId], EncodedPayload.lazy(payload, EventCorpus::decodePayload));
+    }
+
+    @Override
+    public long getTotalEvents() {
+        return eventCount;
+    }
+
+    @Override
+    public void close() {
+        window = null;
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 确保当前位置起 length 字节位于映射窗口内
+     */
+    private void ensureMapped(int length) {
+        if (window != null && position + length <= windowStart + window.capacity()) {
+            return;
+        }
+        long size = Math.max(length, Math.min(WINDOW_SIZE, dataEnd - position));
+        try {
+            window = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+            windowStart = position;
+        } catch (IOException e) {
+            throw new UncheckedIOException("映射事件语料失败", e);
+        }
+    }
+}
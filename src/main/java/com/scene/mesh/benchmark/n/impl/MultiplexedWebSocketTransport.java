@@ -0,0 +1,662 @@
+package com.scene.mesh.benchmark.n.impl;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.scene.mesh.benchmark.n.model.EncodedPayload;
+import com.scene.mesh.benchmark.n.model.TestSuite;
+import com.scene.mesh.benchmark.n.spec.ITerminalConnection;
+import com.scene.mesh.benchmark.n.spec.ITerminalTransport;
+import com.scene.mesh.sdk.model.TerminalAction;
+import com.scene.mesh.sdk.model.TerminalEvent;
+import com.scene.mesh.sdk.util.MessageUtils;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * 多路复用 WebSocket 传输（WS-NIO）
+ * 所有终端连接共享一个 NIO 事件循环线程：读取使用循环线程独占的一块直接缓冲区，
+ * 只有跨读取边界的不完整帧才为连接单独保留剩余字节；发送帧使用池化的直接缓冲区，写完即归还，
+ * 同一连接排队的多个帧合并为一次聚集写。
+ * 每个连接只占用一个 SocketChannel 与少量状态对象，单个 JVM 可以模拟数万个终端。
+ * 事件以 TerminalEvent 的 JSON 文本帧发送，payload 已预编码（{@link EncodedPayload}）时直接以其字节组帧，
+ * 只序列化外层的少量字段；写入套接字即视为发送成功；收到的文本帧按 JSON 解析为动作
+ */
+@Slf4j
+@Component
+public class MultiplexedWebSocketTransport implements ITerminalTransport, AutoCloseable {
+
+    public static final String NAME = "WS-NIO";
+
+    private static final String WEBSOCKET_GUID = "258EAFA5-E914-47DA-95CA-C5AB0DC85B11";
+    private static final int READ_BUFFER_BYTES = 256 * 1024;
+    private static final int POOLED_BUFFER_BYTES = 4096;
+    private static final int MAX_POOLED_BUFFERS = 8192;
+    private static final int MAX_GATHER_BUFFERS = 64;
+    private static final int MAX_HANDSHAKE_BYTES = 64 * 1024;
+    private static final int MAX_MESSAGE_BYTES = 16 * 1024 * 1024;
+
+    private static final int OP_CONTINUATION = 0x0;
+    private static final int OP_TEXT = 0x1;
+    private static final int OP_BINARY = 0x2;
+    private static final int OP_CLOSE = 0x8;
+    private static final int OP_PING = 0x9;
+    private static final int OP_PONG = 0xA;
+
+    private final FacadeEndpoints facadeEndpoints;
+    private final String pathTemplate;
+    private final long connectTimeoutMs;
+
+    private final Queue<Runnable> loopTasks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean wakeupPending = new AtomicBoolean();
+    private final Queue<ByteBuffer> bufferPool = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooledBuffers = new AtomicInteger();
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_BYTES);
+    private final ByteBuffer[] gatherBuffers = new ByteBuffer[MAX_GATHER_BUFFERS];
+
+    private volatile Selector selector;
+    private volatile boolean running;
+    private Thread eventLoop;
+
+    @Autowired
+    public MultiplexedWebSocketTransport(FacadeEndpoints facadeEndpoints,
+                                         @Value("${scene-mesh.transport.ws-nio.path:/terminal?productId={productId}&terminalId={terminalId}&secretKey={secretKey}}") String pathTemplate,
+                                         @Value("${scene-mesh.transport.ws-nio.connect-timeout-ms:10000}") long connectTimeoutMs) {
+        this.facadeEndpoints = facadeEndpoints;
+        this.pathTemplate = pathTemplate;
+        this.connectTimeoutMs = connectTimeoutMs;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public ITerminalConnection connect(TestSuite testSuite, String terminalId, Consumer<TerminalAction> actionHandler)
+            throws IOException, InterruptedException {
+        ensureStarted();
+        URI uri = URI.create(facadeEndpoints.getWebSocketUrl());
+        int port = uri.getPort() > 0 ? uri.getPort() : 80;
+        String path = pathTemplate
+                .replace("{productId}", encode(testSuite.getProductId()))
+                .replace("{terminalId}", encode(terminalId))
+                .replace("{secretKey}", encode(testSuite.getSecretKey()));
+
+        SocketChannel channel = SocketChannel.open();
+        Connection connection = new Connection(terminalId, channel, actionHandler, uri.getHost() + ":" + port, path);
+        try {
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            boolean connected = channel.connect(new InetSocketAddress(uri.getHost(), port));
+            execute(() -> connection.register(connected));
+            connection.handshake.get(connectTimeoutMs, TimeUnit.MILLISECONDS);
+            return connection;
+        } catch (ExecutionException e) {
+            connection.close();
+            throw new IOException("WebSocket 连接失败: " + e.getCause().getMessage(), e.getCause());
+        } catch (TimeoutException e) {
+            connection.close();
+            throw new IOException("WebSocket 连接超时: " + connectTimeoutMs + "ms");
+        } catch (IOException | RuntimeException | InterruptedException e) {
+            connection.close();
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    @Override
+    public synchronized void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        selector.wakeup();
+        try {
+            eventLoop.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private synchronized void ensureStarted() throws IOException {
+        if (running) {
+            return;
+        }
+        selector = Selector.open();
+        running = true;
+        eventLoop = new Thread(this::runEventLoop, "ws-nio-loop");
+        eventLoop.setDaemon(true);
+        eventLoop.start();
+        log.info("多路复用 WebSocket 事件循环已启动");
+    }
+
+    /**
+     * 在事件循环线程上执行任务，多次提交只唤醒一次选择器
+     */
+    private void execute(Runnable task) {
+        loopTasks.add(task);
+        if (wakeupPending.compareAndSet(false, true)) {
+            selector.wakeup();
+        }
+    }
+
+    private void runEventLoop() {
+        try {
+            while (running) {
+                selector.select();
+                wakeupPending.set(false);
+                Runnable task;
+                while ((task = loopTasks.poll()) != null) {
+                    task.run();
+                }
+                for (SelectionKey key : selector.selectedKeys()) {
+                    Connection connection = (Connection) key.attachment();
+                    try {
+                        if (key.isValid() && key.isConnectable()) {
+                            connection.finishConnect();
+                        }
+                        if (key.isValid() && key.isReadable()) {
+                            connection.read();
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            connection.flush();
+                        }
+                    } catch (IOException | RuntimeException e) {
+                        connection.fail(e);
+                    }
+                }
+                selector.selectedKeys().clear();
+            }
+        } catch (IOException e) {
+            log.error("多路复用 WebSocket 事件循环异常退出", e);
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                ((Connection) key.attachment()).fail(new IOException("传输已关闭"));
+            }
+            try {
+                selector.close();
+            } catch (IOException ignored) {
+                // 关闭失败无需处理
+            }
+            running = false;
+        }
+    }
+
+    // ---------------------------------------------------------------- 缓冲区池
+
+    private ByteBuffer acquireBuffer(int size) {
+        if (size > POOLED_BUFFER_BYTES) {
+            return ByteBuffer.allocate(size);
+        }
+        ByteBuffer buffer = bufferPool.poll();
+        if (buffer == null) {
+            return ByteBuffer.allocateDirect(POOLED_BUFFER_BYTES);
+        }
+        pooledBuffers.decrementAndGet();
+        buffer.clear();
+        return buffer;
+    }
+
+    private void releaseBuffer(ByteBuffer buffer) {
+        if (buffer.isDirect() && buffer.capacity() == POOLED_BUFFER_BYTES
+                && pooledBuffers.incrementAndGet() <= MAX_POOLED_BUFFERS) {
+            bufferPool.add(buffer);
+        } else if (buffer.isDirect() && buffer.capacity() == POOLED_BUFFER_BYTES) {
+            pooledBuffers.decrementAndGet();
+        }
+    }
+
+    /**
+     * 编码客户端帧（必须带掩码），帧内容为各分段依次拼接，掩码时直接写入帧缓冲区
+     */
+    private ByteBuffer encodeFrame(int opcode, byte[]... segments) {
+        int length = 0;
+        for (byte[] segment : segments) {
+            length += segment.length;
+        }
+        int extended = length < 126 ? 0 : length <= 0xFFFF ? 2 : 8;
+        ByteBuffer frame = acquireBuffer(2 + extended + 4 + length);
+        frame.put((byte) (0x80 | opcode));
+        if (extended == 0) {
+            frame.put((byte) (0x80 | length));
+        } else if (extended == 2) {
+            frame.put((byte) (0x80 | 126)).putShort((short) length);
+        } else {
+            frame.put((byte) (0x80 | 127)).putLong(length);
+        }
+        int mask = ThreadLocalRandom.current().nextInt();
+        frame.putInt(mask);
+        int position = 0;
+        for (byte[] segment : segments) {
+            for (byte b : segment) {
+                frame.put((byte) (b ^ (mask >>> (24 - 8 * (position++ & 3)))));
+            }
+        }
+        return frame.flip();
+    }
+
+    /**
+     * 事件 JSON 的分段：payload 已预编码时原样作为中间段，前后只拼接 TerminalEvent 的其余字段，
+     * 不再把 payload 解码为 Map 后重新序列化
+     */
+    private static byte[][] eventSegments(TerminalEvent event) {
+        if (!(event.getPayload() instanceof EncodedPayload encodedPayload)) {
+            return new byte[][]{MessageUtils.toJson(event).getBytes(StandardCharsets.UTF_8)};
+        }
+        String head = "{\"id\":" + jsonString(event.getId())
+                + ",\"type\":" + jsonString(event.getType()) + ",\"payload\":";
+        String tail = ",\"timestamp\":" + event.getTimestamp() + "}";
+        return new byte[][]{head.getBytes(StandardCharsets.UTF_8), encodedPayload.getEncoded(),
+                tail.getBytes(StandardCharsets.UTF_8)};
+    }
+
+    private static String jsonString(String value) {
+        return value == null ? "null" : "\"" + new String(JsonStringEncoder.getInstance().quoteAsString(value)) + "\"";
+    }
+
+    private record PendingWrite(ByteBuffer buffer, CompletableFuture<Boolean> future) {
+    }
+
+    // ---------------------------------------------------------------- 连接
+
+    private final class Connection implements ITerminalConnection {
+        private final String terminalId;
+        private final SocketChannel channel;
+        private final Consumer<TerminalAction> actionHandler;
+        private final String host;
+        private final String path;
+        private final CompletableFuture<Void> handshake = new CompletableFuture<>();
+        private final Queue<PendingWrite> outbound = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean flushScheduled = new AtomicBoolean();
+        private volatile boolean closed;
+        // 已请求关闭，之后提交的事件直接失败
+        private volatile boolean closing;
+
+        // 以下字段只在事件循环线程访问
+        private SelectionKey key;
+        private String expectedAccept;
+        private ByteBuffer remainder;
+        private ByteArrayOutputStream fragments;
+
+        private Connection(String terminalId, SocketChannel channel, Consumer<TerminalAction> actionHandler,
+                           String host, String path) {
+            this.terminalId = terminalId;
+            this.channel = channel;
+            this.actionHandler = actionHandler;
+            this.host = host;
+            this.path = path;
+        }
+
+        @Override
+        public String getTerminalId() {
+            return terminalId;
+        }
+
+        @Override
+        public CompletableFuture<Boolean> sendEvent(TerminalEvent event) {
+            if (closing || closed) {
+                return CompletableFuture.failedFuture(new IOException("连接已关闭"));
+            }
+            CompletableFuture<Boolean> future = new CompletableFuture<>();
+            outbound.add(new PendingWrite(encodeFrame(OP_TEXT, eventSegments(event)), future));
+            scheduleFlush();
+            return future;
+        }
+
+        /**
+         * 批量发送：所有帧入队后只调度一次刷新，由事件循环合并为聚集写
+         */
+        @Override
+        public List<CompletableFuture<Boolean>> sendEvents(List<TerminalEvent> events) {
+            List<CompletableFuture<Boolean>> futures = new ArrayList<>(events.size());
+            for (TerminalEvent event : events) {
+                if (closing || closed) {
+                    futures.add(CompletableFuture.failedFuture(new IOException("连接已关闭")));
+                    continue;
+                }
+                CompletableFuture<Boolean> future = new CompletableFuture<>();
+                outbound.add(new PendingWrite(encodeFrame(OP_TEXT, eventSegments(event)), future));
+                futures.add(future);
+            }
+            scheduleFlush();
+            return futures;
+        }
+
+        @Override
+        public void close() {
+            if (closing) {
+                return;
+            }
+            closing = true;
+            if (closed || !running) {
+                closed = true;
+                closeChannel();
+                return;
+            }
+            outbound.add(new PendingWrite(encodeFrame(OP_CLOSE, new byte[]{0x03, (byte) 0xE8}), null));
+            execute(() -> {
+                try {
+                    flush();
+                } catch (IOException ignored) {
+                    // 关闭帧发送失败时直接断开
+                }
+                fail(new IOException("连接已关闭"));
+            });
+        }
+
+        private void register(boolean connected) {
+            try {
+                key = channel.register(selector, connected ? SelectionKey.OP_READ : SelectionKey.OP_CONNECT, this);
+                if (connected) {
+                    sendHandshake();
+                }
+            } catch (IOException | RuntimeException e) {
+                fail(e);
+            }
+        }
+
+        private void finishConnect() throws IOException {
+            if (channel.finishConnect()) {
+                key.interestOps(SelectionKey.OP_READ);
+                sendHandshake();
+            }
+        }
+
+        private void sendHandshake() throws IOException {
+            byte[] nonce = new byte[16];
+            ThreadLocalRandom.current().nextBytes(nonce);
+            String secKey = Base64.getEncoder().encodeToString(nonce);
+            expectedAccept = acceptKey(secKey);
+            String request = "GET " + path + " HTTP/1.1\r\n" +
+                    "Host: " + host + "\r\n" +
+                    "Upgrade: websocket\r\n" +
+                    "Connection: Upgrade\r\n" +
+                    "Sec-WebSocket-Key: " + secKey + "\r\n" +
+                    "Sec-WebSocket-Version: 13\r\n\r\n";
+            outbound.add(new PendingWrite(ByteBuffer.wrap(request.getBytes(StandardCharsets.US_ASCII)), null));
+            flush();
+        }
+
+        private void scheduleFlush() {
+            if (flushScheduled.compareAndSet(false, true)) {
+                execute(() -> {
+                    try {
+                        flush();
+                    } catch (IOException | RuntimeException e) {
+                        fail(e);
+                    }
+                });
+            }
+        }
+
+        /**
+         * 尽量写出待发送的帧，套接字缓冲区满时关注可写事件，之后继续
+         */
+        private void flush() throws IOException {
+            flushScheduled.set(false);
+            if (closed || key == null || !key.isValid() || channel.isConnectionPending()) {
+                return;
+            }
+            while (true) {
+                // 队首的若干帧合并为一次聚集写，只有事件循环线程出队，遍历顺序即队首顺序
+                int count = 0;
+                for (PendingWrite write : outbound) {
+                    if (count == gatherBuffers.length) {
+                        break;
+                    }
+                    gatherBuffers[count++] = write.buffer();
+                }
+                if (count == 0) {
+                    key.interestOps(SelectionKey.OP_READ);
+                    return;
+                }
+                channel.write(gatherBuffers, 0, count);
+                boolean blocked = false;
+                for (int i = 0; i < count && !blocked; i++) {
+                    if (gatherBuffers[i].hasRemaining()) {
+                        blocked = true;
+                    } else {
+                        PendingWrite write = outbound.poll();
+                        releaseBuffer(write.buffer());
+                        if (write.future() != null) {
+                            write.future().complete(true);
+                        }
+                    }
+                }
+                Arrays.fill(gatherBuffers, 0, count, null);
+                if (blocked) {
+                    key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                    return;
+                }
+            }
+        }
+
+        private void read() throws IOException {
+            readBuffer.clear();
+            int read = channel.read(readBuffer);
+            if (read < 0) {
+                throw new EOFException("服务端关闭连接");
+            }
+            readBuffer.flip();
+
+            ByteBuffer input = readBuffer;
+            if (remainder != null) {
+                input = ByteBuffer.allocate(remainder.remaining() + readBuffer.remaining());
+                input.put(remainder).put(readBuffer).flip();
+                remainder = null;
+            }
+
+            if (!handshake.isDone() && !readHandshakeResponse(input)) {
+                keepRemainder(input);
+                return;
+            }
+            while (readFrame(input)) {
+                // 逐帧处理
+            }
+            keepRemainder(input);
+        }
+
+        private void keepRemainder(ByteBuffer input) {
+            if (input.hasRemaining()) {
+                remainder = ByteBuffer.allocate(input.remaining());
+                remainder.put(input).flip();
+            }
+        }
+
+        /**
+         * @return 握手响应已完整读取时返回 true
+         */
+        private boolean readHandshakeResponse(ByteBuffer input) throws IOException {
+            int end = -1;
+            for (int i = input.position(); i + 3 < input.limit(); i++) {
+                if (input.get(i) == '\r' && input.get(i + 1) == '\n' && input.get(i + 2) == '\r' && input.get(i + 3) == '\n') {
+                    end = i + 4;
+                    break;
+                }
+            }
+            if (end < 0) {
+                if (input.remaining() > MAX_HANDSHAKE_BYTES) {
+                    throw new IOException("握手响应过大");
+                }
+                return false;
+            }
+
+            byte[] header = new byte[end - input.position()];
+            input.get(header);
+            String response = new String(header, StandardCharsets.ISO_8859_1);
+            if (!response.startsWith("HTTP/1.1 101")) {
+                throw new IOException("握手被拒绝: " + response.lines().findFirst().orElse(""));
+            }
+            boolean accepted = response.lines().anyMatch(line -> {
+                int colon = line.indexOf(':');
+                return colon > 0 && line.substring(0, colon).trim().toLowerCase(Locale.ROOT).equals("sec-websocket-accept")
+                        && line.substring(colon + 1).trim().equals(expectedAccept);
+            });
+            if (!accepted) {
+                throw new IOException("握手响应的 Sec-WebSocket-Accept 不匹配");
+            }
+            handshake.complete(null);
+            return true;
+        }
+
+        /**
+         * 读取一个完整的帧，数据不足时不消费输入
+         * @return 读取到完整帧时返回 true
+         */
+        private boolean readFrame(ByteBuffer input) throws IOException {
+            int start = input.position();
+            if (input.remaining() < 2) {
+                return false;
+            }
+            int first = input.get(start) & 0xFF;
+            int second = input.get(start + 1) & 0xFF;
+            long length = second & 0x7F;
+            int headerLength = 2 + (length == 126 ? 2 : length == 127 ? 8 : 0) + ((second & 0x80) != 0 ? 4 : 0);
+            if (input.remaining() < headerLength) {
+                return false;
+            }
+            if (length == 126) {
+                length = input.getShort(start + 2) & 0xFFFF;
+            } else if (length == 127) {
+                length = input.getLong(start + 2);
+            }
+            if (length > MAX_MESSAGE_BYTES) {
+                throw new IOException("WebSocket 帧过大: " + length);
+            }
+            if (input.remaining() < headerLength + length) {
+                return false;
+            }
+
+            byte[] payload = new byte[(int) length];
+            input.position(start + headerLength);
+            input.get(payload);
+            if ((second & 0x80) != 0) {
+                int maskOffset = start + headerLength - 4;
+                for (int i = 0; i < payload.length; i++) {
+                    payload[i] ^= input.get(maskOffset + (i & 3));
+                }
+            }
+            onFrame(first, payload);
+            return true;
+        }
+
+        private void onFrame(int first, byte[] payload) throws IOException {
+            int opcode = first & 0x0F;
+            boolean fin = (first & 0x80) != 0;
+            switch (opcode) {
+                case OP_TEXT, OP_BINARY, OP_CONTINUATION -> {
+                    if (fin && fragments == null) {
+                        deliver(payload);
+                        return;
+                    }
+                    if (fragments == null) {
+                        fragments = new ByteArrayOutputStream();
+                    }
+                    fragments.write(payload);
+                    if (fragments.size() > MAX_MESSAGE_BYTES) {
+                        throw new IOException("WebSocket 消息过大");
+                    }
+                    if (fin) {
+                        deliver(fragments.toByteArray());
+                        fragments = null;
+                    }
+                }
+                case OP_PING -> {
+                    outbound.add(new PendingWrite(encodeFrame(OP_PONG, payload), null));
+                    flush();
+                }
+                case OP_CLOSE -> throw new EOFException("服务端关闭连接");
+                default -> {
+                    // pong 等控制帧忽略
+                }
+            }
+        }
+
+        private void deliver(byte[] message) {
+            try {
+                Map<?, ?> json = MessageUtils.fromJson(new String(message, StandardCharsets.UTF_8), Map.class);
+                TerminalAction action = new TerminalAction();
+                action.setId(json.get("id") != null ? String.valueOf(json.get("id")) : null);
+                action.setMetaActionId(json.get("metaActionId") != null ? String.valueOf(json.get("metaActionId")) : null);
+                action.setReceivedTimestamp(System.currentTimeMillis());
+                actionHandler.accept(action);
+            } catch (RuntimeException e) {
+                log.debug("终端 {} 无法解析的消息: {}", terminalId, e.getMessage());
+            }
+        }
+
+        /**
+         * 关闭连接，未完成的握手与发送都以异常结束
+         */
+        private void fail(Throwable error) {
+            closed = true;
+            handshake.completeExceptionally(error);
+            PendingWrite write;
+            while ((write = outbound.poll()) != null) {
+                releaseBuffer(write.buffer());
+                if (write.future() != null) {
+                    write.future().completeExceptionally(error);
+                }
+            }
+            closeChannel();
+        }
+
+        private void closeChannel() {
+            if (key != null) {
+                key.cancel();
+            }
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // 关闭失败无需处理
+            }
+        }
+    }
+
+    private static String acceptKey(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1")
+                    .digest((key + WEBSOCKET_GUID).getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String encode(String value) {
+        return value != null ? URLEncoder.encode(value, StandardCharsets.UTF_8) : "";
+    }
+}
@@ -0,0 +1,532 @@
+package com.scene.mesh.benchmark.n.impl;
+
+import com.scene.mesh.benchmark.n.spec.ICompiledTemplate;
+import com.scene.mesh.benchmark.n.spec.IRandomSource;
+import com.scene.mesh.benchmark.n.spec.ITemplateEngine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 原生模板引擎
+ * 将 #{...} 表达式直接编译为 Java 节点树，内置函数以预先计算好的参数直接生成随机值；
+ * 无法处理的表达式（变量、运算符、未知函数等）回退到 Aviator 引擎
+ */
+@Slf4j
+@Primary
+@Component
+public class NativeTemplateEngine implements ITemplateEngine {
+
+    private final IRandomSource randomSource;
+    private final ITemplateEngine fallbackEngine;
+    private final Map<String, ICompiledTemplate> compiledTemplateCache = new ConcurrentHashMap<>();
+
+    @Autowired
+    public NativeTemplateEngine(IRandomSource randomSource, AviatorTemplateEngine fallbackEngine) {
+        this.randomSource = randomSource;
+        this.fallbackEngine = fallbackEngine;
+        log.info("Native 模板引擎初始化完成，回退引擎: {}", fallbackEngine.getEngineName());
+    }
+
+    @Override
+    public String processTemplate(String template, Map<String, Object> context) {
+        return compiledTemplateCache.computeIfAbsent(template, this::compileTemplate).render(context);
+    }
+
+    @Override
+    public ICompiledTemplate compileTemplate(String template) {
+        List<String> literals = new ArrayList<>();
+        List<Node> nodes = new ArrayList<>();
+
+        // 与 Aviator 引擎保持一致：#{ 与第一个 } 之间的非空内容为表达式
+        StringBuilder literal = new StringBuilder();
+        int pos = 0;
+        while (pos < template.length()) {
+            int start = template.indexOf("#{", pos);
+            int end = start < 0 ? -1 : template.indexOf('}', start + 2);
+            if (start < 0 || end < 0) {
+                break;
+            }
+            if (end == start + 2) {
+                literal.append(template, pos, end + 1);
+                pos = end + 1;
+                continue;
+            }
+            literal.append(template, pos, start);
+            literals.add(literal.toString());
+            literal.setLength(0);
+            nodes.add(compileExpression(template.substring(start + 2, end)));
+            pos = end + 1;
+        }
+        literal.append(template, pos, template.length());
+        literals.add(literal.toString());
+
+        return new NativeCompiledTemplate(template, literals.toArray(new String[0]), nodes.toArray(new Node[0]));
+    }
+
+    @Override
+    public String getEngineName() {
+        return "Native";
+    }
+
+    /**
+     * 编译单个表达式，不支持的表达式回退到 Aviator
+     */
+    private Node compileExpression(String expression) {
+        try {
+            ExpressionParser parser = new ExpressionParser(expression);
+            Node node = parser.parseExpression();
+            parser.expectEnd();
+            return node;
+        } catch (UnsupportedExpressionException e) {
+            log.debug("表达式 {} 回退到 {} 引擎: {}", expression, fallbackEngine.getEngineName(), e.getMessage());
+            return new FallbackNode(fallbackEngine.compileTemplate("#{" + expression + "}"));
+        }
+    }
+
+    /**
+     * 根据函数名与参数构建内置函数节点
+     */
+    private static Node createFunctionNode(String name, List<Node> args) {
+        for (Node arg : args) {
+            if (!arg.isConstant()) {
+                throw new UnsupportedExpressionException("函数 " + name + " 的参数不是常量");
+            }
+        }
+
+        switch (name) {
+            case "randomString": {
+                requireArgs(name, args, 2);
+                int length = toInt(name, args.get(0));
+                char[] table = RandomGenerators.charsetTable(String.valueOf(constant(args.get(1))));
+                return new RandomStringNode(length, table);
+            }
+            case "randomFrom": {
+                requireArgs(name, args, 1);
+                return new RandomFromNode(toOptions(name, args.get(0)));
+            }
+            case "weightedFrom": {
+                requireArgs(name, args, 2);
+                Object[] options = toOptions(name, args.get(0));
+                double[] weights = toWeights(name, args.get(1));
+                if (weights.length != options.length) {
+                    throw new UnsupportedExpressionException("weightedFrom 的选项与权重数量不一致");
+                }
+                return new SampledFromNode(options, Distributions.weighted(weights));
+            }
+            case "zipf": {
+                requireArgs(name, args, 2);
+                return new ZipfNode(Distributions.zipf(toInt(name, args.get(0)), toDouble(name, args.get(1))));
+            }
+            case "zipfFrom": {
+                requireArgs(name, args, 2);
+                Object[] options = toOptions(name, args.get(0));
+                return new SampledFromNode(options, Distributions.zipf(options.length, toDouble(name, args.get(1))));
+            }
+            case "gaussian": {
+                requireArgs(name, args, 2);
+                return new GaussianNode(toDouble(name, args.get(0)), toDouble(name, args.get(1)));
+            }
+            case "poisson": {
+                requireArgs(name, args, 1);
+                return new PoissonNode(toDouble(name, args.get(0)));
+            }
+            case "exponential": {
+                requireArgs(name, args, 1);
+                return new ExponentialNode(toDouble(name, args.get(0)));
+            }
+            case "randomRange": {
+                requireArgs(name, args, 2);
+                int min = toInt(name, args.get(0));
+                int max = toInt(name, args.get(1));
+                if (max < min) {
+                    throw new UnsupportedExpressionException("randomRange 的上界小于下界");
+                }
+                return new RandomRangeNode(min, max);
+            }
+            default:
+                throw new UnsupportedExpressionException("未知函数: " + name);
+        }
+    }
+
+    private static void requireArgs(String name, List<Node> args, int count) {
+        if (args.size() != count) {
+            throw new UnsupportedExpressionException(
+                    String.format("函数 %s 需要 %d 个参数，实际 %d 个", name, count, args.size()));
+        }
+    }
+
+    private static Object constant(Node node) {
+        return node.evaluate(null, null);
+    }
+
+    private static int toInt(String name, Node node) {
+        return toNumber(name, node).intValue();
+    }
+
+    private static double toDouble(String name, Node node) {
+        return toNumber(name, node).doubleValue();
+    }
+
+    private static Number toNumber(String name, Node node) {
+        Object value = constant(node);
+        if (!(value instanceof Number number)) {
+            throw new UnsupportedExpressionException("函数 " + name + " 的参数不是数字: " + value);
+        }
+        return number;
+    }
+
+    /**
+     * 选项参数预先拆分为数组，兼容列表字面量与 "a,b,c" 字符串
+     */
+    private static Object[] toOptions(String name, Node node) {
+        Object options = constant(node);
+        Object[] optionArray = options instanceof List<?> list
+                ? list.toArray()
+                : RandomGenerators.parseOptions(String.valueOf(options));
+        if (optionArray.length == 0) {
+            throw new UnsupportedExpressionException(name + " 的选项为空");
+        }
+        return optionArray;
+    }
+
+    private static double[] toWeights(String name, Node node) {
+        try {
+            return Distributions.parseWeights(constant(node));
+        } catch (RuntimeException e) {
+            throw new UnsupportedExpressionException(name + " 的权重无法解析: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 原生已编译模板：literals 比 nodes 多一个，按 literal, node, literal ... 交替拼接
+     */
+    private class NativeCompiledTemplate implements ICompiledTemplate {
+        private final String source;
+        private final String[] literals;
+        private final Node[] nodes;
+        private final int estimatedLength;
+
+        NativeCompiledTemplate(String source, String[] literals, Node[] nodes) {
+            this.source = source;
+            this.literals = literals;
+            this.nodes = nodes;
+            int length = 0;
+            for (String literal : literals) {
+                length += literal.length();
+            }
+            this.estimatedLength = length + nodes.length * 16;
+        }
+
+        @Override
+        public String render(Map<String, Object> context) {
+            if (nodes.length == 0) {
+                return literals[0];
+            }
+            SplittableRandom random = randomSource.current();
+            Map<String, Object> env = context != null ? context : Collections.emptyMap();
+            StringBuilder result = new StringBuilder(estimatedLength);
+            for (int i = 0; i < nodes.length; i++) {
+                result.append(literals[i]);
+                nodes[i].appendTo(result, random, env);
+            }
+            result.append(literals[nodes.length]);
+            return result.toString();
+        }
+
+        @Override
+        public Object evaluate(Map<String, Object> context) {
+            if (nodes.length != 1 || !literals[0].isEmpty() || !literals[1].isEmpty()) {
+                return render(context);
+            }
+            return nodes[0].evaluate(randomSource.current(), context != null ? context : Collections.emptyMap());
+        }
+
+        @Override
+        public boolean isConstant() {
+            return nodes.length == 0;
+        }
+
+        @Override
+        public String getSource() {
+            return source;
+        }
+    }
+
+    /**
+     * 表达式节点
+     */
+    private interface Node {
+
+        Object evaluate(SplittableRandom random, Map<String, Object> context);
+
+        default void appendTo(StringBuilder sb, SplittableRandom random, Map<String, Object> context) {
+            sb.append(evaluate(random, context));
+        }
+
+        default boolean isConstant() {
+            return false;
+        }
+    }
+
+    private record ConstantNode(Object value) implements Node {
+        @Override
+        public Object evaluate(SplittableRandom random, Map<String, Object> context) {
+            return value;
+        }
+
+        @Override
+        public boolean isConstant() {
+            return true;
+        }
+    }
+
+    private record RandomStringNode(int length, char[] table) implements Node {
+        @Override
+        public Object evaluate(SplittableRandom random, Map<String, Object> context) {
+            return RandomGenerators.randomString(random, length, table);
+        }
+
+        @Override
+        public void appendTo(StringBuilder sb, SplittableRandom random, Map<String, Object> context) {
+            RandomGenerators.appendRandomString(sb, random, length, table);
+        }
+    }
+
+    private record RandomFromNode(Object[] options) implements Node {
+        @Override
+        public Object evaluate(SplittableRandom random, Map<String, Object> context) {
+            return options[random.nextInt(options.length)];
+        }
+    }
+
+    private record RandomRangeNode(int min, int max) implements Node {
+        @Override
+        public Object evaluate(SplittableRandom random, Map<String, Object> context) {
+            return RandomGenerators.randomRange(random, min, max);
+        }
+
+        @Override
+        public void appendTo(StringBuilder sb, SplittableRandom random, Map<String, Object> context) {
+            sb.append(RandomGenerators.randomRange(random, min, max));
+        }
+    }
+
+    private record SampledFromNode(Object[] options, AliasSampler sampler) implements Node {
+        @Override
+        public Object evaluate(SplittableRandom random, Map<String, Object> context) {
+            return options[sampler.sample(random)];
+        }
+    }
+
+    private record ZipfNode(AliasSampler sampler) implements Node {
+        @Override
+        public Object evaluate(SplittableRandom random, Map<String, Object> context) {
+            return sampler.sample(random) + 1;
+        }
+
+        @Override
+        public void appendTo(StringBuilder sb, SplittableRandom random, Map<String, Object> context) {
+            sb.append(sampler.sample(random) + 1);
+        }
+    }
+
+    private record GaussianNode(double mean, double stddev) implements Node {
+        @Override
+        public Object evaluate(SplittableRandom random, Map<String, Object> context) {
+            return Distributions.gaussian(random, mean, stddev);
+        }
+
+        @Override
+        public void appendTo(StringBuilder sb, SplittableRandom random, Map<String, Object> context) {
+            sb.append(Distributions.gaussian(random, mean, stddev));
+        }
+    }
+
+    private record PoissonNode(double lambda) implements Node {
+        @Override
+        public Object evaluate(SplittableRandom random, Map<String, Object> context) {
+            return Distributions.poisson(random, lambda);
+        }
+
+        @Override
+        public void appendTo(StringBuilder sb, SplittableRandom random, Map<String, Object> context) {
+            sb.append(Distributions.poisson(random, lambda));
+        }
+    }
+
+    private record ExponentialNode(double mean) implements Node {
+        @Override
+        public Object evaluate(SplittableRandom random, Map<String, Object> context) {
+            return Distributions.exponential(random, mean);
+        }
+
+        @Override
+        public void appendTo(StringBuilder sb, SplittableRandom random, Map<String, Object> context) {
+            sb.append(Distributions.exponential(random, mean));
+        }
+    }
+
+    private record FallbackNode(ICompiledTemplate fallback) implements Node {
+        @Override
+        public Object evaluate(SplittableRandom random, Map<String, Object> context) {
+            return fallback.evaluate(context);
+        }
+
+        @Override
+        public void appendTo(StringBuilder sb, SplittableRandom random, Map<String, Object> context) {
+            sb.append(fallback.render(context));
+        }
+    }
+
+    /**
+     * 不支持的表达式，由回退引擎处理
+     */
+    private static class UnsupportedExpressionException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        UnsupportedExpressionException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * 表达式解析器
+     * 支持的语法：函数调用、字符串、数字、布尔值与列表字面量
+     */
+    private static class ExpressionParser {
+        private final String text;
+        private int pos;
+
+        ExpressionParser(String text) {
+            this.text = text;
+        }
+
+        Node parseExpression() {
+            skipWhitespace();
+            if (pos >= text.length()) {
+                throw new UnsupportedExpressionException("表达式为空");
+            }
+            char c = text.charAt(pos);
+            if (c == '\'' || c == '"') {
+                return new ConstantNode(parseString(c));
+            }
+            if (c == '[') {
+                return parseList();
+            }
+            if (Character.isDigit(c) || c == '-' || c == '.') {
+                return new ConstantNode(parseNumber());
+            }
+            if (Character.isJavaIdentifierStart(c)) {
+                String identifier = parseIdentifier();
+                skipWhitespace();
+                if (pos < text.length() && text.charAt(pos) == '(') {
+                    pos++;
+                    return createFunctionNode(identifier, parseArguments(')'));
+                }
+                if ("true".equals(identifier) || "false".equals(identifier)) {
+                    return new ConstantNode(Boolean.valueOf(identifier));
+                }
+                throw new UnsupportedExpressionException("不支持变量引用: " + identifier);
+            }
+            throw new UnsupportedExpressionException("无法识别的字符: " + c);
+        }
+
+        void expectEnd() {
+            skipWhitespace();
+            if (pos < text.length()) {
+                throw new UnsupportedExpressionException("不支持的表达式片段: " + text.substring(pos));
+            }
+        }
+
+        private List<Node> parseArguments(char close) {
+            List<Node> args = new ArrayList<>();
+            skipWhitespace();
+            if (pos < text.length() && text.charAt(pos) == close) {
+                pos++;
+                return args;
+            }
+            while (true) {
+                args.add(parseExpression());
+                skipWhitespace();
+                if (pos >= text.length()) {
+                    throw new UnsupportedExpressionException("缺少 " + close);
+                }
+                char c = text.charAt(pos++);
+                if (c == close) {
+                    return args;
+                }
+                if (c != ',') {
+                    throw new UnsupportedExpressionException("不支持的表达式片段: " + c);
+                }
+            }
+        }
+
+        private Node parseList() {
+            pos++;
+            List<Node> elements = parseArguments(']');
+            List<Object> values = new ArrayList<>(elements.size());
+            for (Node element : elements) {
+                if (!element.isConstant()) {
+                    throw new UnsupportedExpressionException("列表元素不是常量");
+                }
+                values.add(element.evaluate(null, null));
+            }
+            return new ConstantNode(Collections.unmodifiableList(values));
+        }
+
+        private String parseString(char quote) {
+            StringBuilder sb = new StringBuilder();
+            pos++;
+            while (pos < text.length()) {
+                char c = text.charAt(pos++);
+                if (c == quote) {
+                    return sb.toString();
+                }
+                if (c == '\\' && pos < text.length()) {
+                    c = text.charAt(pos++);
+                }
+                sb.append(c);
+            }
+            throw new UnsupportedExpressionException("字符串未闭合");
+        }
+
+        private Number parseNumber() {
+            int start = pos;
+            if (text.charAt(pos) == '-') {
+                pos++;
+            }
+            while (pos < text.length() && (Character.isDigit(text.charAt(pos)) || text.charAt(pos) == '.')) {
+                pos++;
+            }
+            String number = text.substring(start, pos);
+            try {
+                return number.contains(".") ? (Number) Double.valueOf(number) : (Number) Long.valueOf(number);
+            } catch (NumberFormatException e) {
+                throw new UnsupportedExpressionException("无法解析数字: " + number);
+            }
+        }
+
+        private String parseIdentifier() {
+            int start = pos;
+            while (pos < text.length() && Character.isJavaIdentifierPart(text.charAt(pos))) {
+                pos++;
+            }
+            return text.substring(start, pos);
+        }
+
+        private void skipWhitespace() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+        }
+    }
+}
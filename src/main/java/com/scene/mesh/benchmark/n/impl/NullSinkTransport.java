@@ -0,0 +1,51 @@
+package com.scene.mesh.benchmark.n.impl;
+
+import com.scene.mesh.benchmark.n.model.TestSuite;
+import com.scene.mesh.benchmark.n.spec.ITerminalConnection;
+import com.scene.mesh.benchmark.n.spec.ITerminalTransport;
+import com.scene.mesh.sdk.model.TerminalAction;
+import com.scene.mesh.sdk.model.TerminalEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * 空接收端：不建立连接，事件立即确认，用于测量生成到发送链路的吞吐上限
+ */
+@Component
+public class NullSinkTransport implements ITerminalTransport {
+
+    public static final String NAME = "NULL";
+
+    private static final CompletableFuture<Boolean> ACKNOWLEDGED = CompletableFuture.completedFuture(true);
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public ITerminalConnection connect(TestSuite testSuite, String terminalId, Consumer<TerminalAction> actionHandler) {
+        return new ITerminalConnection() {
+            @Override
+            public String getTerminalId() {
+                return terminalId;
+            }
+
+            @Override
+            public CompletableFuture<Boolean> sendEvent(TerminalEvent event) {
+                return ACKNOWLEDGED;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    @Override
+    public boolean supportsActions() {
+        return false;
+    }
+}
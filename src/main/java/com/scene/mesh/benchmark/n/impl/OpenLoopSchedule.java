@@ -0,0 +1,62 @@
+package com.scene.mesh.benchmark.n.impl;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 开环发送时间表
+ * 第 n 个事件的计划发送时刻固定为 start + offset + n * interval，与之前事件何时完成无关；
+ * 发送落后于计划时不会顺延，而是立即补发，延迟仍从计划时刻起算
+ */
+public class OpenLoopSchedule {
+
+    /**
+     * 距计划时刻不足该值时自旋等待，避免 park 的唤醒误差
+     */
+    private static final long SPIN_THRESHOLD_NANOS = 50_000L;
+
+    private final long intervalNanos;
+    private final long startNanos;
+    private long sequence;
+    private long maxLagNanos;
+
+    /**
+     * @param ratePerSecond 每秒事件数
+     * @param offsetNanos 相对当前时刻的起始偏移，用于错开多个终端的发送时刻
+     */
+    public OpenLoopSchedule(double ratePerSecond, long offsetNanos) {
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("发送速率必须大于0");
+        }
+        this.intervalNanos = Math.max(1L, Math.round(1_000_000_000.0 / ratePerSecond));
+        this.startNanos = System.nanoTime() + offsetNanos;
+    }
+
+    /**
+     * 等待到下一个计划发送时刻
+     * @return 计划发送时刻（System.nanoTime 时间轴）
+     */
+    public long awaitNext() {
+        long intended = startNanos + sequence++ * intervalNanos;
+        long remaining;
+        while ((remaining = intended - System.nanoTime()) > 0) {
+            if (remaining > SPIN_THRESHOLD_NANOS) {
+                LockSupport.parkNanos(remaining - SPIN_THRESHOLD_NANOS);
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+        maxLagNanos = Math.max(maxLagNanos, -remaining);
+        return intended;
+    }
+
+    public long getIntervalNanos() {
+        return intervalNanos;
+    }
+
+    /**
+     * 实际发送时刻落后计划时刻的最大值（纳秒）
+     */
+    public long getMaxLagNanos() {
+        return maxLagNanos;
+    }
+}
@@ -0,0 +1,70 @@
+package com.scene.mesh.benchmark.n.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scene.mesh.benchmark.n.model.EncodedPayload;
+import com.scene.mesh.sdk.model.TerminalEvent;
+
+import java.util.List;
+
+/**
+ * payload 池
+ * 持有 N 个预先生成并序列化的 payload，发送时只需循环或抽样取用，不再生成和编码
+ */
+public class PayloadPool {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final String[] eventTypes;
+    private final EncodedPayload[] payloads;
+    private final long encodedBytes;
+
+    private PayloadPool(String[] eventTypes, EncodedPayload[] payloads, long encodedBytes) {
+        this.eventTypes = eventTypes;
+        this.payloads = payloads;
+        this.encodedBytes = encodedBytes;
+    }
+
+    /**
+     * 将生成好的事件序列化为 payload 池
+     */
+    public static PayloadPool encode(List<TerminalEvent> events) {
+        String[] eventTypes = new String[events.size()];
+        EncodedPayload[] payloads = new EncodedPayload[events.size()];
+        long encodedBytes = 0;
+        for (int i = 0; i < events.size(); i++) {
+            TerminalEvent event = events.get(i);
+            byte[] encoded = encodePayload(event);
+            eventTypes[i] = event.getType();
+            payloads[i] = new EncodedPayload(event.getPayload(), encoded);
+            encodedBytes += encoded.length;
+        }
+        return new PayloadPool(eventTypes, payloads, encodedBytes);
+    }
+
+    private static byte[] encodePayload(TerminalEvent event) {
+        try {
+            return OBJECT_MAPPER.writeValueAsBytes(event.getPayload());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("payload 序列化失败: " + event.getType(), e);
+        }
+    }
+
+    /**
+     * 以池中第 index 个 payload 创建新的终端事件，payload 对象在事件间共享
+     */
+    public TerminalEvent newEvent(int index) {
+        return new TerminalEvent(eventTypes[index], payloads[index]);
+    }
+
+    public int size() {
+        return payloads.length;
+    }
+
+    /**
+     * 池中全部 payload 序列化后的总字节数
+     */
+    public long getEncodedBytes() {
+        return encodedBytes;
+    }
+}
@@ -0,0 +1,216 @@
+package com.scene.mesh.benchmark.n.impl;
+
+import com.scene.mesh.sdk.client.TerminalClient;
+import com.scene.mesh.sdk.model.TerminalEvent;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 流水线事件发送器
+ * 最多允许 maxInFlight 个事件同时等待确认，窗口满时发送方阻塞；
+ * 确认结果在回调中非阻塞处理，超时由 {@link CompletableFuture#orTimeout} 统一调度，不再逐个阻塞等待。
+ * 成功确认的事件的确认延迟记录到延迟直方图：闭环发送从实际发送时刻起算，开环发送从计划发送时刻起算；
+ * 发送失败与超时只分别计数，不计入直方图，以免立即失败的事件拉低分位数、超时事件堆积在超时时长处
+ */
+@Slf4j
+public class PipelinedSender {
+
+    private final EventSink eventSink;
+    private final int maxInFlight;
+    private final long timeoutMs;
+    private final Semaphore window;
+    private final LatencyHistogram latencyHistogram;
+    private volatile SendObserver sendObserver;
+
+    private final AtomicInteger submitted = new AtomicInteger();
+    private final AtomicInteger successful = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicInteger timedOut = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxObservedInFlight = new AtomicInteger();
+
+    public PipelinedSender(TerminalClient terminalClient, int maxInFlight, long timeoutMs) {
+        this(terminalClient, maxInFlight, timeoutMs, null);
+    }
+
+    public PipelinedSender(TerminalClient terminalClient, int maxInFlight, long timeoutMs,
+                           LatencyHistogram latencyHistogram) {
+        this(terminalClient::sendEvent, maxInFlight, timeoutMs, latencyHistogram);
+    }
+
+    public PipelinedSender(EventSink eventSink, int maxInFlight, long timeoutMs, LatencyHistogram latencyHistogram) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("maxInFlight 必须大于0");
+        }
+        this.eventSink = eventSink;
+        this.maxInFlight = maxInFlight;
+        this.timeoutMs = timeoutMs;
+        this.window = new Semaphore(maxInFlight);
+        this.latencyHistogram = latencyHistogram;
+    }
+
+    /**
+     * 设置发送观察者，每个事件交给客户端前以实际发送时刻回调
+     */
+    public void setSendObserver(SendObserver sendObserver) {
+        this.sendObserver = sendObserver;
+    }
+
+    /**
+     * 提交一个事件，窗口已满时阻塞直到有事件完成确认
+     */
+    public void send(TerminalEvent event) throws InterruptedException {
+        window.acquire();
+        submit(event, System.nanoTime(), null);
+    }
+
+    /**
+     * 按计划时刻提交一个事件，延迟从计划时刻起算，窗口等待与发送滞后都会计入延迟
+     * @param intendedNanos 计划发送时刻（System.nanoTime 时间轴）
+     */
+    public void send(TerminalEvent event, long intendedNanos) throws InterruptedException {
+        send(event, intendedNanos, null);
+    }
+
+    /**
+     * 按计划时刻提交一个事件，确认完成后回调监听器
+     * @param listener 完成监听器，在确认回调线程上执行，可为 null
+     */
+    public void send(TerminalEvent event, long intendedNanos, SendListener listener) throws InterruptedException {
+        window.acquire();
+        submit(event, intendedNanos, listener);
+    }
+
+    private void submit(TerminalEvent event, long startNanos, SendListener listener) {
+        submitted.incrementAndGet();
+        maxObservedInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+
+        SendObserver observer = sendObserver;
+        if (observer != null) {
+            observer.onSend(event, System.nanoTime());
+        }
+
+        CompletableFuture<Boolean> sendFuture;
+        try {
+            sendFuture = eventSink.sendEvent(event);
+        } catch (Exception e) {
+            sendFuture = CompletableFuture.failedFuture(e);
+        }
+
+        sendFuture.orTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                .whenComplete((sendResult, error) -> complete(event, startNanos, sendResult, error, listener));
+    }
+
+    private void complete(TerminalEvent event, long startNanos, Boolean sendResult, Throwable error,
+                          SendListener listener) {
+        SendOutcome outcome = SendOutcome.FAILED;
+        long latencyNanos = System.nanoTime() - startNanos;
+        try {
+            if (error != null) {
+                if (unwrap(error) instanceof TimeoutException) {
+                    outcome = SendOutcome.TIMEOUT;
+                    timedOut.incrementAndGet();
+                    log.error("事件发送超时: {} ({}ms)", event.getId(), timeoutMs);
+                } else {
+                    failed.incrementAndGet();
+                    log.error("事件发送异常: {}", event.getId(), unwrap(error));
+                }
+            } else if (sendResult == null || !sendResult) {
+                failed.incrementAndGet();
+                log.error("事件发送失败: {} - {}", event.getType(), event.getPayload());
+            } else {
+                outcome = SendOutcome.SUCCESS;
+                successful.incrementAndGet();
+                if (latencyHistogram != null) {
+                    latencyHistogram.record(latencyNanos);
+                }
+                log.debug("事件发送成功: {}", event.getId());
+            }
+        } finally {
+            inFlight.decrementAndGet();
+            window.release();
+            if (listener != null) {
+                listener.onComplete(latencyNanos, outcome);
+            }
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null
+                ? error.getCause() : error;
+    }
+
+    /**
+     * 等待所有已提交事件完成确认（成功、失败或超时）
+     */
+    public void awaitCompletion() throws InterruptedException {
+        window.acquire(maxInFlight);
+        window.release(maxInFlight);
+    }
+
+    public int getSubmitted() {
+        return submitted.get();
+    }
+
+    public int getSuccessful() {
+        return successful.get();
+    }
+
+    /**
+     * 发送异常或确认结果为失败的事件数，不含超时
+     */
+    public int getFailed() {
+        return failed.get();
+    }
+
+    public int getTimedOut() {
+        return timedOut.get();
+    }
+
+    public int getMaxObservedInFlight() {
+        return maxObservedInFlight.get();
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * 发送结果
+     */
+    public enum SendOutcome {
+        SUCCESS,
+        FAILED,
+        TIMEOUT
+    }
+
+    /**
+     * 发送观察者，在发送线程上回调
+     */
+    @FunctionalInterface
+    public interface SendObserver {
+        void onSend(TerminalEvent event, long sendNanos);
+    }
+
+    /**
+     * 单个事件的确认完成监听器
+     */
+    @FunctionalInterface
+    public interface SendListener {
+        void onComplete(long latencyNanos, SendOutcome outcome);
+    }
+
+    /**
+     * 事件发送目标，通常为终端客户端
+     */
+    @FunctionalInterface
+    public interface EventSink {
+        CompletableFuture<Boolean> sendEvent(TerminalEvent event);
+    }
+}
@@ -0,0 +1,213 @@
+package com.scene.mesh.benchmark.n.impl;
+
+import com.scene.mesh.sdk.model.TerminalEvent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 事件到动作的反应延迟追踪
+ * 每个终端按发送顺序记录事件的单调发送时刻，动作按到达顺序先进先出地归属到同一终端上最早发送、
+ * 仍在因果时间窗内且尚未收到动作的事件；没有这样的事件时作为最近已反应事件的后续动作。
+ * 流水线、开环等发送方式下同一终端同时有多个事件等待反应，按先进先出归属才不会把发送间隔误当作反应延迟。
+ * 动作接收时刻减去事件发送时刻即为反应延迟，每个事件统计首个与最后一个动作的延迟。
+ * 动作的接收时刻取自 {@code TerminalAction.getReceivedTimestamp()}（毫秒级墙钟），
+ * 通过创建时记录的墙钟与 nanoTime 锚点换算到单调时间轴
+ */
+public class ReactionTracker {
+
+    /**
+     * 墙钟毫秒精度带来的换算误差容忍
+     */
+    private static final long CLOCK_TOLERANCE_NANOS = 1_000_000L;
+
+    private final long anchorNanos = System.nanoTime();
+    private final long anchorMillis = System.currentTimeMillis();
+    private final long causalWindowNanos;
+
+    private final Map<String, Integer> typeIds = new ConcurrentHashMap<>();
+    private final List<String> typeNames = new CopyOnWriteArrayList<>();
+    private final List<Track> tracks = new CopyOnWriteArrayList<>();
+
+    /**
+     * @param causalWindowMs 事件发送后多长时间内收到的动作可归属于该事件
+     */
+    public ReactionTracker(long causalWindowMs) {
+        this.causalWindowNanos = causalWindowMs * 1_000_000L;
+    }
+
+    /**
+     * 为一个终端创建追踪记录
+     */
+    public Track newTrack() {
+        Track track = new Track();
+        tracks.add(track);
+        return track;
+    }
+
+    /**
+     * 将动作归属到事件并按事件类型汇总反应延迟
+     * @return 事件类型到统计的映射，按类型首次出现的顺序排列
+     */
+    public Map<String, ReactionStats> correlate() {
+        List<ReactionStats> statsByType = new ArrayList<>();
+        for (String typeName : typeNames) {
+            statsByType.add(new ReactionStats(typeName));
+        }
+
+        for (Track track : tracks) {
+            track.correlateInto(statsByType);
+        }
+
+        Map<String, ReactionStats> result = new LinkedHashMap<>();
+        for (ReactionStats stats : statsByType) {
+            result.put(stats.eventType, stats);
+        }
+        return result;
+    }
+
+    private int typeId(String eventType) {
+        Integer id = typeIds.get(eventType);
+        if (id != null) {
+            return id;
+        }
+        synchronized (typeNames) {
+            return typeIds.computeIfAbsent(eventType, key -> {
+                typeNames.add(key);
+                return typeNames.size() - 1;
+            });
+        }
+    }
+
+    private long toMonotonicNanos(long receivedTimestampMillis) {
+        return anchorNanos + (receivedTimestampMillis - anchorMillis) * 1_000_000L;
+    }
+
+    /**
+     * 单个终端的发送与动作时间序列，存放在可扩容的基本类型数组中
+     */
+    public class Track implements PipelinedSender.SendObserver {
+        private long[] sendNanos = new long[256];
+        private int[] sendTypes = new int[256];
+        private int sendCount;
+        private long[] actionNanos = new long[64];
+        private int actionCount;
+
+        @Override
+        public synchronized void onSend(TerminalEvent event, long nanos) {
+            if (sendCount == sendNanos.length) {
+                sendNanos = Arrays.copyOf(sendNanos, sendCount * 2);
+                sendTypes = Arrays.copyOf(sendTypes, sendCount * 2);
+            }
+            sendNanos[sendCount] = nanos;
+            sendTypes[sendCount] = typeId(event.getType());
+            sendCount++;
+        }
+
+        /**
+         * 记录一个动作
+         * @param receivedTimestampMillis 动作的接收时间戳（墙钟毫秒），无效时使用回调时刻
+         * @param callbackNanos 动作回调时的 nanoTime
+         */
+        public synchronized void recordAction(long receivedTimestampMillis, long callbackNanos) {
+            if (actionCount == actionNanos.length) {
+                actionNanos = Arrays.copyOf(actionNanos, actionCount * 2);
+            }
+            actionNanos[actionCount++] = receivedTimestampMillis > 0
+                    ? toMonotonicNanos(receivedTimestampMillis) : callbackNanos;
+        }
+
+        private synchronized void correlateInto(List<ReactionStats> statsByType) {
+            long[] firstLatency = new long[sendCount];
+            long[] lastLatency = new long[sendCount];
+            Arrays.fill(firstLatency, -1);
+
+            long[] actions = Arrays.copyOf(actionNanos, actionCount);
+            Arrays.sort(actions);
+            // waiting: 最早的尚未收到动作的事件；reacted: 最近一个收到首个动作的事件
+            int waiting = 0;
+            int reacted = -1;
+            for (long action : actions) {
+                long at = action + CLOCK_TOLERANCE_NANOS;
+                // 超出时间窗仍未收到动作的事件不再等待
+                while (waiting < sendCount && sendNanos[waiting] <= at
+                        && action - sendNanos[waiting] > causalWindowNanos) {
+                    waiting++;
+                }
+                int eventIndex;
+                if (waiting < sendCount && sendNanos[waiting] <= at) {
+                    eventIndex = waiting++;
+                    reacted = eventIndex;
+                } else if (reacted >= 0) {
+                    eventIndex = reacted;
+                } else {
+                    continue;
+                }
+                long latency = Math.max(0, action - sendNanos[eventIndex]);
+                if (latency > causalWindowNanos) {
+                    continue;
+                }
+                if (firstLatency[eventIndex] < 0) {
+                    firstLatency[eventIndex] = latency;
+                }
+                lastLatency[eventIndex] = latency;
+                statsByType.get(sendTypes[eventIndex]).actions++;
+            }
+
+            for (int i = 0; i < sendCount; i++) {
+                ReactionStats stats = statsByType.get(sendTypes[i]);
+                stats.events++;
+                if (firstLatency[i] >= 0) {
+                    stats.reactedEvents++;
+                    stats.firstAction.record(firstLatency[i]);
+                    stats.lastAction.record(lastLatency[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * 单个事件类型的反应延迟统计
+     */
+    public static class ReactionStats {
+        private final String eventType;
+        private final LatencyHistogram firstAction = new LatencyHistogram();
+        private final LatencyHistogram lastAction = new LatencyHistogram();
+        private int events;
+        private int reactedEvents;
+        private int actions;
+
+        ReactionStats(String eventType) {
+            this.eventType = eventType;
+        }
+
+        public String getEventType() {
+            return eventType;
+        }
+
+        public int getEvents() {
+            return events;
+        }
+
+        public int getReactedEvents() {
+            return reactedEvents;
+        }
+
+        public int getActions() {
+            return actions;
+        }
+
+        public LatencyHistogram getFirstAction() {
+            return firstAction;
+        }
+
+        public LatencyHistogram getLastAction() {
+            return lastAction;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.scene.mesh.benchmark.n.impl;
+
+import com.scene.mesh.benchmark.n.model.TestSuite;
+import com.scene.mesh.benchmark.n.spec.ITerminalConnection;
+import com.scene.mesh.benchmark.n.spec.ITerminalTransport;
+import com.scene.mesh.sdk.client.TerminalClient;
+import com.scene.mesh.sdk.client.TerminalClientBuilder;
+import com.scene.mesh.sdk.model.TerminalAction;
+import com.scene.mesh.sdk.model.TerminalEvent;
+import com.scene.mesh.sdk.model.TerminalProtocolType;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 基于 Scene Mesh SDK 的传输，每个终端一个 {@link TerminalClient}
+ */
+@Slf4j
+public class SdkTerminalTransport implements ITerminalTransport {
+
+    private final String name;
+    private final TerminalProtocolType protocolType;
+    private final Supplier<String> serverUrl;
+
+    public SdkTerminalTransport(String name, TerminalProtocolType protocolType, Supplier<String> serverUrl) {
+        this.name = name;
+        this.protocolType = protocolType;
+        this.serverUrl = serverUrl;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public ITerminalConnection connect(TestSuite testSuite, String terminalId, Consumer<TerminalAction> actionHandler) {
+        TerminalClient terminalClient = TerminalClientBuilder.builder()
+                .productId(testSuite.getProductId())
+                .terminalId(terminalId)
+                .secretKey(testSuite.getSecretKey())
+                .protocol(protocolType)
+                .protocolVersion("v1")
+                .serverUrl(serverUrl.get())
+                .build();
+        terminalClient.connect();
+        terminalClient.onAction(actionHandler);
+        return new SdkConnection(terminalId, terminalClient);
+    }
+
+    private record SdkConnection(String terminalId, TerminalClient client) implements ITerminalConnection {
+
+        @Override
+        public String getTerminalId() {
+            return terminalId;
+        }
+
+        @Override
+        public CompletableFuture<Boolean> sendEvent(TerminalEvent event) {
+            return client.sendEvent(event);
+        }
+
+        @Override
+        public void close() {
+            try {
+                client.disconnect();
+            } catch (Exception e) {
+                log.debug("终端 {} 断开失败: {}", terminalId, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.scene.mesh.benchmark.n.impl;
+
+import com.scene.mesh.benchmark.n.spec.IEventSource;
+import com.scene.mesh.sdk.model.TerminalEvent;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * 流式事件源
+ * 事件按块惰性生成，最多预生成 prefetchChunks 个块；消费者取走一个块后才会提交下一个块的生成任务，
+ * 因此生成速度不会远超发送速度，内存占用与事件总数无关
+ */
+@Slf4j
+public class StreamingEventSource implements IEventSource {
+
+    private final List<Supplier<List<TerminalEvent>>> chunkTasks;
+    private final long totalEvents;
+    private final int prefetchChunks;
+    private final Executor executor;
+
+    private final Deque<CompletableFuture<List<TerminalEvent>>> pending = new ArrayDeque<>();
+    private Iterator<TerminalEvent> current = Collections.emptyIterator();
+    private int nextTask;
+    private boolean closed;
+
+    /**
+     * @param chunkTasks 按顺序排列的分块生成任务
+     * @param totalEvents 事件总数
+     * @param prefetchChunks 最多预生成的块数
+     * @param executor 执行生成任务的线程池
+     */
+    public StreamingEventSource(List<Supplier<List<TerminalEvent>>> chunkTasks, long totalEvents,
+                                int prefetchChunks, Executor executor) {
+        this.chunkTasks = chunkTasks;
+        this.totalEvents = totalEvents;
+        this.prefetchChunks = Math.max(1, prefetchChunks);
+        this.executor = executor;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext()) {
+            if (!advance()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public TerminalEvent next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+
+    @Override
+    public long getTotalEvents() {
+        return totalEvents;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        pending.forEach(future -> future.cancel(false));
+        pending.clear();
+        current = Collections.emptyIterator();
+    }
+
+    /**
+     * 切换到下一个已生成的块，并补齐预生成窗口
+     */
+    private boolean advance() {
+        if (closed) {
+            return false;
+        }
+        fillWindow();
+        CompletableFuture<List<TerminalEvent>> head = pending.poll();
+        if (head == null) {
+            return false;
+        }
+        current = head.join().iterator();
+        fillWindow();
+        return true;
+    }
+
+    private void fillWindow() {
+        while (pending.size() < prefetchChunks && nextTask < chunkTasks.size()) {
+            pending.add(CompletableFuture.supplyAsync(chunkTasks.get(nextTask++), executor));
+        }
+    }
+}
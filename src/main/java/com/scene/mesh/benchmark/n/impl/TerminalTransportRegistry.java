@@ -0,0 +1,50 @@
+package com.scene.mesh.benchmark.n.impl;
+
+import com.scene.mesh.benchmark.n.spec.ITerminalTransport;
+import com.scene.mesh.sdk.model.TerminalProtocolType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 终端传输注册表
+ * 内置基于 SDK 的 MQTT、WS 传输，另外注册容器中所有 {@link ITerminalTransport} 实现，名称不区分大小写
+ */
+@Slf4j
+@Component
+public class TerminalTransportRegistry {
+
+    private final Map<String, ITerminalTransport> transports = new LinkedHashMap<>();
+
+    @Autowired
+    public TerminalTransportRegistry(FacadeEndpoints facadeEndpoints, List<ITerminalTransport> extensions) {
+        register(new SdkTerminalTransport("MQTT", TerminalProtocolType.MQTT, facadeEndpoints::getMqttUrl));
+        register(new SdkTerminalTransport("WS", TerminalProtocolType.WEBSOCKET, facadeEndpoints::getWebSocketUrl));
+        extensions.forEach(this::register);
+        log.debug("已注册终端传输: {}", transports.keySet());
+    }
+
+    /**
+     * 按名称获取传输
+     * @throws IllegalArgumentException 名称未注册
+     */
+    public ITerminalTransport get(String name) {
+        ITerminalTransport transport = name != null ? transports.get(name.toUpperCase(Locale.ROOT)) : null;
+        if (transport == null) {
+            throw new IllegalArgumentException("Illegal transport: " + name + "，可用传输: " + transports.keySet());
+        }
+        return transport;
+    }
+
+    private void register(ITerminalTransport transport) {
+        String key = transport.getName().toUpperCase(Locale.ROOT);
+        if (transports.putIfAbsent(key, transport) != null) {
+            throw new IllegalStateException("终端传输名称重复: " + transport.getName());
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.scene.mesh.benchmark.n.impl;
+
+import com.scene.mesh.benchmark.n.spec.IRandomSource;
+import org.springframework.stereotype.Component;
+
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+
+/**
+ * 基于 SplittableRandom 的随机源
+ * 每个线程持有独立的随机流；未显式绑定时从根随机流拆分得到
+ */
+@Component
+public class ThreadLocalRandomSource implements IRandomSource {
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private final SplittableRandom root = new SplittableRandom();
+    private final ThreadLocal<SplittableRandom> bound = new ThreadLocal<>();
+
+    @Override
+    public SplittableRandom current() {
+        SplittableRandom stream = bound.get();
+        if (stream == null) {
+            synchronized (root) {
+                stream = root.split();
+            }
+            bound.set(stream);
+        }
+        return stream;
+    }
+
+    @Override
+    public <T> T callWith(SplittableRandom stream, Supplier<T> task) {
+        SplittableRandom previous = bound.get();
+        bound.set(stream);
+        try {
+            return task.get();
+        } finally {
+            if (previous == null) {
+                bound.remove();
+            } else {
+                bound.set(previous);
+            }
+        }
+    }
+
+    @Override
+    public SplittableRandom derive(long masterSeed, long streamId) {
+        return new SplittableRandom(mix64(masterSeed + (streamId + 1) * GOLDEN_GAMMA));
+    }
+
+    @Override
+    public long newMasterSeed() {
+        synchronized (root) {
+            return mix64(root.nextLong() ^ System.nanoTime());
+        }
+    }
+
+    /**
+     * SplitMix64 混淆函数，使相邻的流编号得到互不相关的种子
+     */
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,48 @@
+package com.scene.mesh.benchmark.n.impl;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 虚拟线程执行器
+ * 运行在 JDK 21+ 时每个任务使用一个虚拟线程；低版本 JDK 回退为按需创建的平台线程
+ */
+@Slf4j
+public final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * 创建每任务一线程的执行器
+     * @param namePrefix 平台线程回退时的线程名前缀
+     * @return 执行器，使用完毕后需关闭
+     */
+    public static ExecutorService newPerTaskExecutor(String namePrefix) {
+        try {
+            // 通过反射调用，保持 Java 17 编译目标
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            log.debug("当前 JDK 不支持虚拟线程，使用平台线程: {}", namePrefix);
+            return Executors.newCachedThreadPool(namedDaemonFactory(namePrefix));
+        }
+    }
+
+    /**
+     * 创建按前缀命名的守护线程工厂
+     */
+    static ThreadFactory namedDaemonFactory(String namePrefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,78 @@
+package com.scene.mesh.benchmark.n.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 多测试套件汇总报告
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AggregatedReport {
+
+    /**
+     * 执行时间信息
+     */
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private long executionTimeMs;
+
+    /**
+     * 调度信息
+     */
+    private int parallelism;              // 工作线程数
+    private int maxSuitesPerProduct;      // 同一产品同时运行的套件上限
+    private int peakConcurrentSuites;     // 实际同时运行的套件数峰值
+
+    /**
+     * 套件统计信息
+     */
+    private int totalSuites;
+    private int passedSuites;
+    private int partialSuites;
+    private int failedSuites;
+    private int skippedSuites;
+
+    /**
+     * 事件统计信息
+     */
+    private long totalEventsSent;
+    private long successfulEvents;
+    private long failedEvents;
+
+    private double averageMatchScore;
+
+    /**
+     * 各产品的汇总结果
+     */
+    private List<ProductSummary> productSummaries;
+
+    /**
+     * 各套件的执行报告，顺序与配置顺序一致
+     */
+    private List<TestSuiteReport> suiteReports;
+
+    /**
+     * 单个产品的汇总结果
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ProductSummary {
+        private String productId;
+        private int suites;
+        private int passedSuites;
+        private int failedSuites;
+        private long totalEventsSent;
+        private double averageMatchScore;
+        private long totalExecutionTimeMs;  // 各套件执行时长之和
+    }
+}
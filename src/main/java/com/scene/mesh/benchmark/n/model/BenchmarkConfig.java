@@ -40,6 +40,88 @@ public class BenchmarkConfig {
     @JsonProperty("protocol")
     private String protocol;
 
+    /**
+     * 终端传输名称（MQTT、WS、WS-NIO、NULL 等），为空时按 protocol 选择
+     */
+    private String transport;
+
+    /**
+     * 随机种子（为空时自动生成，执行报告中会记录实际使用的种子以便复现）
+     */
+    private Long seed;
+
+    /**
+     * 是否并行生成自动生成事件组（按固定块大小分块，结果与线程数无关）
+     */
+    private Boolean parallelGeneration;
+
+    /**
+     * 是否流式生成事件（边发送边生成，不预先物化全部事件）
+     */
+    private Boolean streamingGeneration;
+
+    /**
+     * 流式生成时最多预生成的块数，默认为 CPU 核数的两倍
+     */
+    private Integer streamPrefetchChunks;
+
+    /**
+     * 事件语料目录（需同时指定 seed），相同配置与种子的事件只生成一次并写入磁盘，之后直接回放
+     */
+    private String corpusDir;
+
+    /**
+     * 模拟的终端数量，事件在各终端间分摊发送，默认为 1
+     */
+    private Integer terminals;
+
+    /**
+     * 开环发送的目标速率（所有终端合计，事件/秒）
+     * 配置后按固定时间表发送，不等待前一个事件确认，延迟从计划发送时刻起算
+     */
+    private Double targetRate;
+
+    /**
+     * 负载形状：按顺序执行的负载阶段，配置后忽略 targetRate，按阶段实时调整速率或并发
+     */
+    private List<LoadPhase> loadProfile;
+
+    /**
+     * 连接风暴：配置后只测试连接建立（可重复断开重连），不发送事件
+     */
+    private ConnectionStorm connectionStorm;
+
+    /**
+     * 协议对比：配置后以相同种子生成的同一事件流分别通过各协议执行，输出对比报告
+     */
+    private ProtocolComparison protocolComparison;
+
+    /**
+     * 参数扫描：配置后按各参数取值的笛卡尔积逐格执行，输出吞吐/延迟矩阵
+     */
+    private Sweep sweep;
+
+    /**
+     * 最多同时等待确认的事件数（发送窗口），闭环默认为 1 即逐个发送，开环默认为 10000
+     */
+    private Integer maxInFlight;
+
+    /**
+     * 单个事件等待发送确认的超时时间（毫秒），默认 3000
+     */
+    private Long sendTimeoutMs;
+
+    /**
+     * 批量发送：同一终端的事件攒满 batchSize 个或等待 lingerMs 后合并发送，每个事件仍单独确认；
+     * 不配置时逐个发送。批次受发送窗口限制，maxInFlight 应不小于 batchSize
+     */
+    private Integer batchSize;
+
+    /**
+     * 批次等待时间（毫秒），默认 0 即只合并已到达的事件
+     */
+    private Long lingerMs;
+
     /**
      * 事件组列表
      */
@@ -47,10 +129,25 @@ public class BenchmarkConfig {
     private List<EventGroup> eventGroups;
 
     /**
-     * 等待接受 actions 的时间
+     * 等待接受 actions 的最长时间
      */
     private Long durationOfWaitingActions;
 
+    /**
+     * 静默期（毫秒）：所有期望动作都已收到且该时间内没有新动作时提前结束等待，默认 2000
+     */
+    private Long quietPeriodMs;
+
+    /**
+     * 动作收集交接队列容量：IO 回调线程与收集线程之间的有界队列，队列满时丢弃并计数，默认 65536
+     */
+    private Integer actionQueueCapacity;
+
+    /**
+     * 反应延迟的因果时间窗（毫秒）：事件发送后该时间内同一终端收到的动作归属于该事件，默认 30000
+     */
+    private Long reactionWindowMs;
+
     /**
      * 期望的动作ID列表
      */
@@ -91,6 +188,19 @@ public class BenchmarkConfig {
          */
         private Integer count;
 
+        /**
+         * 不同 payload 的数量（仅当 autoGenerate=true 时使用）
+         * 设置后只生成并序列化这么多个 payload，发送时循环或抽样复用
+         */
+        @JsonProperty("distinctPayloads")
+        private Integer distinctPayloads;
+
+        /**
+         * payload 池取用方式，默认按顺序循环
+         */
+        @JsonProperty("payloadSelection")
+        private PayloadSelection payloadSelection;
+
         /**
          * 输入事件列表（仅当 autoGenerate=false 时使用）
          */
@@ -104,6 +214,149 @@ public class BenchmarkConfig {
         private EventTemplate eventTemplate;
     }
 
+    /**
+     * 负载阶段
+     */
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class LoadPhase {
+
+        /**
+         * 阶段名称
+         */
+        private String name;
+
+        /**
+         * 阶段形状
+         */
+        private LoadShape shape;
+
+        /**
+         * 控制对象，默认为发送速率
+         */
+        private LoadTarget target;
+
+        /**
+         * 阶段时长（毫秒）
+         */
+        private Long durationMs;
+
+        /**
+         * 基准值（CONSTANT、SPIKE 的基线，SINE 的中线）
+         */
+        private Double level;
+
+        /**
+         * 起止值（RAMP、STEP）
+         */
+        private Double from;
+        private Double to;
+
+        /**
+         * 阶梯级数（STEP），默认 5
+         */
+        private Integer steps;
+
+        /**
+         * 突增峰值与突增区间（SPIKE），区间默认为阶段中间的十分之一
+         */
+        private Double peak;
+        private Long spikeStartMs;
+        private Long spikeDurationMs;
+
+        /**
+         * 振幅与周期（SINE），周期默认为阶段时长
+         */
+        private Double amplitude;
+        private Long periodMs;
+    }
+
+    /**
+     * 连接风暴配置
+     */
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class ConnectionStorm {
+
+        /**
+         * 每种协议建立的连接数
+         */
+        private Integer connections;
+
+        /**
+         * 同时进行中的连接建立数上限，默认不限制
+         */
+        private Integer maxConcurrentConnects;
+
+        /**
+         * 连接发起时刻均匀分布在该时长内（毫秒），0 或不配置时一次性突发
+         */
+        private Long rampMs;
+
+        /**
+         * 测试的协议或传输名称（MQTT、WS、WS-NIO 等），默认使用套件的 protocol
+         */
+        private List<String> protocols;
+
+        /**
+         * 首轮连接后重复“全部断开、全部重连”的次数，默认 0
+         */
+        private Integer reconnectCycles;
+
+        /**
+         * 每轮连接建立后保持的时长（毫秒），之后断开进入下一轮，默认 1000
+         */
+        private Long holdMs;
+    }
+
+    /**
+     * 协议对比配置
+     */
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class ProtocolComparison {
+
+        /**
+         * 参与对比的协议或传输名称（至少两个），默认 MQTT 与 WS
+         */
+        private List<String> protocols;
+
+        /**
+         * 执行方式，默认 SEQUENTIAL
+         */
+        private ComparisonMode mode;
+    }
+
+    /**
+     * 参数扫描配置
+     */
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Sweep {
+
+        /**
+         * 参数名到取值列表，按配置顺序展开，靠前的参数变化最慢。
+         * 参数名与配置字段同名时直接覆盖该字段（嵌套字段用点号，如 connectionStorm.connections）；
+         * 配置中所有字符串里的 ${参数名} 替换为取值，字符串只有占位符时保留取值的类型
+         */
+        private Map<String, List<Object>> params;
+
+        /**
+         * 每格正式执行前的预热次数，预热结果不计入矩阵，默认 1
+         */
+        private Integer warmupIterations;
+
+        /**
+         * 相邻两次执行之间的暂停时间（毫秒），让服务端排空积压，默认 0
+         */
+        private Long pauseMs;
+
+        /**
+         * 矩阵另存为 CSV 文件的路径，可选
+         */
+        private String csvFile;
+    }
+
     /**
      * 输入事件
      */
@@ -135,6 +388,12 @@ public class BenchmarkConfig {
         @JsonProperty("typeSelector")
         private List<String> typeSelector;
 
+        /**
+         * 事件类型权重，未列出的类型权重为 1.0；不配置时各类型均匀选择
+         */
+        @JsonProperty("typeWeights")
+        private Map<String, Double> typeWeights;
+
         /**
          * payload模板
          */
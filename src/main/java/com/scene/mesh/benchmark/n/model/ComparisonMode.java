@@ -0,0 +1,9 @@
+package com.scene.mesh.benchmark.n.model;
+
+/**
+ * 协议对比的执行方式
+ */
+public enum ComparisonMode {
+    SEQUENTIAL,  // 各协议依次执行，互不干扰
+    CONCURRENT   // 各协议同时执行，共享同一时段的服务端负载
+}
@@ -0,0 +1,73 @@
+package com.scene.mesh.benchmark.n.model;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * 已编码的 payload
+ * 对外表现为只读 Map，同时携带预先序列化好的 JSON 字节，
+ * 支持字节级发送的传输层可直接使用 {@link #getEncoded()}，避免重复序列化
+ */
+public final class EncodedPayload extends AbstractMap<String, Object> {
+
+    private final byte[] encoded;
+    private final Function<byte[], Map<String, Object>> decoder;
+    private volatile Map<String, Object> payload;
+
+    public EncodedPayload(Map<String, Object> payload, byte[] encoded) {
+        this.payload = Collections.unmodifiableMap(payload);
+        this.encoded = encoded;
+        this.decoder = null;
+    }
+
+    private EncodedPayload(byte[] encoded, Function<byte[], Map<String, Object>> decoder) {
+        this.encoded = encoded;
+        this.decoder = decoder;
+    }
+
+    /**
+     * 仅由编码字节创建，首次以 Map 方式访问时才解码
+     */
+    public static EncodedPayload lazy(byte[] encoded, Function<byte[], Map<String, Object>> decoder) {
+        return new EncodedPayload(encoded, decoder);
+    }
+
+    /**
+     * 获取序列化后的 JSON 字节（调用方不得修改）
+     */
+    public byte[] getEncoded() {
+        return encoded;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return decoded().entrySet();
+    }
+
+    @Override
+    public Object get(Object key) {
+        return decoded().get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return decoded().containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return decoded().size();
+    }
+
+    private Map<String, Object> decoded() {
+        Map<String, Object> result = payload;
+        if (result == null) {
+            result = Collections.unmodifiableMap(decoder.apply(encoded));
+            payload = result;
+        }
+        return result;
+    }
+}
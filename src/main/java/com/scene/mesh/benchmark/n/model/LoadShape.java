@@ -0,0 +1,12 @@
+package com.scene.mesh.benchmark.n.model;
+
+/**
+ * 负载阶段的形状
+ */
+public enum LoadShape {
+    CONSTANT, // 恒定在 level
+    RAMP,     // 从 from 线性变化到 to
+    STEP,     // 从 from 到 to 分 steps 级阶梯
+    SPIKE,    // 基线 level，在 spikeStartMs 起的 spikeDurationMs 内突增到 peak
+    SINE      // 以 level 为中线、amplitude 为振幅、periodMs 为周期的正弦波
+}
@@ -0,0 +1,9 @@
+package com.scene.mesh.benchmark.n.model;
+
+/**
+ * 负载阶段的控制对象
+ */
+public enum LoadTarget {
+    RATE,        // 发送速率（事件/秒，开环）
+    CONCURRENCY  // 同时等待确认的事件数（闭环）
+}
@@ -0,0 +1,9 @@
+package com.scene.mesh.benchmark.n.model;
+
+/**
+ * payload 池的取用方式
+ */
+public enum PayloadSelection {
+    CYCLE,  // 按顺序循环
+    RANDOM  // 随机抽样
+}
@@ -0,0 +1,73 @@
+package com.scene.mesh.benchmark.n.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 协议对比报告：同一事件流在各协议上的执行结果
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProtocolComparisonReport {
+
+    private String testSuiteId;
+    private String testSuiteName;
+    private String productId;
+
+    /**
+     * 各协议共用的随机种子，保证事件流相同
+     */
+    private Long seed;
+    private ComparisonMode mode;
+
+    /**
+     * 执行时间信息
+     */
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private long executionTimeMs;
+
+    /**
+     * 各协议的对比指标，顺序与配置顺序一致
+     */
+    private List<ProtocolResult> protocolResults;
+
+    /**
+     * 各协议的完整执行报告
+     */
+    private List<TestSuiteReport> suiteReports;
+
+    /**
+     * 单个协议的对比指标
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ProtocolResult {
+        private String protocol;
+        private TestSuiteReport.ExecutionStatus status;
+        private int totalEventsSent;
+        private int successfulEvents;
+        private int failedEvents;
+        private long timeouts;
+        private double errorRate;            // 发送失败（含超时）占比
+        private double eventsPerSecond;      // 发送吞吐
+        private double sendLatencyP50Ms;     // 发送确认延迟
+        private double sendLatencyP99Ms;
+        private double sendLatencyMaxMs;
+        private double reactionP50Ms;        // 事件到首个动作的延迟
+        private double reactionP99Ms;
+        private double reactedRatio;         // 收到动作的事件占比
+        private double matchScore;
+        private long executionTimeMs;
+        private String errorMessage;
+    }
+}
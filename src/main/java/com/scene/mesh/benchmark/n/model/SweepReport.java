@@ -0,0 +1,72 @@
+package com.scene.mesh.benchmark.n.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 参数扫描报告：每个参数组合（格）一行的吞吐/延迟矩阵
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SweepReport {
+
+    private String testSuiteId;
+    private String testSuiteName;
+    private String productId;
+
+    /**
+     * 各格共用的随机种子
+     */
+    private Long seed;
+
+    /**
+     * 执行时间信息
+     */
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private long executionTimeMs;
+
+    /**
+     * 扫描参数名，顺序与配置一致
+     */
+    private List<String> paramNames;
+    private int warmupIterations;
+
+    /**
+     * 各格的结果，按笛卡尔积展开顺序排列
+     */
+    private List<Cell> cells;
+
+    /**
+     * 单个参数组合的结果
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Cell {
+        private Map<String, Object> params;
+        private TestSuiteReport.ExecutionStatus status;
+        private int totalEventsSent;
+        private int successfulEvents;
+        private double errorRate;            // 发送失败（含超时）占比
+        private long timeouts;
+        private double eventsPerSecond;      // 发送吞吐
+        private double latencyP50Ms;         // 发送确认延迟
+        private double latencyP99Ms;
+        private double latencyMaxMs;
+        private double reactionP50Ms;        // 事件到首个动作的延迟
+        private double reactionP99Ms;
+        private double matchScore;
+        private long executionTimeMs;
+        private String errorMessage;
+    }
+}
@@ -1,9 +1,11 @@
 package com.scene.mesh.benchmark.n.model;
 
+import com.scene.mesh.benchmark.n.spec.IEventSource;
 import com.scene.mesh.sdk.model.TerminalEvent;
 import lombok.Data;
 
 import java.util.List;
+import java.util.Map;
 
 @Data
 public class TestSuite {
@@ -16,7 +18,62 @@ public class TestSuite {
     private String terminalId;
     private String protocol;
 
+    /**
+     * 终端传输名称，为空时按 protocol 选择
+     */
+    private String transport;
+
+    /**
+     * 生成事件时使用的主种子
+     */
+    private Long seed;
+
     List<TerminalEvent> terminalEvents;
+
+    /**
+     * 流式事件源（流式生成模式下替代 terminalEvents）
+     */
+    IEventSource eventSource;
     Long durationOfWaitingActions;
+    Long quietPeriodMs;
+    Integer actionQueueCapacity;
+    Long reactionWindowMs;
+
+    /**
+     * 模拟的终端数量
+     */
+    Integer terminals;
+
+    /**
+     * 开环发送的目标速率（事件/秒），为空时闭环发送
+     */
+    Double targetRate;
+
+    /**
+     * 负载形状，配置后按阶段发送
+     */
+    List<BenchmarkConfig.LoadPhase> loadProfile;
+
+    /**
+     * 连接风暴配置，配置后只测试连接建立
+     */
+    BenchmarkConfig.ConnectionStorm connectionStorm;
+
+    /**
+     * 每个终端的发送窗口大小与发送确认超时
+     */
+    Integer maxInFlight;
+    Long sendTimeoutMs;
+
+    /**
+     * 批量发送参数，batchSize 为空时逐个发送
+     */
+    Integer batchSize;
+    Long lingerMs;
     List<String> expectedActionIds;
+
+    /**
+     * 生成阶段指标（事件数、耗时、吞吐等）
+     */
+    Map<String, Object> generationMetrics;
 }
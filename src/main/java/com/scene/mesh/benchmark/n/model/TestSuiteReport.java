@@ -25,6 +25,11 @@ public class TestSuiteReport {
     private String testSuiteName;
     private String productId;
 
+    /**
+     * 生成事件使用的随机种子
+     */
+    private Long seed;
+
     /**
      * 执行状态
      */
@@ -71,6 +76,111 @@ public class TestSuiteReport {
      */
     private Map<String, Object> metrics;
 
+    /**
+     * 各事件类型的反应延迟（事件发送到收到动作）
+     */
+    private List<ReactionResult> reactionResults;
+
+    /**
+     * 各负载阶段的执行结果（负载形状模式）
+     */
+    private List<PhaseResult> phaseResults;
+
+    /**
+     * 各终端的执行结果（多终端模式）
+     */
+    private List<TerminalResult> terminalResults;
+
+    /**
+     * 各协议、各轮次的连接建立结果（连接风暴模式）
+     */
+    private List<ConnectionResult> connectionResults;
+
+    /**
+     * 单个事件类型的反应延迟，延迟单位为毫秒
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ReactionResult {
+        private String eventType;
+        private int events;              // 发送的事件数
+        private int reactedEvents;       // 收到至少一个动作的事件数
+        private int actions;             // 归属到该类型事件的动作数
+        private double firstActionP50Ms;
+        private double firstActionP90Ms;
+        private double firstActionP99Ms;
+        private double firstActionMaxMs;
+        private double lastActionP50Ms;
+        private double lastActionP99Ms;
+        private double lastActionMaxMs;
+    }
+
+    /**
+     * 单个负载阶段的执行结果，延迟单位为毫秒
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PhaseResult {
+        private String name;
+        private String shape;
+        private String target;
+        private long plannedDurationMs;
+        private long actualDurationMs;
+        private int eventsSent;
+        private int successfulEvents;
+        private int failedEvents;
+        private int timeouts;
+        private double throughput;       // 每秒成功确认数
+        private double latencyP50Ms;
+        private double latencyP99Ms;
+        private double latencyMaxMs;
+    }
+
+    /**
+     * 单个协议单轮连接的结果，第 0 轮为首次连接，之后为断开后的重连；延迟单位为毫秒
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ConnectionResult {
+        private String protocol;
+        private int cycle;
+        private int attempts;
+        private int connected;
+        private int failures;            // 连接失败数（含认证失败）
+        private int authFailures;        // 认证失败数
+        private long durationMs;         // 本轮首个连接发起到最后一个连接结束
+        private double connectsPerSecond; // 每秒成功建立的连接数
+        private double latencyP50Ms;
+        private double latencyP90Ms;
+        private double latencyP99Ms;
+        private double latencyMaxMs;
+        private double maxQueueDelayMs;  // 受并发上限影响，实际发起晚于计划时刻的最大值
+        private String firstError;
+    }
+
+    /**
+     * 单个终端的执行结果
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TerminalResult {
+        private String terminalId;
+        private boolean connected;
+        private int eventsSent;
+        private int successfulEvents;
+        private int timeouts;
+        private int actionsReceived;
+        private String errorMessage;
+    }
+
     /**
      * 执行状态枚举
      */
@@ -0,0 +1,30 @@
+package com.scene.mesh.benchmark.n.spec;
+
+import java.util.Map;
+
+/**
+ * 已编译的 payload 模板
+ * 由 {@link ITemplateProcessor#compileDataTemplate(Map)} 一次性编译生成，
+ * 不含表达式的子树在编译期求值并在各次渲染间共享，渲染开销只与动态叶子数量有关
+ */
+public interface ICompiledPayload {
+
+    /**
+     * 渲染一个 payload
+     * 共享的静态子树为只读对象，调用方不应修改
+     * @return 渲染后的数据
+     */
+    Map<String, Object> render();
+
+    /**
+     * 是否为不含任何表达式的静态模板
+     * @return 静态模板返回 true
+     */
+    boolean isStatic();
+
+    /**
+     * 获取动态叶子（含表达式的字符串）数量
+     * @return 动态叶子数量
+     */
+    int getDynamicLeafCount();
+}
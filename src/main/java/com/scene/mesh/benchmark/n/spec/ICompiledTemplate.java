@@ -0,0 +1,39 @@
+package com.scene.mesh.benchmark.n.spec;
+
+import java.util.Map;
+
+/**
+ * 已编译模板
+ * 由 {@link ITemplateEngine#compileTemplate(String)} 一次性编译生成，可被反复渲染，
+ * 渲染过程中不再进行任何正则解析
+ */
+public interface ICompiledTemplate {
+
+    /**
+     * 渲染模板
+     * @param context 模板上下文变量
+     * @return 渲染后的字符串
+     */
+    String render(Map<String, Object> context);
+
+    /**
+     * 求值模板
+     * 模板整体为单个表达式时返回表达式的原生类型值（数字、布尔、列表、字符串），
+     * 否则返回渲染后的字符串
+     * @param context 模板上下文变量
+     * @return 求值结果
+     */
+    Object evaluate(Map<String, Object> context);
+
+    /**
+     * 是否为不含任何表达式的常量模板
+     * @return 常量模板返回 true
+     */
+    boolean isConstant();
+
+    /**
+     * 获取原始模板字符串
+     * @return 原始模板
+     */
+    String getSource();
+}
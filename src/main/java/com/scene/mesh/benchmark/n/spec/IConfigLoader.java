@@ -3,6 +3,9 @@ package com.scene.mesh.benchmark.n.spec;
 import com.scene.mesh.benchmark.n.model.BenchmarkConfig;
 import org.springframework.core.io.Resource;
 
+import java.nio.file.Path;
+import java.util.List;
+
 public interface IConfigLoader {
     /**
      * 从资源加载
@@ -10,4 +13,19 @@ public interface IConfigLoader {
      * @return TestSuiteConfig
      */
     BenchmarkConfig loadTestSuiteConfig(Resource resource);
+
+    /**
+     * 从目录加载所有测试套件配置（*.json，不含子目录）
+     * @param directory 配置目录
+     * @return 按文件名排序的配置列表
+     * @throws IllegalArgumentException 任一配置无效，或配置了只能单独运行的 sweep、protocolComparison
+     */
+    List<BenchmarkConfig> loadTestSuiteConfigs(Path directory);
+
+    /**
+     * 按加载时的规则验证配置，用于运行时派生的配置（如扫描的单格配置）
+     * @param benchmarkConfig 待验证的配置
+     * @throws IllegalArgumentException 配置无效
+     */
+    void validateTestSuiteConfig(BenchmarkConfig benchmarkConfig);
 }
@@ -0,0 +1,24 @@
+package com.scene.mesh.benchmark.n.spec;
+
+import com.scene.mesh.sdk.model.TerminalEvent;
+
+import java.util.Iterator;
+
+/**
+ * 事件源接口
+ * 按需逐个产出终端事件，实现可以是预先生成的列表，也可以是边发送边生成的有界流
+ */
+public interface IEventSource extends Iterator<TerminalEvent>, AutoCloseable {
+
+    /**
+     * 获取事件总数
+     * @return 事件总数，未知时返回 -1
+     */
+    long getTotalEvents();
+
+    /**
+     * 释放事件源占用的资源（如尚未消费的预生成任务）
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,14 @@
+package com.scene.mesh.benchmark.n.spec;
+
+import com.scene.mesh.benchmark.n.model.BenchmarkConfig;
+import com.scene.mesh.benchmark.n.model.ProtocolComparisonReport;
+
+public interface IProtocolComparisonRunner {
+
+    /**
+     * 以相同种子生成的同一事件流分别通过各协议执行测试套件
+     * @param benchmarkConfig 配置了 protocolComparison 的基准测试配置
+     * @return 协议对比报告，单个协议失败不影响其他协议
+     */
+    ProtocolComparisonReport compare(BenchmarkConfig benchmarkConfig);
+}
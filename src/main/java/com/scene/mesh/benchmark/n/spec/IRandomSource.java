@@ -0,0 +1,40 @@
+package com.scene.mesh.benchmark.n.spec;
+
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+
+/**
+ * 随机源接口
+ * 为模板函数与事件生成提供按线程隔离的随机流，避免多线程争用同一个种子；
+ * 通过主种子派生的子流与执行线程无关，保证生成结果可复现
+ */
+public interface IRandomSource {
+
+    /**
+     * 获取当前线程绑定的随机流
+     * @return 随机流
+     */
+    SplittableRandom current();
+
+    /**
+     * 在指定随机流上执行任务，执行期间 {@link #current()} 返回该随机流
+     * @param stream 随机流
+     * @param task 任务
+     * @return 任务结果
+     */
+    <T> T callWith(SplittableRandom stream, Supplier<T> task);
+
+    /**
+     * 由主种子与流编号派生确定性子流
+     * @param masterSeed 主种子
+     * @param streamId 流编号
+     * @return 子流
+     */
+    SplittableRandom derive(long masterSeed, long streamId);
+
+    /**
+     * 生成新的主种子
+     * @return 主种子
+     */
+    long newMasterSeed();
+}
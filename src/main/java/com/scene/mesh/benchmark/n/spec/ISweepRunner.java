@@ -0,0 +1,15 @@
+package com.scene.mesh.benchmark.n.spec;
+
+import com.scene.mesh.benchmark.n.model.BenchmarkConfig;
+import com.scene.mesh.benchmark.n.model.SweepReport;
+
+public interface ISweepRunner {
+
+    /**
+     * 按扫描参数的笛卡尔积逐格生成并执行测试套件
+     * @param benchmarkConfig 配置了 sweep 的基准测试配置
+     * @return 扫描报告，单格失败不影响其他格
+     * @throws IllegalArgumentException 任意一格展开后的配置无效，此时不执行任何一格
+     */
+    SweepReport sweep(BenchmarkConfig benchmarkConfig);
+}
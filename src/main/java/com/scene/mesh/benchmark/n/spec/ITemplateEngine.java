@@ -17,9 +17,16 @@ public interface ITemplateEngine {
      */
     String processTemplate(String template, Map<String, Object> context);
 
+    /**
+     * 编译模板字符串，编译结果可重复渲染
+     * @param template 模板字符串
+     * @return 已编译模板
+     */
+    ICompiledTemplate compileTemplate(String template);
+
     /**
      * 获取模板引擎名称
      * @return 引擎名称
      */
     String getEngineName();
-}
\ No newline at end of file
+}
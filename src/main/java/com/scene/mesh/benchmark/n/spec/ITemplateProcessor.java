@@ -15,10 +15,26 @@ public interface ITemplateProcessor {
      */
     Map<String, Object> processDataTemplate(Map<String, Object> template);
 
+    /**
+     * 编译数据模板
+     * 需要反复渲染同一模板时应先编译，再对结果调用 {@link ICompiledPayload#render()}
+     * @param template 数据模板
+     * @return 已编译的 payload 模板
+     */
+    ICompiledPayload compileDataTemplate(Map<String, Object> template);
+
     /**
      * 处理单个模板字符串
      * @param template 模板字符串
      * @return 处理后的字符串
      */
     String processStringTemplate(String template);
+
+    /**
+     * 处理单个模板值
+     * 模板整体为单个表达式时返回原生类型值（数字、布尔、列表、字符串），不经过字符串拼接
+     * @param template 模板字符串
+     * @return 处理后的值
+     */
+    Object processValueTemplate(String template);
 }
\ No newline at end of file
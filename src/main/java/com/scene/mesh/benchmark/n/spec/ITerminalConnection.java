@@ -0,0 +1,39 @@
+package com.scene.mesh.benchmark.n.spec;
+
+import com.scene.mesh.sdk.model.TerminalEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 单个终端的连接
+ */
+public interface ITerminalConnection extends AutoCloseable {
+
+    String getTerminalId();
+
+    /**
+     * 发送事件，不阻塞
+     * @return 发送确认，结果为 false 或异常完成时表示发送失败
+     */
+    CompletableFuture<Boolean> sendEvent(TerminalEvent event);
+
+    /**
+     * 批量发送事件，每个事件单独确认；默认逐个发送，支持合并写入的传输可覆盖
+     * @return 与 events 一一对应的发送确认
+     */
+    default List<CompletableFuture<Boolean>> sendEvents(List<TerminalEvent> events) {
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>(events.size());
+        for (TerminalEvent event : events) {
+            futures.add(sendEvent(event));
+        }
+        return futures;
+    }
+
+    /**
+     * 断开连接，可重复调用
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,34 @@
+package com.scene.mesh.benchmark.n.spec;
+
+import com.scene.mesh.benchmark.n.model.TestSuite;
+import com.scene.mesh.sdk.model.TerminalAction;
+
+import java.util.function.Consumer;
+
+/**
+ * 终端传输：负责建立终端连接，执行器按名称选择
+ */
+public interface ITerminalTransport {
+
+    /**
+     * 传输名称，配置中按名称选择（不区分大小写）
+     */
+    String getName();
+
+    /**
+     * 建立一个终端连接，返回时连接已可发送事件
+     * @param testSuite 测试套件，提供产品ID、密钥等接入信息
+     * @param terminalId 终端ID
+     * @param actionHandler 收到动作时回调，可能在传输的 IO 线程上执行，不应阻塞
+     * @return 终端连接
+     */
+    ITerminalConnection connect(TestSuite testSuite, String terminalId, Consumer<TerminalAction> actionHandler)
+            throws Exception;
+
+    /**
+     * 是否会收到动作；不会收到动作的传输（如空接收端）无需等待动作
+     */
+    default boolean supportsActions() {
+        return true;
+    }
+}
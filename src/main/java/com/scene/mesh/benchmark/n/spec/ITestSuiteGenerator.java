@@ -6,4 +6,12 @@ import com.scene.mesh.benchmark.n.model.BenchmarkConfig;
 public interface ITestSuiteGenerator {
 
     TestSuite generateTestSuite(BenchmarkConfig benchmarkConfig);
+
+    /**
+     * 生成惰性事件源，事件在消费时按块生成，内存占用有界
+     * @param benchmarkConfig 基准测试配置
+     * @param seed 主种子
+     * @return 事件源
+     */
+    IEventSource generateEventSource(BenchmarkConfig benchmarkConfig, long seed);
 }
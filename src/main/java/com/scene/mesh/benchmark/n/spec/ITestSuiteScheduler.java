@@ -0,0 +1,16 @@
+package com.scene.mesh.benchmark.n.spec;
+
+import com.scene.mesh.benchmark.n.model.AggregatedReport;
+import com.scene.mesh.benchmark.n.model.BenchmarkConfig;
+
+import java.util.List;
+
+public interface ITestSuiteScheduler {
+
+    /**
+     * 并发生成并执行多个测试套件
+     * @param benchmarkConfigs 各测试套件的基准测试配置
+     * @return 汇总报告，单个套件失败不影响其他套件
+     */
+    AggregatedReport schedule(List<BenchmarkConfig> benchmarkConfigs);
+}
@@ -0,0 +1,92 @@
+package com.scene.mesh.benchmark;
+
+import com.scene.mesh.benchmark.n.impl.BatchingEventSink;
+import com.scene.mesh.benchmark.n.spec.ITerminalConnection;
+import com.scene.mesh.sdk.model.TerminalEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+public class BatchingEventSinkTest {
+
+    @Test
+    void testFullBatchesAndLingerFlush() throws Exception {
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        ITerminalConnection connection = new RecordingConnection(batchSizes);
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            BatchingEventSink.Stats stats = new BatchingEventSink.Stats();
+            BatchingEventSink sink = new BatchingEventSink(connection, 4, 50, scheduler, stats);
+
+            List<CompletableFuture<Boolean>> acks = new ArrayList<>();
+            long startNanos = System.nanoTime();
+            for (int i = 0; i < 10; i++) {
+                acks.add(sink.sendEvent(new TerminalEvent(i == 5 ? "fail" : "chat_text", Map.of("i", i))));
+            }
+            // 两个满批次立即发出，剩余 2 个等待 linger 到期
+            assertEquals(List.of(4, 4), batchSizes);
+            assertFalse(acks.get(9).isDone());
+
+            assertTrue(acks.get(9).get(1, TimeUnit.SECONDS));
+            assertTrue(System.nanoTime() - startNanos >= TimeUnit.MILLISECONDS.toNanos(45));
+            assertEquals(List.of(4, 4, 2), batchSizes);
+
+            // 每个事件单独确认，同批次中一个事件失败不影响其他事件
+            for (int i = 0; i < 10; i++) {
+                if (i == 5) {
+                    assertThrows(ExecutionException.class, acks.get(i)::get);
+                } else {
+                    assertTrue(acks.get(i).get());
+                }
+            }
+            assertEquals(3, stats.getBatches());
+            assertEquals(2, stats.getFullBatches());
+            assertEquals(3.33, stats.getAverageBatch());
+
+            // 主动刷新立即发出未攒满的批次
+            CompletableFuture<Boolean> ack = sink.sendEvent(new TerminalEvent("chat_text", Map.of()));
+            sink.flush();
+            assertTrue(ack.isDone());
+            assertEquals(List.of(4, 4, 2, 1), batchSizes);
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private record RecordingConnection(List<Integer> batchSizes) implements ITerminalConnection {
+
+        @Override
+        public String getTerminalId() {
+            return "t1";
+        }
+
+        @Override
+        public CompletableFuture<Boolean> sendEvent(TerminalEvent event) {
+            return "fail".equals(event.getType())
+                    ? CompletableFuture.failedFuture(new IllegalStateException("rejected"))
+                    : CompletableFuture.completedFuture(true);
+        }
+
+        @Override
+        public List<CompletableFuture<Boolean>> sendEvents(List<TerminalEvent> events) {
+            batchSizes.add(events.size());
+            return ITerminalConnection.super.sendEvents(events);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
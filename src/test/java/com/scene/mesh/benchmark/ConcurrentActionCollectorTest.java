@@ -0,0 +1,114 @@
+package com.scene.mesh.benchmark;
+
+import com.scene.mesh.benchmark.n.impl.ConcurrentActionCollector;
+import com.scene.mesh.sdk.model.TerminalAction;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+public class ConcurrentActionCollectorTest {
+
+    @Test
+    void testManyProducersWithDuplicates() throws Exception {
+        int producers = 8;
+        int perProducer = 25_000;
+        ConcurrentActionCollector collector = new ConcurrentActionCollector("suite", 1 << 20);
+
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            threads[p] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    // 每对生产者的奇数序号动作 ID 相同，模拟重复投递
+                    int owner = i % 2 == 0 ? producer : producer & ~1;
+                    collector.offer(action(owner + "-" + i, "meta-" + (i % 10)), null);
+                }
+            });
+            threads[p].start();
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        collector.close();
+        log.info("{} 个动作收集耗时 {}ms", producers * perProducer,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin));
+
+        List<TerminalAction> actions = collector.getReceivedActions();
+        long[] arrivals = collector.getArrivalNanos();
+        Set<String> ids = new HashSet<>();
+        for (TerminalAction action : actions) {
+            assertTrue(ids.add(action.getId()), "动作重复: " + action.getId());
+        }
+
+        int unique = producers * perProducer * 3 / 4;
+        assertEquals(0, collector.getDropped());
+        assertEquals(unique, actions.size());
+        assertEquals(producers * perProducer - unique, collector.getDuplicates());
+        assertEquals(actions.size(), arrivals.length);
+    }
+
+    @Test
+    void testAwaitCompletion() throws Exception {
+        ConcurrentActionCollector collector = new ConcurrentActionCollector("suite", 4);
+        collector.offer(action("a1", "meta-a"), null);
+        collector.offer(action("b1", "meta-b"), null);
+
+        // 期望动作都已收到，静默 50ms 后提前完成
+        long begin = System.nanoTime();
+        assertTrue(collector.awaitCompletion(List.of("meta-a", "meta-b"),
+                TimeUnit.MILLISECONDS.toNanos(50), TimeUnit.SECONDS.toNanos(5)));
+        assertTrue(System.nanoTime() - begin < TimeUnit.SECONDS.toNanos(5));
+
+        // 缺少期望动作时等待到上限
+        assertFalse(collector.awaitCompletion(List.of("meta-c"), 0, TimeUnit.MILLISECONDS.toNanos(50)));
+
+        collector.close();
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentActionCollector("suite", 0));
+        assertEquals(2, collector.getReceivedActions().size());
+    }
+
+    @Test
+    void testCloseIsIdempotentAndKeepsInterrupt() {
+        ConcurrentActionCollector collector = new ConcurrentActionCollector("suite", 4);
+        collector.offer(action("a1", "meta-a"), null);
+        collector.close();
+        collector.close();
+        assertEquals(1, collector.getReceivedActions().size());
+
+        // 关闭时线程已被中断：不抛出异常，中断标记保留给调用方
+        ConcurrentActionCollector interrupted = new ConcurrentActionCollector("suite", 4);
+        Thread.currentThread().interrupt();
+        try {
+            interrupted.close();
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+            interrupted.close();
+        }
+    }
+
+    private static TerminalAction action(String id, String metaActionId) {
+        TerminalAction action = new TerminalAction();
+        action.setId(id);
+        action.setMetaActionId(metaActionId);
+        action.setReceivedTimestamp(System.currentTimeMillis());
+        return action;
+    }
+}
@@ -0,0 +1,88 @@
+package com.scene.mesh.benchmark;
+
+import com.scene.mesh.benchmark.n.impl.DefaultConfigLoader;
+import com.scene.mesh.benchmark.n.model.BenchmarkConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+public class ConfigLoaderTest {
+
+    // 加载器按平台默认字符集读取，配置内容只使用 ASCII
+    private static final String STORM_CONFIG = """
+            {
+              "id": "storm",
+              "name": "storm",
+              "productId": "p1",
+              "protocol": "MQTT",
+              "connectionStorm": {
+                "connections": 100,
+                "maxConcurrentConnects": 10,
+                "protocols": ["MQTT", "WS"]
+              }
+            }
+            """;
+
+    @Test
+    void testStormOnlyConfigWithoutEventGroups(@TempDir Path tempDir) throws Exception {
+        Files.writeString(tempDir.resolve("a-storm.json"), STORM_CONFIG, Charset.defaultCharset());
+        Files.writeString(tempDir.resolve("b-storm.json"), STORM_CONFIG.replace("\"storm\"", "\"storm2\""),
+                Charset.defaultCharset());
+
+        List<BenchmarkConfig> configs = new DefaultConfigLoader().loadTestSuiteConfigs(tempDir);
+
+        assertEquals(2, configs.size());
+        BenchmarkConfig config = configs.get(0);
+        assertEquals("storm", config.getId());
+        assertNull(config.getEventGroups());
+        assertEquals(100, config.getConnectionStorm().getConnections());
+        assertEquals(List.of("MQTT", "WS"), config.getConnectionStorm().getProtocols());
+        assertEquals("storm2", configs.get(1).getId());
+    }
+
+    @Test
+    void testMissingEventGroupsWithoutStormIsRejected(@TempDir Path tempDir) throws Exception {
+        Files.writeString(tempDir.resolve("invalid.json"), """
+                {"id": "s", "name": "no-groups", "productId": "p1", "protocol": "MQTT"}
+                """, Charset.defaultCharset());
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> new DefaultConfigLoader().loadTestSuiteConfigs(tempDir));
+        assertTrue(e.getMessage().contains("invalid.json"), e.getMessage());
+    }
+
+    @Test
+    void testSweepAndComparisonRejectedInDirectory(@TempDir Path tempDir) throws Exception {
+        Files.writeString(tempDir.resolve("a-storm.json"), STORM_CONFIG, Charset.defaultCharset());
+        Path sweep = Files.writeString(tempDir.resolve("b-sweep.json"),
+                STORM_CONFIG.replace("\"connectionStorm\"", "\"sweep\": {\"params\": {\"terminals\": [1, 2]}}, \"connectionStorm\""),
+                Charset.defaultCharset());
+        DefaultConfigLoader loader = new DefaultConfigLoader();
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> loader.loadTestSuiteConfigs(tempDir));
+        assertTrue(e.getMessage().contains("b-sweep.json") && e.getMessage().contains("sweep"), e.getMessage());
+
+        // 单独加载时仍然有效，由扫描执行器运行
+        assertNotNull(loader.loadTestSuiteConfig(new FileSystemResource(sweep)).getSweep());
+
+        Files.delete(sweep);
+        Files.writeString(tempDir.resolve("c-compare.json"), """
+                {"id": "c", "name": "compare", "productId": "p1", "protocol": "MQTT",
+                 "eventGroups": [{"groupId": "g1", "inputEvents": [{"type": "chat_text", "payload": {}}]}],
+                 "protocolComparison": {"protocols": ["MQTT", "WS"]}}
+                """, Charset.defaultCharset());
+        e = assertThrows(IllegalArgumentException.class, () -> loader.loadTestSuiteConfigs(tempDir));
+        assertTrue(e.getMessage().contains("c-compare.json") && e.getMessage().contains("protocolComparison"),
+                e.getMessage());
+    }
+}
@@ -0,0 +1,68 @@
+package com.scene.mesh.benchmark;
+
+import com.scene.mesh.benchmark.n.impl.ConnectionStormRunner;
+import com.scene.mesh.benchmark.n.model.BenchmarkConfig;
+import com.scene.mesh.benchmark.n.spec.ITerminalConnection;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+@Slf4j
+public class ConnectionStormRunnerTest {
+
+    @Test
+    void testStormWithConcurrencyCapAndReconnectCycles() throws Exception {
+        BenchmarkConfig.ConnectionStorm storm = new BenchmarkConfig.ConnectionStorm();
+        storm.setConnections(40);
+        storm.setMaxConcurrentConnects(5);
+        storm.setRampMs(100L);
+        storm.setReconnectCycles(2);
+        storm.setHoldMs(10L);
+
+        AtomicInteger inProgress = new AtomicInteger();
+        AtomicInteger peakInProgress = new AtomicInteger();
+        AtomicInteger disconnects = new AtomicInteger();
+        ConnectionStormRunner runner = new ConnectionStormRunner(storm, (protocol, terminalIndex) -> {
+            if (terminalIndex == 7) {
+                // 终端 7 密钥错误
+                throw new IllegalStateException("connect refused: not authorized (401)");
+            }
+            if (protocol.equals("WS") && terminalIndex == 8) {
+                throw new IllegalStateException("connection reset");
+            }
+            peakInProgress.accumulateAndGet(inProgress.incrementAndGet(), Math::max);
+            TimeUnit.MILLISECONDS.sleep(5);
+            inProgress.decrementAndGet();
+            ITerminalConnection connection = mock(ITerminalConnection.class);
+            doAnswer(invocation -> disconnects.incrementAndGet()).when(connection).close();
+            return connection;
+        });
+
+        List<ConnectionStormRunner.CycleStats> cycles = runner.run(List.of("MQTT", "WS"));
+
+        assertEquals(6, cycles.size());
+        assertTrue(peakInProgress.get() <= 5, "并发连接数超过上限: " + peakInProgress.get());
+        for (ConnectionStormRunner.CycleStats cycle : cycles) {
+            int expectedFailures = cycle.getProtocol().equals("WS") ? 2 : 1;
+            assertEquals(40, cycle.getAttempts());
+            assertEquals(40 - expectedFailures, cycle.getConnected());
+            assertEquals(expectedFailures, cycle.getFailures());
+            assertEquals(1, cycle.getAuthFailures());
+            assertEquals(40 - expectedFailures, cycle.getLatency().getCount());
+            assertTrue(cycle.getLatency().getValueAtPercentile(50) >= TimeUnit.MILLISECONDS.toNanos(4));
+            assertTrue(cycle.getElapsedNanos() >= TimeUnit.MILLISECONDS.toNanos(90));
+        }
+        assertEquals("MQTT", cycles.get(0).getProtocol());
+        assertEquals(2, cycles.get(2).getCycle());
+
+        // 每个成功的连接都在下一轮前或结束时断开
+        assertEquals(3 * 39 + 3 * 38, disconnects.get());
+    }
+}
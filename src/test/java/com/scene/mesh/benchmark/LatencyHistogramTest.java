@@ -0,0 +1,90 @@
+package com.scene.mesh.benchmark;
+
+import com.scene.mesh.benchmark.n.impl.LatencyHistogram;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+public class LatencyHistogramTest {
+
+    @Test
+    void testPercentilesWithinRelativeError() {
+        // 1µs 到 100ms 均匀分布，百分位误差应在 1% 以内
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 100_000; micros++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(micros));
+        }
+
+        assertEquals(100_000, histogram.getCount());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), histogram.getMax());
+        for (double percentile : new double[]{50, 90, 99, 99.9}) {
+            double expected = TimeUnit.MICROSECONDS.toNanos((long) (percentile * 1000));
+            double actual = histogram.getValueAtPercentile(percentile);
+            assertEquals(expected, actual, expected * 0.01, "p" + percentile);
+        }
+        assertEquals(histogram.getMax(), histogram.getValueAtPercentile(100));
+
+        log.info("直方图百分位测试通过，p99.9={}ns", histogram.getValueAtPercentile(99.9));
+    }
+
+    @Test
+    void testSmallAndOutOfRangeValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getValueAtPercentile(99));
+
+        histogram.record(-5);
+        histogram.record(3);
+        histogram.record(Long.MAX_VALUE);
+
+        assertEquals(0, histogram.getValueAtPercentile(1));
+        assertEquals(3, histogram.getValueAtPercentile(50));
+        assertEquals(Long.MAX_VALUE, histogram.getMax());
+        assertTrue(histogram.getValueAtPercentile(100) > TimeUnit.MINUTES.toNanos(10));
+    }
+
+    @Test
+    void testConcurrentRecording() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 1; i <= 50_000; i++) {
+                    histogram.record(i * 1000L);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(400_000, histogram.getCount());
+        assertEquals(50_000_000L, histogram.getMax());
+        assertEquals(25_000_000L, histogram.getValueAtPercentile(50), 25_000_000L * 0.01);
+    }
+
+    @Test
+    void testMerge() {
+        LatencyHistogram low = new LatencyHistogram();
+        LatencyHistogram high = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            low.record(i * 1000L);
+            high.record(1_000_000L + i * 1000L);
+        }
+
+        LatencyHistogram merged = new LatencyHistogram();
+        merged.add(low);
+        merged.add(high);
+        assertEquals(2000, merged.getCount());
+        assertEquals(2_000_000L, merged.getMax());
+        assertEquals((low.getMean() + high.getMean()) / 2, merged.getMean(), 1e-6);
+        assertEquals(1_000_000L, merged.getValueAtPercentile(50), 1_000_000L * 0.01);
+    }
+}
@@ -0,0 +1,104 @@
+package com.scene.mesh.benchmark;
+
+import com.scene.mesh.benchmark.n.impl.LoadProfileDriver;
+import com.scene.mesh.benchmark.n.impl.PipelinedSender;
+import com.scene.mesh.benchmark.n.model.BenchmarkConfig;
+import com.scene.mesh.benchmark.n.model.LoadShape;
+import com.scene.mesh.benchmark.n.model.LoadTarget;
+import com.scene.mesh.sdk.client.TerminalClient;
+import com.scene.mesh.sdk.model.TerminalEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@Slf4j
+public class LoadProfileDriverTest {
+
+    @Test
+    void testShapeLevels() {
+        BenchmarkConfig.LoadPhase ramp = phase(LoadShape.RAMP, 1000);
+        ramp.setFrom(100.0);
+        ramp.setTo(300.0);
+        assertEquals(100.0, LoadProfileDriver.levelAt(ramp, 0), 1e-9);
+        assertEquals(200.0, LoadProfileDriver.levelAt(ramp, millis(500)), 1e-9);
+
+        BenchmarkConfig.LoadPhase step = phase(LoadShape.STEP, 1000);
+        step.setFrom(0.0);
+        step.setTo(300.0);
+        step.setSteps(4);
+        assertEquals(0.0, LoadProfileDriver.levelAt(step, millis(100)), 1e-9);
+        assertEquals(100.0, LoadProfileDriver.levelAt(step, millis(300)), 1e-9);
+        assertEquals(300.0, LoadProfileDriver.levelAt(step, millis(999)), 1e-9);
+
+        BenchmarkConfig.LoadPhase spike = phase(LoadShape.SPIKE, 1000);
+        spike.setLevel(10.0);
+        spike.setPeak(500.0);
+        assertEquals(10.0, LoadProfileDriver.levelAt(spike, millis(100)), 1e-9);
+        assertEquals(500.0, LoadProfileDriver.levelAt(spike, millis(500)), 1e-9);
+
+        BenchmarkConfig.LoadPhase sine = phase(LoadShape.SINE, 1000);
+        sine.setLevel(100.0);
+        sine.setAmplitude(50.0);
+        assertEquals(150.0, LoadProfileDriver.levelAt(sine, millis(250)), 1e-6);
+        assertEquals(50.0, LoadProfileDriver.levelAt(sine, millis(750)), 1e-6);
+
+        assertNotNull(LoadProfileDriver.validate(phase(LoadShape.RAMP, 1000)));
+        assertNull(LoadProfileDriver.validate(ramp));
+
+        log.info("负载形状测试通过");
+    }
+
+    @Test
+    void testPhasesFollowRateAndConcurrency() throws Exception {
+        TerminalClient client = mock(TerminalClient.class);
+        when(client.sendEvent(any())).thenAnswer(invocation -> CompletableFuture.supplyAsync(() -> true,
+                CompletableFuture.delayedExecutor(5, TimeUnit.MILLISECONDS)));
+        PipelinedSender sender = new PipelinedSender(client, 1000, 3000);
+
+        BenchmarkConfig.LoadPhase constant = phase(LoadShape.CONSTANT, 300);
+        constant.setName("constant");
+        constant.setLevel(200.0);
+        BenchmarkConfig.LoadPhase concurrency = phase(LoadShape.CONSTANT, 300);
+        concurrency.setName("concurrency");
+        concurrency.setTarget(LoadTarget.CONCURRENCY);
+        concurrency.setLevel(2.0);
+
+        AtomicInteger index = new AtomicInteger();
+        LoadProfileDriver driver = new LoadProfileDriver(List.of(constant, concurrency), List.of(sender),
+                () -> new TerminalEvent("eventA", Map.of("index", index.getAndIncrement())));
+        List<LoadProfileDriver.PhaseStats> phases = driver.run();
+        sender.awaitCompletion();
+
+        assertEquals(2, phases.size());
+        // 200/s 持续 300ms 约 60 个事件
+        assertTrue(Math.abs(phases.get(0).getSent() - 60) <= 2, "sent " + phases.get(0).getSent());
+        assertEquals(phases.get(0).getSent(), phases.get(0).getSuccessful());
+        // 并发 2、每个确认约 5ms，300ms 内最多约 120 个事件
+        assertTrue(phases.get(1).getSent() > 10 && phases.get(1).getSent() <= 130,
+                "sent " + phases.get(1).getSent());
+        assertTrue(sender.getMaxObservedInFlight() <= 10);
+
+        log.info("负载阶段执行测试通过: {} / {}", phases.get(0).getSent(), phases.get(1).getSent());
+    }
+
+    private static BenchmarkConfig.LoadPhase phase(LoadShape shape, long durationMs) {
+        BenchmarkConfig.LoadPhase phase = new BenchmarkConfig.LoadPhase();
+        phase.setShape(shape);
+        phase.setDurationMs(durationMs);
+        return phase;
+    }
+
+    private static long millis(long ms) {
+        return TimeUnit.MILLISECONDS.toNanos(ms);
+    }
+}
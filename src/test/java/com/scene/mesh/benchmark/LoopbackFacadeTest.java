@@ -0,0 +1,250 @@
+package com.scene.mesh.benchmark;
+
+import com.scene.mesh.benchmark.n.impl.LoopbackFacade;
+import com.scene.mesh.benchmark.n.impl.LoopbackProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+public class LoopbackFacadeTest {
+
+    @Test
+    void testMqttPublishIsAcknowledgedAndAnswered() throws Exception {
+        LoopbackProperties properties = new LoopbackProperties();
+        properties.setActions(Map.of("chat_text", List.of("reply_text", "show_emotion")));
+        properties.setLatencyMs(5);
+
+        try (LoopbackFacade facade = new LoopbackFacade(properties)) {
+            facade.start();
+            URI uri = URI.create(facade.getMqttUrl());
+            try (Socket socket = new Socket(uri.getHost(), uri.getPort())) {
+                socket.setSoTimeout(5000);
+                DataInputStream in = new DataInputStream(socket.getInputStream());
+                OutputStream out = socket.getOutputStream();
+
+                // CONNECT（MQTT 3.1.1，clientId = t1）
+                out.write(packet(0x10, bytes(str("MQTT"), new byte[]{4, 2, 0, 60}, str("t1"))));
+                assertArrayEquals(new byte[]{0x20, 0x02, 0x00, 0x00}, readPacket(in));
+
+                // SUBSCRIBE t/+/action
+                out.write(packet(0x82, bytes(new byte[]{0, 1}, str("t/+/action"), new byte[]{1})));
+                assertArrayEquals(new byte[]{(byte) 0x90, 0x03, 0x00, 0x01, 0x01}, readPacket(in));
+
+                // PUBLISH QoS 1
+                byte[] event = "{\"id\":\"e1\",\"type\":\"chat_text\"}".getBytes(StandardCharsets.UTF_8);
+                out.write(packet(0x32, bytes(str("t/t1/event"), new byte[]{0, 7}, event)));
+                assertArrayEquals(new byte[]{0x40, 0x02, 0x00, 0x07}, readPacket(in));
+
+                for (String expected : List.of("reply_text", "show_emotion")) {
+                    byte[] publish = readPacket(in);
+                    String text = new String(publish, StandardCharsets.UTF_8);
+                    assertEquals(0x30, publish[0] & 0xF0);
+                    assertTrue(text.contains("t/t1/action"), text);
+                    assertTrue(text.contains("\"metaActionId\":\"" + expected + "\""), text);
+                    assertTrue(text.contains("\"eventId\":\"e1\""), text);
+                }
+
+                // PINGREQ
+                out.write(new byte[]{(byte) 0xC0, 0x00});
+                assertArrayEquals(new byte[]{(byte) 0xD0, 0x00}, readPacket(in));
+            }
+            assertEquals(1L, facade.getStats().get("loopback.eventsReceived"));
+        }
+    }
+
+    @Test
+    void testWebSocketRepliesAndDrops() throws Exception {
+        LoopbackProperties properties = new LoopbackProperties();
+        properties.setDefaultActions(List.of("ack_action"));
+
+        try (LoopbackFacade facade = new LoopbackFacade(properties)) {
+            facade.start();
+            URI uri = URI.create(facade.getWebSocketUrl());
+            try (Socket socket = new Socket(uri.getHost(), uri.getPort())) {
+                socket.setSoTimeout(5000);
+                DataInputStream in = new DataInputStream(socket.getInputStream());
+                OutputStream out = socket.getOutputStream();
+
+                out.write(("GET /terminal/t2 HTTP/1.1\r\nHost: localhost\r\nUpgrade: websocket\r\n" +
+                        "Connection: Upgrade\r\nSec-WebSocket-Key: dGhlIHNhbXBsZSBub25jZQ==\r\n" +
+                        "Sec-WebSocket-Version: 13\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+                String handshake = readHttpResponse(in);
+                assertTrue(handshake.startsWith("HTTP/1.1 101"), handshake);
+                // RFC 6455 示例握手的期望值
+                assertTrue(handshake.contains("s3pPLMBiTxaQ9kYGzzhZRbK+xOo="), handshake);
+
+                out.write(maskedTextFrame("{\"eventType\":\"press_event\"}"));
+                assertEquals(0x81, in.readUnsignedByte());
+                byte[] payload = new byte[in.readUnsignedByte()];
+                in.readFully(payload);
+                String action = new String(payload, StandardCharsets.UTF_8);
+                assertTrue(action.contains("\"metaActionId\":\"ack_action\""), action);
+                assertTrue(action.contains("\"terminalId\":\"/terminal/t2\""), action);
+            }
+        }
+
+        properties.setDropRate(1.0);
+        try (LoopbackFacade facade = new LoopbackFacade(properties)) {
+            facade.start();
+            URI uri = URI.create(facade.getMqttUrl());
+            try (Socket socket = new Socket(uri.getHost(), uri.getPort())) {
+                socket.setSoTimeout(5000);
+                DataInputStream in = new DataInputStream(socket.getInputStream());
+                OutputStream out = socket.getOutputStream();
+                out.write(packet(0x10, bytes(str("MQTT"), new byte[]{4, 2, 0, 60}, str("t3"))));
+                readPacket(in);
+                out.write(packet(0x32, bytes(str("t/t3/event"), new byte[]{0, 1}, "{}".getBytes(StandardCharsets.UTF_8))));
+                // 丢弃的事件不确认，下一个收到的报文是 PINGRESP
+                out.write(new byte[]{(byte) 0xC0, 0x00});
+                assertArrayEquals(new byte[]{(byte) 0xD0, 0x00}, readPacket(in));
+            }
+            assertEquals(1L, facade.getStats().get("loopback.eventsDropped"));
+        }
+    }
+
+    @Test
+    void testSlowTerminalDoesNotStallOtherReplies() throws Exception {
+        LoopbackProperties properties = new LoopbackProperties();
+        properties.setDefaultActions(List.of("a1", "a2", "a3", "a4", "a5", "a6", "a7", "a8", "a9", "a10"));
+        properties.setLatencyMs(1);
+
+        try (LoopbackFacade facade = new LoopbackFacade(properties)) {
+            facade.start();
+            URI uri = URI.create(facade.getWebSocketUrl());
+            // 慢终端：只发送不读取，动作回复很快填满套接字缓冲区
+            try (Socket slow = new Socket()) {
+                slow.setReceiveBufferSize(4096);
+                slow.connect(new InetSocketAddress(uri.getHost(), uri.getPort()));
+                OutputStream slowOut = slow.getOutputStream();
+                slowOut.write(upgradeRequest("/terminal/slow"));
+                byte[] event = maskedTextFrame("{\"type\":\"chat_text\"}");
+                for (int i = 0; i < 5000; i++) {
+                    slowOut.write(event);
+                }
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+                while (((Number) facade.getStats().get("loopback.eventsReceived")).longValue() < 5000
+                        && System.nanoTime() < deadline) {
+                    TimeUnit.MILLISECONDS.sleep(10);
+                }
+                TimeUnit.MILLISECONDS.sleep(200);
+
+                // 其他终端的延迟回复不受慢终端影响
+                try (Socket fast = new Socket(uri.getHost(), uri.getPort())) {
+                    fast.setSoTimeout(2000);
+                    DataInputStream in = new DataInputStream(fast.getInputStream());
+                    OutputStream out = fast.getOutputStream();
+                    out.write(upgradeRequest("/terminal/fast"));
+                    assertTrue(readHttpResponse(in).startsWith("HTTP/1.1 101"));
+                    out.write(maskedTextFrame("{\"type\":\"chat_text\"}"));
+                    assertEquals(0x81, in.readUnsignedByte());
+                    byte[] payload = new byte[in.readUnsignedByte()];
+                    in.readFully(payload);
+                    assertTrue(new String(payload, StandardCharsets.UTF_8).contains("\"terminalId\":\"/terminal/fast\""));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testSeededDropsAreReproducible() throws Exception {
+        LoopbackProperties properties = new LoopbackProperties();
+        properties.setDropRate(0.5);
+        properties.setSeed(42L);
+
+        long[] dropped = new long[2];
+        for (int run = 0; run < 2; run++) {
+            try (LoopbackFacade facade = new LoopbackFacade(properties)) {
+                facade.start();
+                URI uri = URI.create(facade.getWebSocketUrl());
+                try (Socket socket = new Socket(uri.getHost(), uri.getPort())) {
+                    OutputStream out = socket.getOutputStream();
+                    out.write(upgradeRequest("/terminal/t4"));
+                    for (int i = 0; i < 200; i++) {
+                        out.write(maskedTextFrame("{\"type\":\"chat_text\"}"));
+                    }
+                    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+                    while (((Number) facade.getStats().get("loopback.eventsReceived")).longValue() < 200
+                            && System.nanoTime() < deadline) {
+                        TimeUnit.MILLISECONDS.sleep(10);
+                    }
+                }
+                dropped[run] = ((Number) facade.getStats().get("loopback.eventsDropped")).longValue();
+            }
+        }
+        assertTrue(dropped[0] > 0 && dropped[0] < 200, "丢弃数: " + dropped[0]);
+        assertEquals(dropped[0], dropped[1]);
+    }
+
+    private static byte[] upgradeRequest(String path) {
+        return ("GET " + path + " HTTP/1.1\r\nHost: localhost\r\nUpgrade: websocket\r\n" +
+                "Connection: Upgrade\r\nSec-WebSocket-Key: dGhlIHNhbXBsZSBub25jZQ==\r\n" +
+                "Sec-WebSocket-Version: 13\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] str(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        return bytes(new byte[]{(byte) (bytes.length >> 8), (byte) bytes.length}, bytes);
+    }
+
+    private static byte[] bytes(byte[]... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            out.writeBytes(part);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] packet(int header, byte[] body) {
+        // 测试报文都小于 128 字节，剩余长度只占一个字节
+        return bytes(new byte[]{(byte) header, (byte) body.length}, body);
+    }
+
+    private static byte[] readPacket(DataInputStream in) throws IOException {
+        int header = in.readUnsignedByte();
+        int length = 0;
+        int shift = 0;
+        int b;
+        ByteArrayOutputStream lengthBytes = new ByteArrayOutputStream();
+        do {
+            b = in.readUnsignedByte();
+            lengthBytes.write(b);
+            length |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        byte[] body = new byte[length];
+        in.readFully(body);
+        return bytes(new byte[]{(byte) header}, lengthBytes.toByteArray(), body);
+    }
+
+    private static String readHttpResponse(DataInputStream in) throws IOException {
+        StringBuilder response = new StringBuilder();
+        while (!response.toString().endsWith("\r\n\r\n")) {
+            response.append((char) in.readUnsignedByte());
+        }
+        return response.toString();
+    }
+
+    private static byte[] maskedTextFrame(String text) {
+        byte[] payload = text.getBytes(StandardCharsets.UTF_8);
+        byte[] mask = {1, 2, 3, 4};
+        byte[] masked = new byte[payload.length];
+        for (int i = 0; i < payload.length; i++) {
+            masked[i] = (byte) (payload[i] ^ mask[i & 3]);
+        }
+        return bytes(new byte[]{(byte) 0x81, (byte) (0x80 | payload.length)}, mask, masked);
+    }
+}
@@ -0,0 +1,128 @@
+package com.scene.mesh.benchmark;
+
+import com.scene.mesh.benchmark.n.impl.FacadeEndpoints;
+import com.scene.mesh.benchmark.n.impl.LoopbackFacade;
+import com.scene.mesh.benchmark.n.impl.LoopbackProperties;
+import com.scene.mesh.benchmark.n.impl.MultiplexedWebSocketTransport;
+import com.scene.mesh.benchmark.n.model.EncodedPayload;
+import com.scene.mesh.benchmark.n.model.TestSuite;
+import com.scene.mesh.benchmark.n.spec.ITerminalConnection;
+import com.scene.mesh.sdk.model.TerminalAction;
+import com.scene.mesh.sdk.model.TerminalEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+public class MultiplexedWebSocketTransportTest {
+
+    @Test
+    void testManyTerminalsShareOneEventLoop() throws Exception {
+        LoopbackProperties properties = new LoopbackProperties();
+        properties.setDefaultActions(List.of("reply_text"));
+
+        int terminals = 200;
+        int eventsPerTerminal = 5;
+        Queue<TerminalAction> actions = new ConcurrentLinkedQueue<>();
+
+        try (LoopbackFacade facade = new LoopbackFacade(properties);
+             MultiplexedWebSocketTransport transport = new MultiplexedWebSocketTransport(
+                     new FacadeEndpoints("mqtt://unused:1883", "ws://unused:8888", FacadeEndpoints.MODE_LOOPBACK, facade),
+                     "/terminal?productId={productId}&terminalId={terminalId}&secretKey={secretKey}", 5000)) {
+            TestSuite testSuite = new TestSuite();
+            testSuite.setProductId("p 1");
+            testSuite.setSecretKey("secret");
+
+            List<ITerminalConnection> connections = new ArrayList<>(terminals);
+            for (int i = 0; i < terminals; i++) {
+                connections.add(transport.connect(testSuite, "t-" + i, actions::add));
+            }
+
+            List<CompletableFuture<Boolean>> acks = new ArrayList<>();
+            for (int round = 0; round < eventsPerTerminal; round++) {
+                for (ITerminalConnection connection : connections) {
+                    acks.add(connection.sendEvent(new TerminalEvent("chat_text", Map.of("text", "你好"))));
+                }
+            }
+            for (CompletableFuture<Boolean> ack : acks) {
+                assertTrue(ack.get(5, TimeUnit.SECONDS));
+            }
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (actions.size() < terminals * eventsPerTerminal && System.nanoTime() < deadline) {
+                TimeUnit.MILLISECONDS.sleep(10);
+            }
+            assertEquals(terminals * eventsPerTerminal, actions.size());
+            TerminalAction action = actions.peek();
+            assertEquals("reply_text", action.getMetaActionId());
+            assertNotNull(action.getId());
+            assertTrue(action.getReceivedTimestamp() > 0);
+            assertEquals(terminals * eventsPerTerminal, ((Number) facade.getStats().get("loopback.eventsReceived")).intValue());
+
+            connections.forEach(ITerminalConnection::close);
+            CompletableFuture<Boolean> afterClose = connections.get(0).sendEvent(new TerminalEvent("chat_text", Map.of()));
+            assertTrue(afterClose.isCompletedExceptionally());
+        }
+    }
+
+    @Test
+    void testEncodedPayloadSentWithoutDecoding() throws Exception {
+        LoopbackProperties properties = new LoopbackProperties();
+        properties.setActions(Map.of("press_event", List.of("press_ack")));
+        properties.setDefaultActions(List.of("unknown_event"));
+        Queue<TerminalAction> actions = new ConcurrentLinkedQueue<>();
+
+        try (LoopbackFacade facade = new LoopbackFacade(properties);
+             MultiplexedWebSocketTransport transport = new MultiplexedWebSocketTransport(
+                     new FacadeEndpoints("mqtt://unused:1883", "ws://unused:8888", FacadeEndpoints.MODE_LOOPBACK, facade),
+                     "/terminal", 5000)) {
+            TestSuite testSuite = new TestSuite();
+            testSuite.setProductId("p1");
+            ITerminalConnection connection = transport.connect(testSuite, "t-0", actions::add);
+
+            // 以 Map 方式访问 payload 即失败：发送路径只能使用预编码字节
+            EncodedPayload payload = EncodedPayload.lazy("{\"key\":\"按钮\"}".getBytes(StandardCharsets.UTF_8), bytes -> {
+                throw new AssertionError("payload 不应被解码");
+            });
+            List<CompletableFuture<Boolean>> acks = new ArrayList<>(connection.sendEvents(List.of(
+                    new TerminalEvent("press_event", payload), new TerminalEvent("press_event", payload))));
+            acks.add(connection.sendEvent(new TerminalEvent("press_event", payload)));
+            for (CompletableFuture<Boolean> ack : acks) {
+                assertTrue(ack.get(5, TimeUnit.SECONDS));
+            }
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (actions.size() < 3 && System.nanoTime() < deadline) {
+                TimeUnit.MILLISECONDS.sleep(10);
+            }
+            // 回环服务按事件类型回复，说明拼接出的事件 JSON 可以正常解析
+            assertEquals(3, actions.size());
+            actions.forEach(action -> assertEquals("press_ack", action.getMetaActionId()));
+            connection.close();
+        }
+    }
+
+    @Test
+    void testRejectedHandshakeFailsConnect() {
+        LoopbackProperties properties = new LoopbackProperties();
+        try (LoopbackFacade facade = new LoopbackFacade(properties);
+             MultiplexedWebSocketTransport transport = new MultiplexedWebSocketTransport(
+                     new FacadeEndpoints("mqtt://unused:1883", "ws://127.0.0.1:1", FacadeEndpoints.MODE_REMOTE, facade),
+                     "/terminal", 2000)) {
+            TestSuite testSuite = new TestSuite();
+            testSuite.setProductId("p1");
+            assertThrows(Exception.class, () -> transport.connect(testSuite, "t-0", action -> {
+            }));
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.scene.mesh.benchmark;
+
+import com.scene.mesh.benchmark.n.impl.LatencyHistogram;
+import com.scene.mesh.benchmark.n.impl.OpenLoopSchedule;
+import com.scene.mesh.benchmark.n.impl.PipelinedSender;
+import com.scene.mesh.sdk.client.TerminalClient;
+import com.scene.mesh.sdk.model.TerminalEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@Slf4j
+public class PipelinedSenderTest {
+
+    @Test
+    void testWindowLimitsInFlightEvents() throws Exception {
+        // 确认在后台线程中完成，发送方只受窗口限制
+        TerminalClient client = mock(TerminalClient.class);
+        when(client.sendEvent(any())).thenAnswer(invocation ->
+                CompletableFuture.supplyAsync(() -> true,
+                        CompletableFuture.delayedExecutor(2, TimeUnit.MILLISECONDS)));
+
+        PipelinedSender sender = new PipelinedSender(client, 8, 3000);
+        for (int i = 0; i < 200; i++) {
+            sender.send(new TerminalEvent("eventA", Map.of("index", i)));
+        }
+        sender.awaitCompletion();
+
+        assertEquals(200, sender.getSubmitted());
+        assertEquals(200, sender.getSuccessful());
+        assertEquals(0, sender.getTimedOut());
+        assertTrue(sender.getMaxObservedInFlight() <= 8);
+        assertTrue(sender.getMaxObservedInFlight() > 1);
+
+        log.info("发送窗口测试通过，峰值在途 {}", sender.getMaxObservedInFlight());
+    }
+
+    @Test
+    void testUnansweredEventsTimeOutWithoutBlockingTheWindow() throws Exception {
+        // 奇数事件永不确认，超时后释放窗口
+        ConcurrentLinkedQueue<CompletableFuture<Boolean>> pending = new ConcurrentLinkedQueue<>();
+        TerminalClient client = mock(TerminalClient.class);
+        when(client.sendEvent(any())).thenAnswer(invocation -> {
+            CompletableFuture<Boolean> future = new CompletableFuture<>();
+            if (pending.size() % 2 == 0) {
+                future.complete(true);
+            }
+            pending.add(future);
+            return future;
+        });
+
+        LatencyHistogram latency = new LatencyHistogram();
+        PipelinedSender sender = new PipelinedSender(client, 4, 50, latency);
+        for (int i = 0; i < 10; i++) {
+            sender.send(new TerminalEvent("eventA", Map.of("index", i)));
+        }
+        sender.awaitCompletion();
+
+        assertEquals(10, sender.getSubmitted());
+        assertEquals(5, sender.getSuccessful());
+        assertEquals(5, sender.getTimedOut());
+        assertEquals(0, sender.getFailed());
+        // 超时事件不计入确认延迟
+        assertEquals(5, latency.getCount());
+        assertTrue(latency.getMax() < TimeUnit.MILLISECONDS.toNanos(50));
+
+        log.info("发送超时测试通过");
+    }
+
+    @Test
+    void testFailedSendsCountedOutsideLatency() throws Exception {
+        // 每 3 个事件中：一个抛出异常、一个确认失败、一个 5ms 后确认成功
+        AtomicInteger index = new AtomicInteger();
+        LatencyHistogram latency = new LatencyHistogram();
+        PipelinedSender sender = new PipelinedSender(event -> switch (index.getAndIncrement() % 3) {
+            case 0 -> throw new IllegalStateException("connection lost");
+            case 1 -> CompletableFuture.completedFuture(false);
+            default -> CompletableFuture.supplyAsync(() -> true,
+                    CompletableFuture.delayedExecutor(5, TimeUnit.MILLISECONDS));
+        }, 4, 3000, latency);
+        for (int i = 0; i < 30; i++) {
+            sender.send(new TerminalEvent("eventA", Map.of("index", i)));
+        }
+        sender.awaitCompletion();
+
+        assertEquals(10, sender.getSuccessful());
+        assertEquals(20, sender.getFailed());
+        assertEquals(0, sender.getTimedOut());
+        assertEquals(10, latency.getCount());
+        assertTrue(latency.getValueAtPercentile(0) >= TimeUnit.MILLISECONDS.toNanos(4));
+    }
+
+    @Test
+    void testOpenLoopLatencyIncludesServerStall() throws Exception {
+        // 服务端串行处理，第 10 个事件卡顿 200ms；闭环只会看到一个慢请求，开环下后续排队事件都应计入卡顿
+        LatencyHistogram closedLoop = runAgainstStallingServer(null);
+        LatencyHistogram openLoop = runAgainstStallingServer(new OpenLoopSchedule(500, 0));
+
+        assertEquals(100, closedLoop.getCount());
+        assertEquals(100, openLoop.getCount());
+        assertTrue(closedLoop.getValueAtPercentile(90) < TimeUnit.MILLISECONDS.toNanos(50));
+        assertTrue(openLoop.getValueAtPercentile(90) > TimeUnit.MILLISECONDS.toNanos(50));
+
+        log.info("开环延迟测试通过，闭环 p90 {}ns，开环 p90 {}ns",
+                closedLoop.getValueAtPercentile(90), openLoop.getValueAtPercentile(90));
+    }
+
+    private LatencyHistogram runAgainstStallingServer(OpenLoopSchedule schedule) throws Exception {
+        ExecutorService server = Executors.newSingleThreadExecutor();
+        AtomicInteger received = new AtomicInteger();
+        TerminalClient client = mock(TerminalClient.class);
+        when(client.sendEvent(any())).thenAnswer(invocation -> {
+            int index = received.incrementAndGet();
+            return CompletableFuture.supplyAsync(() -> {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(index == 10 ? 200 : 1));
+                return true;
+            }, server);
+        });
+
+        LatencyHistogram latency = new LatencyHistogram();
+        PipelinedSender sender = new PipelinedSender(client, schedule != null ? 1000 : 1, 3000, latency);
+        try {
+            for (int i = 0; i < 100; i++) {
+                TerminalEvent event = new TerminalEvent("eventA", Map.of("index", i));
+                if (schedule != null) {
+                    sender.send(event, schedule.awaitNext());
+                } else {
+                    sender.send(event);
+                }
+            }
+            sender.awaitCompletion();
+        } finally {
+            server.shutdownNow();
+        }
+        return latency;
+    }
+}
@@ -0,0 +1,112 @@
+package com.scene.mesh.benchmark;
+
+import com.scene.mesh.benchmark.n.impl.DefaultProtocolComparisonRunner;
+import com.scene.mesh.benchmark.n.model.BenchmarkConfig;
+import com.scene.mesh.benchmark.n.model.ComparisonMode;
+import com.scene.mesh.benchmark.n.model.ProtocolComparisonReport;
+import com.scene.mesh.benchmark.n.model.TestSuite;
+import com.scene.mesh.benchmark.n.model.TestSuiteReport;
+import com.scene.mesh.benchmark.n.spec.IRandomSource;
+import com.scene.mesh.benchmark.n.spec.ITestSuiteExecutor;
+import com.scene.mesh.benchmark.n.spec.ITestSuiteGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@Slf4j
+public class ProtocolComparisonRunnerTest {
+
+    @Test
+    void testSameSeedForEveryProtocolAndConcurrentStart() {
+        List<BenchmarkConfig> generated = new CopyOnWriteArrayList<>();
+        ITestSuiteGenerator generator = mock(ITestSuiteGenerator.class);
+        when(generator.generateTestSuite(any())).thenAnswer(invocation -> {
+            BenchmarkConfig config = invocation.getArgument(0);
+            generated.add(config);
+            TestSuite testSuite = new TestSuite();
+            testSuite.setId(config.getId());
+            testSuite.setName(config.getName());
+            testSuite.setProtocol(config.getProtocol());
+            testSuite.setSeed(config.getSeed());
+            return testSuite;
+        });
+        IRandomSource randomSource = mock(IRandomSource.class);
+        when(randomSource.newMasterSeed()).thenReturn(42L);
+
+        // 同时执行时两个协议都到达屏障才继续，依次执行会在屏障处超时
+        CyclicBarrier bothRunning = new CyclicBarrier(2);
+        ITestSuiteExecutor executor = testSuite -> {
+            try {
+                bothRunning.await(5, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                throw new IllegalStateException("协议未同时执行", e);
+            }
+            boolean mqtt = testSuite.getProtocol().equals("MQTT");
+            return TestSuiteReport.builder()
+                    .testSuiteId(testSuite.getId())
+                    .testSuiteName(testSuite.getName())
+                    .seed(testSuite.getSeed())
+                    .status(TestSuiteReport.ExecutionStatus.SUCCESS)
+                    .totalEventsSent(100)
+                    .successfulEvents(mqtt ? 100 : 96)
+                    .failedEvents(mqtt ? 0 : 4)
+                    .matchScore(1.0)
+                    .metrics(Map.of(
+                            "send.eventsPerSecond", mqtt ? 5000L : 8000L,
+                            "send.timeouts", mqtt ? 0 : 3,
+                            "latency.p50Ms", mqtt ? 1.5 : 0.8,
+                            "latency.p99Ms", mqtt ? 9.0 : 4.0,
+                            "reaction.firstActionP50Ms", mqtt ? 20.0 : 18.0,
+                            "reaction.reactedRatio", 0.99))
+                    .build();
+        };
+
+        BenchmarkConfig config = new BenchmarkConfig();
+        config.setId("suite");
+        config.setName("对比");
+        config.setProductId("p1");
+        config.setProtocol("MQTT");
+        config.setTerminals(4);
+        BenchmarkConfig.ProtocolComparison comparison = new BenchmarkConfig.ProtocolComparison();
+        comparison.setMode(ComparisonMode.CONCURRENT);
+        config.setProtocolComparison(comparison);
+
+        ProtocolComparisonReport report = new DefaultProtocolComparisonRunner(generator, executor, randomSource)
+                .compare(config);
+
+        assertEquals(42L, report.getSeed());
+        assertEquals(2, generated.size());
+        for (BenchmarkConfig variant : generated) {
+            assertEquals(42L, variant.getSeed());
+            assertEquals(4, variant.getTerminals());
+            assertNull(variant.getProtocolComparison());
+            assertEquals(variant.getProtocol(), variant.getTransport());
+            assertEquals("suite-" + variant.getProtocol(), variant.getId());
+        }
+        // 原配置不受影响
+        assertNull(config.getSeed());
+        assertEquals("suite", config.getId());
+
+        List<ProtocolComparisonReport.ProtocolResult> results = report.getProtocolResults();
+        assertEquals(List.of("MQTT", "WS"), results.stream().map(ProtocolComparisonReport.ProtocolResult::getProtocol).toList());
+        ProtocolComparisonReport.ProtocolResult ws = results.get(1);
+        assertEquals(TestSuiteReport.ExecutionStatus.SUCCESS, ws.getStatus());
+        assertEquals(8000.0, ws.getEventsPerSecond());
+        assertEquals(0.04, ws.getErrorRate());
+        assertEquals(3, ws.getTimeouts());
+        assertEquals(4.0, ws.getSendLatencyP99Ms());
+        assertEquals(18.0, ws.getReactionP50Ms());
+        assertEquals(0.0, ws.getReactionP99Ms());
+        assertEquals(0.0, results.get(0).getErrorRate());
+    }
+}
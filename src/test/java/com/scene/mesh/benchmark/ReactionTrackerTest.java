@@ -0,0 +1,86 @@
+package com.scene.mesh.benchmark;
+
+import com.scene.mesh.benchmark.n.impl.ReactionTracker;
+import com.scene.mesh.sdk.model.TerminalEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+public class ReactionTrackerTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    void testActionsAttributedToPrecedingEventOnSameTerminal() {
+        ReactionTracker tracker = new ReactionTracker(1000);
+        ReactionTracker.Track first = tracker.newTrack();
+        ReactionTracker.Track second = tracker.newTrack();
+        long base = System.nanoTime();
+
+        first.onSend(new TerminalEvent("chat_text", Map.of()), base);
+        first.onSend(new TerminalEvent("press_event", Map.of()), base + 500 * MS);
+        second.onSend(new TerminalEvent("chat_text", Map.of()), base + 100 * MS);
+
+        // 终端 1：chat_text 在 120ms、300ms 收到两个动作；press_event 在 540ms 收到一个
+        first.recordAction(0, base + 120 * MS);
+        first.recordAction(0, base + 300 * MS);
+        first.recordAction(0, base + 540 * MS);
+        // 终端 2：超出因果时间窗的动作不归属
+        second.recordAction(0, base + 2000 * MS);
+
+        Map<String, ReactionTracker.ReactionStats> stats = tracker.correlate();
+
+        ReactionTracker.ReactionStats chat = stats.get("chat_text");
+        assertEquals(2, chat.getEvents());
+        assertEquals(1, chat.getReactedEvents());
+        assertEquals(2, chat.getActions());
+        assertEquals(120 * MS, chat.getFirstAction().getMax(), MS);
+        assertEquals(300 * MS, chat.getLastAction().getMax(), MS);
+
+        ReactionTracker.ReactionStats press = stats.get("press_event");
+        assertEquals(1, press.getReactedEvents());
+        assertEquals(40 * MS, press.getFirstAction().getMax(), MS);
+
+        log.info("反应延迟归属测试通过");
+    }
+
+    @Test
+    void testPipelinedEventsMatchedInSendOrder() {
+        ReactionTracker tracker = new ReactionTracker(1000);
+        ReactionTracker.Track track = tracker.newTrack();
+        long base = System.nanoTime();
+
+        // 每 1ms 发送一个事件，服务端 50ms 后反应：同一时刻约 50 个事件在等待反应
+        for (int i = 0; i < 200; i++) {
+            track.onSend(new TerminalEvent("chat_text", Map.of()), base + i * MS);
+        }
+        for (int i = 0; i < 200; i++) {
+            track.recordAction(0, base + i * MS + 50 * MS);
+        }
+
+        ReactionTracker.ReactionStats chat = tracker.correlate().get("chat_text");
+        assertEquals(200, chat.getEvents());
+        assertEquals(200, chat.getReactedEvents());
+        assertEquals(200, chat.getActions());
+        assertEquals(50 * MS, chat.getFirstAction().getValueAtPercentile(50), MS);
+        assertEquals(50 * MS, chat.getFirstAction().getMax(), MS);
+    }
+
+    @Test
+    void testReceivedTimestampConvertedToMonotonicClock() {
+        ReactionTracker tracker = new ReactionTracker(5000);
+        ReactionTracker.Track track = tracker.newTrack();
+
+        track.onSend(new TerminalEvent("chat_text", Map.of()), System.nanoTime());
+        track.recordAction(System.currentTimeMillis() + 250, 0);
+
+        ReactionTracker.ReactionStats chat = tracker.correlate().get("chat_text");
+        assertEquals(1, chat.getReactedEvents());
+        assertEquals(250 * MS, chat.getFirstAction().getMax(), 5 * MS);
+    }
+}
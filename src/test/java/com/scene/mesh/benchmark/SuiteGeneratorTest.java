@@ -3,9 +3,15 @@ package com.scene.mesh.benchmark;
 import com.scene.mesh.benchmark.n.impl.AviatorTemplateEngine;
 import com.scene.mesh.benchmark.n.impl.DefaultTemplateProcessor;
 import com.scene.mesh.benchmark.n.impl.DefaultTestSuiteGenerator;
+import com.scene.mesh.benchmark.n.impl.ThreadLocalRandomSource;
 import com.scene.mesh.benchmark.n.model.BenchmarkConfig;
+import com.scene.mesh.benchmark.n.model.EncodedPayload;
 import com.scene.mesh.benchmark.n.model.TestMode;
 import com.scene.mesh.benchmark.n.model.TestSuite;
+import com.scene.mesh.benchmark.n.spec.ICompiledPayload;
+import com.scene.mesh.benchmark.n.spec.ICompiledTemplate;
+import com.scene.mesh.benchmark.n.spec.IEventSource;
+import com.scene.mesh.benchmark.n.spec.IRandomSource;
 import com.scene.mesh.benchmark.n.spec.ITemplateEngine;
 import com.scene.mesh.benchmark.n.spec.ITemplateProcessor;
 import com.scene.mesh.benchmark.n.spec.ITestSuiteGenerator;
@@ -14,9 +20,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.nio.file.Path;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -33,9 +41,10 @@ public class SuiteGeneratorTest {
     @BeforeEach
     void setUp() {
         // 初始化依赖
-        templateEngine = new AviatorTemplateEngine();
+        IRandomSource randomSource = new ThreadLocalRandomSource();
+        templateEngine = new AviatorTemplateEngine(randomSource);
         templateProcessor = new DefaultTemplateProcessor(templateEngine);
-        testSuiteGenerator = new DefaultTestSuiteGenerator(templateProcessor);
+        testSuiteGenerator = new DefaultTestSuiteGenerator(templateProcessor, randomSource);
     }
 
     @Test
@@ -167,6 +176,175 @@ public class SuiteGeneratorTest {
         log.info("空事件组测试通过");
     }
 
+    @Test
+    void testGenerateTestSuite_ReproducibleWithSeed() {
+        // 相同种子生成的事件序列应完全一致
+        BenchmarkConfig config = createAutoGenerateConfig();
+        config.setSeed(20240601L);
+
+        TestSuite first = testSuiteGenerator.generateTestSuite(config);
+        TestSuite second = testSuiteGenerator.generateTestSuite(config);
+
+        assertEquals(20240601L, first.getSeed());
+        assertEquals(first.getTerminalEvents().size(), second.getTerminalEvents().size());
+        for (int i = 0; i < first.getTerminalEvents().size(); i++) {
+            assertEquals(first.getTerminalEvents().get(i).getType(), second.getTerminalEvents().get(i).getType());
+            assertEquals(first.getTerminalEvents().get(i).getPayload(), second.getTerminalEvents().get(i).getPayload());
+        }
+
+        log.info("种子复现测试通过");
+    }
+
+    @Test
+    void testGenerateTestSuite_ParallelMatchesSequential() {
+        // 并行生成与串行生成结果一致，与线程数无关
+        BenchmarkConfig config = createAutoGenerateConfig();
+        config.getEventGroups().get(0).setCount(10000);
+        config.setSeed(7L);
+
+        config.setParallelGeneration(false);
+        TestSuite sequential = testSuiteGenerator.generateTestSuite(config);
+        config.setParallelGeneration(true);
+        TestSuite parallel = testSuiteGenerator.generateTestSuite(config);
+
+        assertEquals(10000, parallel.getTerminalEvents().size());
+        for (int i = 0; i < sequential.getTerminalEvents().size(); i++) {
+            assertEquals(sequential.getTerminalEvents().get(i).getType(), parallel.getTerminalEvents().get(i).getType());
+            assertEquals(sequential.getTerminalEvents().get(i).getPayload(), parallel.getTerminalEvents().get(i).getPayload());
+        }
+        assertNotNull(parallel.getGenerationMetrics().get("generation.eventsPerSecond"));
+
+        log.info("并行生成测试通过，吞吐 {} events/s", parallel.getGenerationMetrics().get("generation.eventsPerSecond"));
+    }
+
+    @Test
+    void testGenerateTestSuite_StreamingMatchesMaterialized() {
+        // 流式事件源按需生成，结果与一次性生成一致
+        BenchmarkConfig config = createMixedConfig();
+        config.getEventGroups().get(1).setCount(9000);
+        config.setSeed(11L);
+
+        TestSuite materialized = testSuiteGenerator.generateTestSuite(config);
+        config.setStreamingGeneration(true);
+        config.setStreamPrefetchChunks(1);
+        TestSuite streaming = testSuiteGenerator.generateTestSuite(config);
+
+        assertNull(streaming.getTerminalEvents());
+        try (IEventSource eventSource = streaming.getEventSource()) {
+            assertEquals(9001, eventSource.getTotalEvents());
+            int index = 0;
+            while (eventSource.hasNext()) {
+                TerminalEvent event = eventSource.next();
+                TerminalEvent expected = materialized.getTerminalEvents().get(index++);
+                assertEquals(expected.getType(), event.getType());
+                assertEquals(expected.getPayload(), event.getPayload());
+            }
+            assertEquals(9001, index);
+        }
+
+        log.info("流式生成测试通过");
+    }
+
+    @Test
+    void testGenerateTestSuite_WithDistinctPayloadPool() {
+        // payload 池：只生成 3 个不同 payload，循环复用
+        BenchmarkConfig config = createAutoGenerateConfig();
+        config.getEventGroups().get(0).setCount(30);
+        config.getEventGroups().get(0).setDistinctPayloads(3);
+
+        TestSuite result = testSuiteGenerator.generateTestSuite(config);
+
+        List<TerminalEvent> terminalEvents = result.getTerminalEvents();
+        assertEquals(30, terminalEvents.size());
+        for (int i = 3; i < terminalEvents.size(); i++) {
+            assertSame(terminalEvents.get(i % 3).getPayload(), terminalEvents.get(i).getPayload());
+            assertEquals(terminalEvents.get(i % 3).getType(), terminalEvents.get(i).getType());
+        }
+        assertInstanceOf(EncodedPayload.class, terminalEvents.get(0).getPayload());
+        assertTrue(((EncodedPayload) terminalEvents.get(0).getPayload()).getEncoded().length > 0);
+
+        log.info("payload 池测试通过");
+    }
+
+    @Test
+    void testGenerateTestSuite_WithTypeWeights() {
+        // 权重为 0 的类型不会出现，未列出的类型权重为 1.0
+        BenchmarkConfig config = createAutoGenerateConfig();
+        config.setSeed(7L);
+        config.getEventGroups().get(0).setCount(2000);
+        config.getEventGroups().get(0).getEventTemplate().setTypeWeights(Map.of("eventA", 0.0, "sensor_event", 9.0));
+
+        TestSuite result = testSuiteGenerator.generateTestSuite(config);
+
+        Map<String, Integer> typeCounts = new HashMap<>();
+        result.getTerminalEvents().forEach(event -> typeCounts.merge(event.getType(), 1, Integer::sum));
+        assertFalse(typeCounts.containsKey("eventA"));
+        assertTrue(typeCounts.get("sensor_event") > typeCounts.get("button_press") * 5);
+
+        log.info("事件类型权重测试通过: {}", typeCounts);
+    }
+
+    @Test
+    void testGenerateTestSuite_WithEventCorpus(@TempDir Path corpusDir) {
+        // 语料：首次生成写盘，第二次直接内存映射回放，内容与一次性生成一致
+        BenchmarkConfig config = createMixedConfig();
+        config.getEventGroups().get(1).setCount(5000);
+        config.setSeed(99L);
+        TestSuite materialized = testSuiteGenerator.generateTestSuite(config);
+
+        config.setCorpusDir(corpusDir.toString());
+        TestSuite first = testSuiteGenerator.generateTestSuite(config);
+        assertEquals(false, first.getGenerationMetrics().get("corpus.hit"));
+        first.getEventSource().close();
+
+        TestSuite second = testSuiteGenerator.generateTestSuite(config);
+        assertEquals(true, second.getGenerationMetrics().get("corpus.hit"));
+
+        try (IEventSource eventSource = second.getEventSource()) {
+            assertEquals(5001, eventSource.getTotalEvents());
+            int index = 0;
+            while (eventSource.hasNext()) {
+                TerminalEvent event = eventSource.next();
+                TerminalEvent expected = materialized.getTerminalEvents().get(index++);
+                assertEquals(expected.getType(), event.getType());
+                assertEquals(expected.getPayload(), event.getPayload());
+            }
+            assertEquals(5001, index);
+        }
+
+        log.info("事件语料测试通过");
+    }
+
+    @Test
+    void testCompiledPayloadPlan() {
+        // 静态子树编译期共享，列表内的模板同样被求值
+        Map<String, Object> template = new HashMap<>();
+        template.put("device", Map.of("vendor", "acme", "tags", List.of("a", "b")));
+        template.put("readings", List.of("#{randomRange(1, 9)}", 0, "fixed"));
+        template.put("level", "#{randomRange(1, 3)}");
+
+        ICompiledPayload plan = templateProcessor.compileDataTemplate(template);
+        assertFalse(plan.isStatic());
+        assertEquals(2, plan.getDynamicLeafCount());
+
+        Map<String, Object> first = plan.render();
+        Map<String, Object> second = plan.render();
+        assertNotSame(first, second);
+        assertSame(first.get("device"), second.get("device"));
+        assertEquals(Map.of("vendor", "acme", "tags", List.of("a", "b")), first.get("device"));
+
+        List<?> readings = (List<?>) first.get("readings");
+        assertEquals(3, readings.size());
+        assertInstanceOf(Number.class, readings.get(0));
+        assertEquals("fixed", readings.get(2));
+
+        ICompiledPayload staticPlan = templateProcessor.compileDataTemplate(Map.of("text", "hello"));
+        assertTrue(staticPlan.isStatic());
+        assertSame(staticPlan.render(), staticPlan.render());
+
+        log.info("payload 编译计划测试通过: {}", first);
+    }
+
     @Test
     void testTemplateProcessing() {
         // 测试模板处理能力
@@ -203,6 +381,23 @@ public class SuiteGeneratorTest {
         log.info("模板处理测试通过");
     }
 
+    @Test
+    void testCompiledTemplateRendering() {
+        // 一次编译，多次渲染
+        ICompiledTemplate compiled = templateEngine.compileTemplate("id-#{randomRange(1, 9)}-#{randomFrom(['a','b'])}");
+        assertEquals("id-#{randomRange(1, 9)}-#{randomFrom(['a','b'])}", compiled.getSource());
+
+        for (int i = 0; i < 100; i++) {
+            String rendered = compiled.render(Collections.emptyMap());
+            assertTrue(rendered.matches("id-[1-9]-[ab]"), rendered);
+        }
+
+        // 不含表达式的模板原样返回
+        assertEquals("plain text", templateEngine.compileTemplate("plain text").render(null));
+
+        log.info("模板编译测试通过");
+    }
+
     // 辅助方法：创建手动输入配置
     private BenchmarkConfig createManualInputConfig() {
         BenchmarkConfig config = new BenchmarkConfig();
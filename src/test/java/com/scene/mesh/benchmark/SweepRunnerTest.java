@@ -0,0 +1,158 @@
+package com.scene.mesh.benchmark;
+
+import com.scene.mesh.benchmark.n.impl.DefaultConfigLoader;
+import com.scene.mesh.benchmark.n.impl.DefaultSweepRunner;
+import com.scene.mesh.benchmark.n.impl.FacadeEndpoints;
+import com.scene.mesh.benchmark.n.impl.TerminalTransportRegistry;
+import com.scene.mesh.benchmark.n.model.BenchmarkConfig;
+import com.scene.mesh.benchmark.n.model.SweepReport;
+import com.scene.mesh.benchmark.n.model.TestSuite;
+import com.scene.mesh.benchmark.n.model.TestSuiteReport;
+import com.scene.mesh.benchmark.n.spec.IRandomSource;
+import com.scene.mesh.benchmark.n.spec.ITestSuiteExecutor;
+import com.scene.mesh.benchmark.n.spec.ITestSuiteGenerator;
+import com.scene.mesh.sdk.util.MessageUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@Slf4j
+public class SweepRunnerTest {
+
+    private static final String CONFIG = """
+            {
+              "id": "sweep",
+              "name": "扫描",
+              "productId": "p1",
+              "protocol": "MQTT",
+              "terminals": 1,
+              "eventGroups": [{
+                "groupId": "g1",
+                "mode": "POSITIVE_MATCH",
+                "autoGenerate": true,
+                "count": 100,
+                "eventTemplate": {
+                  "typeSelector": ["chat_text"],
+                  "payloadTemplates": {"chat_text": {"text": "#{randomString(${payloadSize}, 'chinese')}"}}
+                }
+              }],
+              "sweep": {
+                "params": {
+                  "payloadSize": [8, 1024],
+                  "terminals": [1, 16],
+                  "protocol": ["MQTT", "WS"]
+                },
+                "warmupIterations": 1
+              }
+            }
+            """;
+
+    @Test
+    void testCrossProductWithWarmupAndMatrix(@TempDir Path tempDir) throws Exception {
+        List<BenchmarkConfig> generated = new ArrayList<>();
+        ITestSuiteGenerator generator = mock(ITestSuiteGenerator.class);
+        when(generator.generateTestSuite(any())).thenAnswer(invocation -> {
+            BenchmarkConfig config = invocation.getArgument(0);
+            generated.add(config);
+            TestSuite testSuite = new TestSuite();
+            testSuite.setId(config.getId());
+            testSuite.setTerminals(config.getTerminals());
+            return testSuite;
+        });
+        IRandomSource randomSource = mock(IRandomSource.class);
+        when(randomSource.newMasterSeed()).thenReturn(7L);
+
+        AtomicInteger executions = new AtomicInteger();
+        ITestSuiteExecutor executor = testSuite -> {
+            executions.incrementAndGet();
+            return TestSuiteReport.builder()
+                    .testSuiteId(testSuite.getId())
+                    .status(TestSuiteReport.ExecutionStatus.SUCCESS)
+                    .totalEventsSent(100)
+                    .successfulEvents(100)
+                    .metrics(Map.of("send.eventsPerSecond", 1000L * testSuite.getTerminals(), "latency.p99Ms", 2.5))
+                    .build();
+        };
+
+        BenchmarkConfig config = MessageUtils.fromJson(CONFIG, BenchmarkConfig.class);
+        config.getSweep().setCsvFile(tempDir.resolve("matrix.csv").toString());
+        SweepReport report = runner(generator, executor, randomSource).sweep(config);
+
+        // 8 格，每格 1 次预热 + 1 次测量
+        assertEquals(16, executions.get());
+        assertEquals(List.of("payloadSize", "terminals", "protocol"), report.getParamNames());
+        assertEquals(8, report.getCells().size());
+
+        // 靠前的参数变化最慢
+        SweepReport.Cell last = report.getCells().get(7);
+        assertEquals(Map.of("payloadSize", 1024, "terminals", 16, "protocol", "WS"), last.getParams());
+        assertEquals(16000.0, last.getEventsPerSecond());
+        assertEquals(2.5, last.getLatencyP99Ms());
+        assertEquals(Map.of("payloadSize", 8, "terminals", 1, "protocol", "MQTT"), report.getCells().get(0).getParams());
+
+        BenchmarkConfig lastConfig = generated.get(generated.size() - 1);
+        assertEquals(16, lastConfig.getTerminals());
+        assertEquals("WS", lastConfig.getProtocol());
+        assertEquals(7L, lastConfig.getSeed());
+        assertNull(lastConfig.getSweep());
+        assertEquals("sweep-cell7", lastConfig.getId());
+        assertEquals("#{randomString(1024, 'chinese')}", lastConfig.getEventGroups().get(0).getEventTemplate()
+                .getPayloadTemplates().get("chat_text").get("text"));
+
+        List<String> csv = Files.readAllLines(tempDir.resolve("matrix.csv"));
+        assertEquals(9, csv.size());
+        assertTrue(csv.get(0).startsWith("payloadSize,terminals,protocol,status,"), csv.get(0));
+        assertTrue(csv.get(8).startsWith("1024,16,WS,SUCCESS,100,100,"), csv.get(8));
+    }
+
+    @Test
+    void testUnusedParamIsRejected() {
+        BenchmarkConfig config = MessageUtils.fromJson(CONFIG, BenchmarkConfig.class);
+        config.getSweep().setParams(Map.of("payloadSzie", List.of(8)));
+        DefaultSweepRunner runner = runner(mock(ITestSuiteGenerator.class), testSuite -> null, mock(IRandomSource.class));
+        assertThrows(IllegalArgumentException.class, () -> runner.sweep(config));
+    }
+
+    @Test
+    void testInvalidCellRejectedBeforeWarmup() {
+        AtomicInteger executions = new AtomicInteger();
+        ITestSuiteExecutor executor = testSuite -> {
+            executions.incrementAndGet();
+            return TestSuiteReport.builder().status(TestSuiteReport.ExecutionStatus.SUCCESS).build();
+        };
+        DefaultSweepRunner runner = runner(mock(ITestSuiteGenerator.class), executor, mock(IRandomSource.class));
+
+        // 无效取值不在第一格，也必须在第一格预热前被拒绝
+        Map<String, Map<String, List<Object>>> invalidParams = Map.of(
+                "maxInFlight 必须大于0", Map.of("maxInFlight", List.of(8, 0)),
+                "batchSize 必须大于0", Map.of("batchSize", List.of(-1)),
+                "Illegal transport: QUIC", Map.of("transport", List.of("MQTT", "QUIC")));
+        invalidParams.forEach((problem, params) -> {
+            BenchmarkConfig config = MessageUtils.fromJson(CONFIG, BenchmarkConfig.class);
+            config.getSweep().setParams(params);
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> runner.sweep(config));
+            assertTrue(e.getMessage().contains(problem), e.getMessage());
+        });
+        assertEquals(0, executions.get());
+    }
+
+    private static DefaultSweepRunner runner(ITestSuiteGenerator generator, ITestSuiteExecutor executor,
+                                             IRandomSource randomSource) {
+        FacadeEndpoints facadeEndpoints = new FacadeEndpoints("tcp://localhost:1883", "ws://localhost:8080",
+                FacadeEndpoints.MODE_REMOTE, null);
+        return new DefaultSweepRunner(generator, executor, randomSource, new DefaultConfigLoader(),
+                new TerminalTransportRegistry(facadeEndpoints, List.of()));
+    }
+}
@@ -0,0 +1,130 @@
+package com.scene.mesh.benchmark;
+
+import com.scene.mesh.benchmark.n.impl.AviatorTemplateEngine;
+import com.scene.mesh.benchmark.n.impl.NativeTemplateEngine;
+import com.scene.mesh.benchmark.n.impl.ThreadLocalRandomSource;
+import com.scene.mesh.benchmark.n.spec.ICompiledTemplate;
+import com.scene.mesh.benchmark.n.spec.IRandomSource;
+import com.scene.mesh.benchmark.n.spec.ITemplateEngine;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+public class TemplateEngineTest {
+
+    private IRandomSource randomSource;
+    private NativeTemplateEngine nativeEngine;
+
+    @BeforeEach
+    void setUp() {
+        randomSource = new ThreadLocalRandomSource();
+        nativeEngine = new NativeTemplateEngine(randomSource, new AviatorTemplateEngine(randomSource));
+    }
+
+    @Test
+    void testNativeBuiltInFunctions() {
+        ICompiledTemplate text = nativeEngine.compileTemplate("#{randomString(6, 'english')}");
+        ICompiledTemplate choice = nativeEngine.compileTemplate("#{randomFrom(['head','leg','arm','tail'])}");
+        ICompiledTemplate number = nativeEngine.compileTemplate("level-#{randomRange(1, 3)}");
+
+        for (int i = 0; i < 200; i++) {
+            assertTrue(text.render(null).matches("[a-zA-Z]{6}"));
+            assertTrue(choice.render(null).matches("head|leg|arm|tail"));
+            assertTrue(number.render(null).matches("level-[1-3]"));
+        }
+
+        log.info("原生内置函数测试通过");
+    }
+
+    @Test
+    void testNativeFallbackToAviator() {
+        // 运算符与变量引用不在原生语法内，回退到 Aviator
+        assertEquals("sum=3", nativeEngine.processTemplate("sum=#{1 + 2}", Collections.emptyMap()));
+
+        Map<String, Object> context = new HashMap<>();
+        context.put("name", "sensor");
+        assertEquals("id:sensor", nativeEngine.processTemplate("id:#{name}", context));
+
+        log.info("原生引擎回退测试通过");
+    }
+
+    @Test
+    void testWholeFieldExpressionKeepsNativeType() {
+        AviatorTemplateEngine aviatorEngine = new AviatorTemplateEngine(randomSource);
+
+        for (ITemplateEngine engine : List.of(nativeEngine, aviatorEngine)) {
+            Object number = engine.compileTemplate("#{randomRange(1, 100)}").evaluate(null);
+            assertInstanceOf(Number.class, number, engine.getEngineName());
+            assertTrue(((Number) number).intValue() >= 1 && ((Number) number).intValue() <= 100);
+
+            // 含字面量的模板仍为字符串
+            Object text = engine.compileTemplate("v#{randomRange(1, 100)}").evaluate(null);
+            assertInstanceOf(String.class, text, engine.getEngineName());
+
+            ICompiledTemplate constant = engine.compileTemplate("static");
+            assertTrue(constant.isConstant());
+            assertEquals("static", constant.evaluate(null));
+        }
+
+        log.info("整字段表达式类型测试通过");
+    }
+
+    @Test
+    void testArrayLiteralOutsideExpressionKept() {
+        AviatorTemplateEngine aviatorEngine = new AviatorTemplateEngine(randomSource);
+
+        for (ITemplateEngine engine : List.of(nativeEngine, aviatorEngine)) {
+            String text = engine.processTemplate("range [20, 25] tags ['a','b'] v=#{randomRange(1, 1)}", null);
+            assertEquals("range [20, 25] tags ['a','b'] v=1", text, engine.getEngineName());
+            assertEquals("[1, 2] y", engine.processTemplate("[1, 2] #{weightedFrom(['x','y'], [0, 1])}", null),
+                    engine.getEngineName());
+        }
+    }
+
+    @Test
+    void testSkewedDistributionFunctions() {
+        AviatorTemplateEngine aviatorEngine = new AviatorTemplateEngine(randomSource);
+
+        for (ITemplateEngine engine : List.of(nativeEngine, aviatorEngine)) {
+            ICompiledTemplate weighted = engine.compileTemplate("#{weightedFrom(['hot','warm','cold','idle'], [90, 8, 1, 1])}");
+            ICompiledTemplate zipf = engine.compileTemplate("#{zipf(10, 1.2)}");
+            ICompiledTemplate poisson = engine.compileTemplate("#{poisson(4)}");
+
+            Map<String, Integer> weightedCounts = new HashMap<>();
+            int[] zipfCounts = new int[11];
+            for (int i = 0; i < 10000; i++) {
+                weightedCounts.merge(weighted.render(null), 1, Integer::sum);
+                int rank = ((Number) zipf.evaluate(null)).intValue();
+                assertTrue(rank >= 1 && rank <= 10, engine.getEngineName());
+                zipfCounts[rank]++;
+                assertTrue(((Number) poisson.evaluate(null)).intValue() >= 0);
+            }
+
+            assertEquals(4, weightedCounts.size(), engine.getEngineName());
+            assertTrue(weightedCounts.get("hot") > 8500, engine.getEngineName());
+            assertTrue(zipfCounts[1] > zipfCounts[2] && zipfCounts[2] > zipfCounts[10], engine.getEngineName());
+        }
+
+        log.info("偏斜分布函数测试通过");
+    }
+
+    @Test
+    void testNativeReproducibleWithStream() {
+        ICompiledTemplate template = nativeEngine.compileTemplate(
+                "#{randomString(8, 'chinese')}|#{randomFrom(['a','b','c'])}|#{randomRange(0, 1000)}");
+
+        String first = randomSource.callWith(randomSource.derive(42L, 0), () -> template.render(null));
+        String second = randomSource.callWith(randomSource.derive(42L, 0), () -> template.render(null));
+
+        assertEquals(first, second);
+        log.info("原生引擎复现测试通过: {}", first);
+    }
+}
@@ -0,0 +1,106 @@
+package com.scene.mesh.benchmark;
+
+import com.scene.mesh.benchmark.n.impl.DefaultTestSuiteScheduler;
+import com.scene.mesh.benchmark.n.model.AggregatedReport;
+import com.scene.mesh.benchmark.n.model.BenchmarkConfig;
+import com.scene.mesh.benchmark.n.model.TestSuite;
+import com.scene.mesh.benchmark.n.model.TestSuiteReport;
+import com.scene.mesh.benchmark.n.spec.ITestSuiteExecutor;
+import com.scene.mesh.benchmark.n.spec.ITestSuiteGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@Slf4j
+public class TestSuiteSchedulerTest {
+
+    @Test
+    void testConcurrencyLimitsAndAggregation() {
+        ITestSuiteGenerator generator = mock(ITestSuiteGenerator.class);
+        when(generator.generateTestSuite(any())).thenAnswer(invocation -> {
+            BenchmarkConfig config = invocation.getArgument(0);
+            if (config.getName().equals("broken")) {
+                throw new IllegalStateException("模板错误");
+            }
+            TestSuite testSuite = new TestSuite();
+            testSuite.setId(config.getId());
+            testSuite.setName(config.getName());
+            testSuite.setProductId(config.getProductId());
+            return testSuite;
+        });
+
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        Map<String, AtomicInteger> runningPerProduct = new ConcurrentHashMap<>();
+        Map<String, AtomicInteger> peakPerProduct = new ConcurrentHashMap<>();
+        ITestSuiteExecutor executor = testSuite -> {
+            AtomicInteger product = runningPerProduct.computeIfAbsent(testSuite.getProductId(), k -> new AtomicInteger());
+            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+            peakPerProduct.computeIfAbsent(testSuite.getProductId(), k -> new AtomicInteger())
+                    .accumulateAndGet(product.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(30);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            product.decrementAndGet();
+            running.decrementAndGet();
+            return TestSuiteReport.builder()
+                    .testSuiteId(testSuite.getId())
+                    .testSuiteName(testSuite.getName())
+                    .productId(testSuite.getProductId())
+                    .status(TestSuiteReport.ExecutionStatus.SUCCESS)
+                    .totalEventsSent(10)
+                    .successfulEvents(10)
+                    .matchScore(1.0)
+                    .passed(true)
+                    .build();
+        };
+
+        // 产品 A 有 12 个套件，产品 B、C 各 4 个，另有一个生成失败的套件
+        List<BenchmarkConfig> configs = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            configs.add(config("suite-" + i, i < 12 ? "A" : i < 16 ? "B" : "C"));
+        }
+        configs.add(config("broken", "B"));
+
+        DefaultTestSuiteScheduler scheduler = new DefaultTestSuiteScheduler(generator, executor, 4, 2);
+        AggregatedReport report = scheduler.schedule(configs);
+
+        assertTrue(peak.get() <= 4);
+        assertTrue(report.getPeakConcurrentSuites() > 2, "不同产品的套件应并发执行");
+        peakPerProduct.forEach((product, productPeak) -> assertTrue(productPeak.get() <= 2, product));
+
+        assertEquals(21, report.getTotalSuites());
+        assertEquals(20, report.getPassedSuites());
+        assertEquals(1, report.getFailedSuites());
+        assertEquals(200, report.getTotalEventsSent());
+        assertEquals("broken", report.getSuiteReports().get(20).getTestSuiteName());
+        assertEquals("模板错误", report.getSuiteReports().get(20).getErrorMessage());
+
+        assertEquals(List.of("A", "B", "C"), report.getProductSummaries().stream()
+                .map(AggregatedReport.ProductSummary::getProductId).toList());
+        AggregatedReport.ProductSummary productB = report.getProductSummaries().get(1);
+        assertEquals(5, productB.getSuites());
+        assertEquals(1, productB.getFailedSuites());
+        assertEquals(0.8, productB.getAverageMatchScore(), 1e-9);
+    }
+
+    private static BenchmarkConfig config(String name, String productId) {
+        BenchmarkConfig config = new BenchmarkConfig();
+        config.setId(name);
+        config.setName(name);
+        config.setProductId(productId);
+        return config;
+    }
+}